@@ -0,0 +1,45 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.WritableMap;
+import com.zumokit.reactnative.benchmark.Fixtures;
+
+import money.zumo.zumokit.Transaction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares a mapped transaction cache hit, including taking the revision
+ * fingerprint, with mapping the transaction without a cache.
+ */
+@State(Scope.Benchmark)
+public class MappedModelCacheBenchmark {
+
+    private MappedModelCache<Transaction> cache;
+
+    private Transaction transaction;
+
+    @Setup
+    public void setUp() {
+        transaction = Fixtures.create().transactions(1).get(0);
+        cache = RNZumoKitModule.createTransactionCache(1);
+        cache.get(transaction);
+    }
+
+    @Benchmark
+    public long revisionOfTransaction() {
+        return ModelFingerprint.revisionOf(transaction);
+    }
+
+    @Benchmark
+    public WritableMap mapTransaction() {
+        return RNZumoKitModule.mapTransaction(transaction);
+    }
+
+    @Benchmark
+    public WritableMap mapTransactionCacheHit() {
+        return cache.get(transaction);
+    }
+}
@@ -0,0 +1,46 @@
+package com.zumokit.reactnative.benchmark;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.zumokit.reactnative.RNZumoKitModule;
+
+import money.zumo.zumokit.AccountDataSnapshot;
+import money.zumo.zumokit.Transaction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+
+@State(Scope.Benchmark)
+public class AccountDataMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int accountCount;
+
+    @Param({"10000"})
+    public int transactionCount;
+
+    private ArrayList<AccountDataSnapshot> snapshots;
+
+    private Transaction transaction;
+
+    @Setup
+    public void setUp() {
+        snapshots = Fixtures.create().accountData(accountCount, transactionCount);
+        transaction = snapshots.get(0).getTransactions().get(0);
+    }
+
+    @Benchmark
+    public WritableArray mapAccountData() {
+        return RNZumoKitModule.mapAccountData(snapshots);
+    }
+
+    @Benchmark
+    public WritableMap mapTransaction() {
+        return RNZumoKitModule.mapTransaction(transaction);
+    }
+}
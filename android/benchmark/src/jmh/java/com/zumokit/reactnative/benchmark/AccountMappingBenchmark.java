@@ -0,0 +1,33 @@
+package com.zumokit.reactnative.benchmark;
+
+import com.facebook.react.bridge.WritableArray;
+import com.zumokit.reactnative.RNZumoKitModule;
+
+import money.zumo.zumokit.Account;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+
+@State(Scope.Benchmark)
+public class AccountMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int accountCount;
+
+    private ArrayList<Account> accounts;
+
+    @Setup
+    public void setUp() {
+        accounts = Fixtures.create().accounts(accountCount);
+    }
+
+    @Benchmark
+    public WritableArray mapAccounts() {
+        return RNZumoKitModule.mapAccounts(accounts);
+    }
+}
@@ -0,0 +1,44 @@
+package com.zumokit.reactnative.benchmark;
+
+import com.facebook.react.bridge.WritableMap;
+import com.zumokit.reactnative.RNZumoKitModule;
+
+import money.zumo.zumokit.ExchangeRate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+@State(Scope.Benchmark)
+public class ExchangeRateMappingBenchmark {
+
+    private HashMap<String, HashMap<String, ExchangeRate>> exchangeRates;
+
+    private HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> historicalExchangeRates;
+
+    @Setup
+    public void setUp() {
+        Fixtures fixtures = Fixtures.create();
+        exchangeRates = fixtures.exchangeRates();
+        historicalExchangeRates = fixtures.historicalExchangeRates();
+    }
+
+    @Benchmark
+    public WritableMap mapExchangeRates() {
+        return RNZumoKitModule.mapExchangeRates(exchangeRates);
+    }
+
+    @Benchmark
+    public WritableMap mapHistoricalExchangeRates() {
+        return RNZumoKitModule.mapHistoricalExchangeRates(historicalExchangeRates);
+    }
+
+    @Benchmark
+    public WritableMap mapHistoricalExchangeRateSeries() {
+        return RNZumoKitModule.mapHistoricalExchangeRateSeries(historicalExchangeRates);
+    }
+}
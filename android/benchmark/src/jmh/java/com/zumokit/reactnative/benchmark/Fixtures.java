@@ -0,0 +1,253 @@
+package com.zumokit.reactnative.benchmark;
+
+import money.zumo.zumokit.Account;
+import money.zumo.zumokit.AccountCryptoProperties;
+import money.zumo.zumokit.AccountDataSnapshot;
+import money.zumo.zumokit.Card;
+import money.zumo.zumokit.ExchangeRate;
+import money.zumo.zumokit.InternalTransaction;
+import money.zumo.zumokit.Quote;
+import money.zumo.zumokit.Transaction;
+import money.zumo.zumokit.TransactionAmount;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Synthetic SDK models of realistic shape. Data is generated from a fixed seed,
+ * so that all benchmark runs work on identical input.
+ * <p>
+ * Public for benchmarks of package-private module classes, which live in the
+ * module's own package.
+ */
+public final class Fixtures {
+
+    static final String[] CRYPTO_CURRENCIES = {"BTC", "ETH", "BSV"};
+
+    static final String[] FIAT_CURRENCIES = {"GBP", "USD", "EUR"};
+
+    static final String[] CURRENCIES = {"BTC", "ETH", "BSV", "GBP", "USD", "EUR"};
+
+    private static final int HOUR = 60 * 60;
+
+    private static final int YEAR_START = 1640995200;
+
+    private final Random random = new Random(42);
+
+    private Fixtures() {
+    }
+
+    public static Fixtures create() {
+        return new Fixtures();
+    }
+
+    ArrayList<Account> accounts(int count) {
+        ArrayList<Account> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accounts.add(account(i));
+        }
+        return accounts;
+    }
+
+    Account account(int index) {
+        String currencyCode = CRYPTO_CURRENCIES[index % CRYPTO_CURRENCIES.length];
+
+        return new Account(
+                "account-" + index,
+                "CRYPTO",
+                currencyCode,
+                "TESTNET",
+                "STANDARD",
+                "NON-CUSTODY",
+                amount(),
+                amount(),
+                amount(),
+                BigDecimal.ZERO,
+                false,
+                new AccountCryptoProperties(
+                        "0x" + hex(40),
+                        null,
+                        "m/44'/60'/0'/0/" + index,
+                        currencyCode.equals("ETH") ? random.nextInt(1000) : null
+                ),
+                null,
+                new ArrayList<Card>()
+        );
+    }
+
+    ArrayList<AccountDataSnapshot> accountData(int accountCount, int transactionCount) {
+        ArrayList<AccountDataSnapshot> snapshots = new ArrayList<>(accountCount);
+
+        for (int i = 0; i < accountCount; i++) {
+            Account account = account(i);
+            int count = transactionCount / accountCount + (i < transactionCount % accountCount ? 1 : 0);
+
+            ArrayList<Transaction> transactions = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                transactions.add(transaction(account, j));
+            }
+
+            snapshots.add(new AccountDataSnapshot(account, transactions));
+        }
+
+        return snapshots;
+    }
+
+    public ArrayList<Transaction> transactions(int count) {
+        Account account = account(0);
+
+        ArrayList<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(transaction(account, i));
+        }
+        return transactions;
+    }
+
+    Transaction transaction(Account account, int index) {
+        int timestamp = YEAR_START + index * HOUR;
+        BigDecimal amount = amount();
+        String direction = index % 2 == 0 ? "INCOMING" : "OUTGOING";
+
+        ArrayList<TransactionAmount> senders = new ArrayList<>();
+        senders.add(transactionAmount("OUTGOING", account.getId(), amount));
+
+        ArrayList<TransactionAmount> recipients = new ArrayList<>();
+        recipients.add(transactionAmount("INCOMING", null, amount));
+
+        return new Transaction(
+                "transaction-" + account.getId() + "-" + index,
+                "CRYPTO",
+                account.getCurrencyCode(),
+                direction,
+                account.getNetwork(),
+                "CONFIRMED",
+                amount,
+                new BigDecimal("0.000021"),
+                null,
+                senders,
+                recipients,
+                new ArrayList<InternalTransaction>(),
+                null,
+                timestamp,
+                timestamp + 600,
+                timestamp,
+                null,
+                null,
+                null,
+                null,
+                null
+        );
+    }
+
+    HashMap<String, HashMap<String, ExchangeRate>> exchangeRates() {
+        HashMap<String, HashMap<String, ExchangeRate>> rates = new HashMap<>();
+
+        for (String fromCurrency : CURRENCIES) {
+            HashMap<String, ExchangeRate> inner = new HashMap<>();
+            for (String toCurrency : CURRENCIES) {
+                inner.put(toCurrency, exchangeRate(fromCurrency, toCurrency, YEAR_START));
+            }
+            rates.put(fromCurrency, inner);
+        }
+
+        return rates;
+    }
+
+    /**
+     * A year of hourly rates, a year of daily rates and a year of weekly rates
+     * for every crypto to fiat pair.
+     */
+    HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> historicalExchangeRates() {
+        HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> rates =
+                new HashMap<>();
+
+        rates.put("hour", historicalExchangeRates(365 * 24, HOUR));
+        rates.put("day", historicalExchangeRates(365, 24 * HOUR));
+        rates.put("week", historicalExchangeRates(52, 7 * 24 * HOUR));
+
+        return rates;
+    }
+
+    Quote quote() {
+        return new Quote(
+                "quote-" + hex(8),
+                60,
+                "2022-01-01T00:00:00.000Z",
+                "2022-01-01T00:01:00.000Z",
+                "BTC",
+                "ETH",
+                new BigDecimal("13.52304928"),
+                new BigDecimal("0.01"),
+                new BigDecimal("0.05"),
+                new BigDecimal("0.0005"),
+                new BigDecimal("0.66938093")
+        );
+    }
+
+    private HashMap<String, HashMap<String, ArrayList<ExchangeRate>>> historicalExchangeRates(
+            int points,
+            int step
+    ) {
+        HashMap<String, HashMap<String, ArrayList<ExchangeRate>>> rates = new HashMap<>();
+
+        for (String fromCurrency : CRYPTO_CURRENCIES) {
+            HashMap<String, ArrayList<ExchangeRate>> inner = new HashMap<>();
+            for (String toCurrency : FIAT_CURRENCIES) {
+                ArrayList<ExchangeRate> series = new ArrayList<>(points);
+                for (int i = 0; i < points; i++) {
+                    series.add(exchangeRate(fromCurrency, toCurrency, YEAR_START + i * step));
+                }
+                inner.put(toCurrency, series);
+            }
+            rates.put(fromCurrency, inner);
+        }
+
+        return rates;
+    }
+
+    private ExchangeRate exchangeRate(String fromCurrency, String toCurrency, int timestamp) {
+        return new ExchangeRate(
+                hex(32),
+                fromCurrency,
+                toCurrency,
+                amount(),
+                timestamp
+        );
+    }
+
+    private TransactionAmount transactionAmount(String direction, String accountId, BigDecimal amount) {
+        HashMap<String, Double> fiatAmount = new HashMap<>();
+        for (String currency : FIAT_CURRENCIES) {
+            fiatAmount.put(currency, random.nextDouble() * 1000);
+        }
+
+        return new TransactionAmount(
+                direction,
+                null,
+                null,
+                accountId,
+                amount,
+                fiatAmount,
+                "0x" + hex(40),
+                false,
+                null,
+                null,
+                null,
+                null
+        );
+    }
+
+    private BigDecimal amount() {
+        return BigDecimal.valueOf(random.nextInt(Integer.MAX_VALUE), 8);
+    }
+
+    private String hex(int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(Character.forDigit(random.nextInt(16), 16));
+        }
+        return builder.toString();
+    }
+}
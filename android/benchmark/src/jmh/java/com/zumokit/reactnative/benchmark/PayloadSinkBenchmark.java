@@ -0,0 +1,70 @@
+package com.zumokit.reactnative.benchmark;
+
+import com.zumokit.reactnative.JsonPayloadSink;
+import com.zumokit.reactnative.ModelMapper;
+import com.zumokit.reactnative.ObjectTreePayloadSink;
+import com.zumokit.reactnative.WritablePayloadSink;
+
+import money.zumo.zumokit.AccountDataSnapshot;
+import money.zumo.zumokit.ExchangeRate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Same model mapping written to each of the payload sinks.
+ */
+@State(Scope.Benchmark)
+public class PayloadSinkBenchmark {
+
+    private ArrayList<AccountDataSnapshot> snapshots;
+
+    private HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> historicalExchangeRates;
+
+    @Setup
+    public void setUp() {
+        Fixtures fixtures = Fixtures.create();
+        snapshots = fixtures.accountData(10, 10000);
+        historicalExchangeRates = fixtures.historicalExchangeRates();
+    }
+
+    @Benchmark
+    public Object accountDataToWritable() {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeAccountData(sink, snapshots);
+        return sink.getArray();
+    }
+
+    @Benchmark
+    public Object accountDataToObjectTree() {
+        ObjectTreePayloadSink sink = new ObjectTreePayloadSink();
+        ModelMapper.writeAccountData(sink, snapshots);
+        return sink.getList();
+    }
+
+    @Benchmark
+    public Object accountDataToJson() {
+        StringBuilder json = new StringBuilder();
+        ModelMapper.writeAccountData(new JsonPayloadSink(json), snapshots);
+        return json;
+    }
+
+    @Benchmark
+    public Object historicalExchangeRatesToObjectTree() {
+        ObjectTreePayloadSink sink = new ObjectTreePayloadSink();
+        ModelMapper.writeHistoricalExchangeRates(sink, historicalExchangeRates);
+        return sink.getMap();
+    }
+
+    @Benchmark
+    public Object historicalExchangeRatesToJson() {
+        StringBuilder json = new StringBuilder();
+        ModelMapper.writeHistoricalExchangeRates(new JsonPayloadSink(json), historicalExchangeRates);
+        return json;
+    }
+}
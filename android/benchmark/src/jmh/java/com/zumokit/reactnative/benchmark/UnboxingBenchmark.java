@@ -0,0 +1,38 @@
+package com.zumokit.reactnative.benchmark;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.zumokit.reactnative.RNZumoKitModule;
+
+import money.zumo.zumokit.Account;
+import money.zumo.zumokit.Quote;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class UnboxingBenchmark {
+
+    private ReadableMap account;
+
+    private ReadableMap quote;
+
+    @Setup
+    public void setUp() {
+        // Same maps JS sends back when submitting composed transactions and exchanges
+        Fixtures fixtures = Fixtures.create();
+        account = RNZumoKitModule.mapAccount(fixtures.account(0));
+        quote = RNZumoKitModule.mapQuote(fixtures.quote());
+    }
+
+    @Benchmark
+    public Account unboxAccount() {
+        return RNZumoKitModule.unboxAccount(account);
+    }
+
+    @Benchmark
+    public Quote unboxQuote() {
+        return RNZumoKitModule.unboxQuote(quote);
+    }
+}
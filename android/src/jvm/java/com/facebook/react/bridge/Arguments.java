@@ -0,0 +1,16 @@
+package com.facebook.react.bridge;
+
+/**
+ * JVM-only replacement of React Native's Arguments, which creates native-backed
+ * maps and arrays that can not be used without the React Native runtime.
+ */
+public class Arguments {
+
+    public static WritableMap createMap() {
+        return new JavaOnlyMap();
+    }
+
+    public static WritableArray createArray() {
+        return new JavaOnlyArray();
+    }
+}
@@ -0,0 +1,225 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import money.zumo.zumokit.Account;
+import money.zumo.zumokit.AccountDataSnapshot;
+import money.zumo.zumokit.Transaction;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Keeps track of the account data last emitted to JS and turns each new list of
+ * snapshots into a delta containing only added, changed and removed accounts and
+ * transactions.
+ * <p>
+ * Every emitted delta carries a sequence number. A resync delta carries complete
+ * state and tells JS to drop whatever it had before.
+ */
+final class AccountDataDiffer {
+
+    private static final class AccountState {
+        long fingerprint;
+        LinkedHashMap<String, Long> transactions = new LinkedHashMap<>();
+    }
+
+    private final MappedModelCache<Account> accountCache;
+
+    private final MappedModelCache<Transaction> transactionCache;
+
+    private LinkedHashMap<String, AccountState> accounts = new LinkedHashMap<>();
+
+    private ArrayList<AccountDataSnapshot> lastSnapshots;
+
+    private HashSet<String> transactionsChanged = new HashSet<>();
+
+    private int sequence = 0;
+
+    private boolean resyncRequested = true;
+
+    AccountDataDiffer(
+            MappedModelCache<Account> accountCache,
+            MappedModelCache<Transaction> transactionCache
+    ) {
+        this.accountCache = accountCache;
+        this.transactionCache = transactionCache;
+    }
+
+    /**
+     * Forget all emitted state, next delta will be a resync.
+     */
+    public synchronized void reset() {
+        accounts = new LinkedHashMap<>();
+        lastSnapshots = null;
+        transactionsChanged = new HashSet<>();
+        sequence = 0;
+        resyncRequested = true;
+    }
+
+    /**
+     * Make next delta a resync.
+     */
+    public synchronized void requestResync() {
+        resyncRequested = true;
+    }
+
+    /**
+     * Builds a resync delta from the last received snapshots.
+     *
+     * @return resync delta or null if no snapshots were received yet
+     */
+    public synchronized WritableMap resync() {
+        resyncRequested = true;
+
+        if (lastSnapshots == null) {
+            return null;
+        }
+
+        return diff(lastSnapshots);
+    }
+
+    /**
+     * Returns ids of accounts whose transactions were added, changed, removed or
+     * reordered by the last delta. Every account of a resync delta is included.
+     */
+    public synchronized HashSet<String> getTransactionsChanged() {
+        return transactionsChanged;
+    }
+
+    /**
+     * Builds a delta between last emitted state and given snapshots.
+     *
+     * @return delta or null if nothing changed
+     */
+    public synchronized WritableMap diff(ArrayList<AccountDataSnapshot> snapshots) {
+        boolean resync = resyncRequested;
+        boolean changed = resync || snapshots.size() != accounts.size();
+
+        LinkedHashMap<String, AccountState> nextAccounts = new LinkedHashMap<>();
+        HashSet<String> nextTransactionsChanged = new HashSet<>();
+        WritableArray accountIds = Arguments.createArray();
+        WritableArray changes = Arguments.createArray();
+
+        Iterator<String> previousOrder = accounts.keySet().iterator();
+
+        for (AccountDataSnapshot snapshot : snapshots) {
+            String accountId = snapshot.getAccount().getId();
+            AccountState previous = resync ? null : accounts.get(accountId);
+            AccountState next = new AccountState();
+
+            accountIds.pushString(accountId);
+            if (!previousOrder.hasNext() || !previousOrder.next().equals(accountId)) {
+                changed = true;
+            }
+
+            // Every model is fingerprinted on every change, so only fields that can change are read
+            next.fingerprint = ModelFingerprint.revisionOf(snapshot.getAccount());
+            boolean accountChanged = previous == null || previous.fingerprint != next.fingerprint;
+
+            WritableArray transactions = Arguments.createArray();
+            WritableArray transactionIds = Arguments.createArray();
+            boolean orderChanged = previous == null
+                    || previous.transactions.size() != snapshot.getTransactions().size();
+
+            Iterator<String> previousTransactionOrder = previous == null ?
+                    null : previous.transactions.keySet().iterator();
+
+            for (Transaction transaction : snapshot.getTransactions()) {
+                String transactionId = transaction.getId();
+                long fingerprint = ModelFingerprint.revisionOf(transaction);
+                next.transactions.put(transactionId, fingerprint);
+                transactionIds.pushString(transactionId);
+
+                if (!orderChanged && (!previousTransactionOrder.hasNext()
+                        || !previousTransactionOrder.next().equals(transactionId))) {
+                    orderChanged = true;
+                }
+
+                Long previousFingerprint = previous == null ?
+                        null : previous.transactions.get(transactionId);
+                if (previousFingerprint == null || previousFingerprint != fingerprint) {
+                    transactions.pushMap(transactionCache.get(transaction, fingerprint));
+                }
+            }
+
+            WritableArray removedTransactionIds = Arguments.createArray();
+            boolean transactionsRemoved = false;
+            if (previous != null) {
+                for (String transactionId : previous.transactions.keySet()) {
+                    if (!next.transactions.containsKey(transactionId)) {
+                        removedTransactionIds.pushString(transactionId);
+                        transactionsRemoved = true;
+                    }
+                }
+            }
+
+            nextAccounts.put(accountId, next);
+
+            if (orderChanged || transactionsRemoved || transactions.size() > 0) {
+                nextTransactionsChanged.add(accountId);
+            }
+
+            if (!accountChanged && !orderChanged && !transactionsRemoved
+                    && transactions.size() == 0) {
+                continue;
+            }
+
+            changed = true;
+
+            WritableMap change = Arguments.createMap();
+            change.putString("accountId", accountId);
+
+            if (accountChanged) {
+                change.putMap("account", accountCache.get(snapshot.getAccount(), next.fingerprint));
+            } else {
+                change.putNull("account");
+            }
+
+            change.putArray("transactions", transactions);
+            change.putArray("removedTransactionIds", removedTransactionIds);
+
+            if (orderChanged) {
+                change.putArray("transactionIds", transactionIds);
+            } else {
+                change.putNull("transactionIds");
+            }
+
+            changes.pushMap(change);
+        }
+
+        WritableArray removedAccountIds = Arguments.createArray();
+        if (!resync) {
+            for (String accountId : accounts.keySet()) {
+                if (!nextAccounts.containsKey(accountId)) {
+                    removedAccountIds.pushString(accountId);
+                    changed = true;
+                }
+            }
+        }
+
+        accounts = nextAccounts;
+        lastSnapshots = snapshots;
+        transactionsChanged = nextTransactionsChanged;
+
+        if (!changed) {
+            return null;
+        }
+
+        resyncRequested = false;
+        sequence++;
+
+        WritableMap delta = Arguments.createMap();
+        delta.putInt("sequence", sequence);
+        delta.putBoolean("resync", resync);
+        delta.putArray("accountIds", accountIds);
+        delta.putArray("changes", changes);
+        delta.putArray("removedAccountIds", removedAccountIds);
+
+        return delta;
+    }
+}
@@ -0,0 +1,307 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import money.zumo.zumokit.AccountDataSnapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Persists last account data of a user, so that it can be shown right after
+ * sign in while live data is still on its way.
+ * <p>
+ * Account data is written by {@link BinaryPayloadSink} and read back on the
+ * store's own thread, written at most once per save delay. The file starts with a magic number, a format
+ * version, the save time and a CRC32 of the payload. Files that fail any of
+ * these checks are deleted instead of served.
+ */
+final class AccountDataStore {
+
+    interface LoadCallback {
+        /**
+         * @param accountData map with save time and account data snapshots, or null if
+         *                    nothing valid is persisted
+         */
+        void loaded(WritableMap accountData);
+    }
+
+    private static final int MAGIC = 0x5A4B4144;
+
+    private static final int FORMAT_VERSION = 1;
+
+    // Magic number, format version, save time, checksum and payload length
+    private static final int HEADER_BYTES = 28;
+
+    static final long SAVE_DELAY_MS = 2000;
+
+    private final File directory;
+
+    private final long saveDelayMs;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Runnable writeTask = new Runnable() {
+        @Override
+        public void run() {
+            write();
+        }
+    };
+
+    private final Object fileLock = new Object();
+
+    private String pendingUserId;
+
+    private ArrayList<AccountDataSnapshot> pendingSnapshots;
+
+    private boolean writeScheduled = false;
+
+    // Bumped by delete, so that a write that started earlier does not resurrect the file
+    private long generation = 0;
+
+    private long writes = 0;
+
+    private long loads = 0;
+
+    private long discarded = 0;
+
+    AccountDataStore(String name, File directory) {
+        this(name, directory, SAVE_DELAY_MS);
+    }
+
+    AccountDataStore(String name, File directory, long saveDelayMs) {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.directory = directory;
+        this.saveDelayMs = saveDelayMs;
+    }
+
+    /**
+     * Schedules account data of a user to be written, replacing account data that
+     * is still waiting to be written.
+     */
+    public synchronized void save(String userId, ArrayList<AccountDataSnapshot> snapshots) {
+        if (scheduler.isShutdown()) {
+            return;
+        }
+
+        pendingUserId = userId;
+        pendingSnapshots = snapshots;
+
+        if (!writeScheduled) {
+            writeScheduled = true;
+            scheduler.schedule(writeTask, saveDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Reads persisted account data of a user on the store thread and hands it to
+     * the callback there. Callback gets null right away once store is shut down.
+     */
+    public void load(String userId, LoadCallback callback) {
+        try {
+            scheduler.execute(new Runnable() {
+                @Override
+                public void run() {
+                    callback.loaded(read(userId));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            callback.loaded(null);
+        }
+    }
+
+    /**
+     * Deletes persisted account data of a user, including account data waiting to be written.
+     */
+    public void delete(String userId) {
+        synchronized (this) {
+            generation++;
+            if (userId.equals(pendingUserId)) {
+                pendingUserId = null;
+                pendingSnapshots = null;
+            }
+        }
+
+        synchronized (fileLock) {
+            fileOf(userId).delete();
+        }
+    }
+
+    /**
+     * Stops accepting account data, account data waiting to be written is still written.
+     */
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    public synchronized WritableMap getStats() {
+        WritableMap stats = Arguments.createMap();
+
+        stats.putDouble("writes", writes);
+        stats.putDouble("loads", loads);
+        stats.putDouble("discarded", discarded);
+
+        return stats;
+    }
+
+    private WritableMap read(String userId) {
+        File file = fileOf(userId);
+
+        synchronized (fileLock) {
+            if (!file.exists()) {
+                return null;
+            }
+
+            try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+                if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                    throw new IOException("Unsupported account data file.");
+                }
+
+                long savedAt = in.readLong();
+                long checksum = in.readLong();
+                int length = in.readInt();
+                if (length < 0 || length > file.length() - HEADER_BYTES) {
+                    throw new IOException("Account data length exceeds file.");
+                }
+
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if (crc.getValue() != checksum) {
+                    throw new IOException("Account data checksum mismatch.");
+                }
+
+                WritablePayloadSink sink = new WritablePayloadSink();
+                new BinaryPayloadReader(payload).read(sink);
+
+                WritableMap map = Arguments.createMap();
+                map.putDouble("savedAt", savedAt);
+                map.putArray("snapshots", sink.getArray());
+
+                synchronized (this) {
+                    loads++;
+                }
+
+                return map;
+            } catch (IOException | RuntimeException e) {
+                file.delete();
+
+                synchronized (this) {
+                    discarded++;
+                }
+
+                return null;
+            }
+        }
+    }
+
+    private void write() {
+        String userId;
+        ArrayList<AccountDataSnapshot> snapshots;
+        long writeGeneration;
+
+        synchronized (this) {
+            writeScheduled = false;
+            userId = pendingUserId;
+            snapshots = pendingSnapshots;
+            writeGeneration = generation;
+            pendingUserId = null;
+            pendingSnapshots = null;
+        }
+
+        if (userId == null) {
+            return;
+        }
+
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        BinaryPayloadSink sink = new BinaryPayloadSink(payload);
+        ModelMapper.writeAccountData(sink, snapshots);
+        sink.flush();
+
+        byte[] bytes = payload.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+
+        File file = fileOf(userId);
+        File temporary = new File(directory, file.getName() + ".tmp");
+
+        synchronized (fileLock) {
+            synchronized (this) {
+                if (generation != writeGeneration) {
+                    return;
+                }
+            }
+
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                return;
+            }
+
+            // Written aside and renamed, so that a crash never leaves a half written file behind
+            try (DataOutputStream out = new DataOutputStream(new FileOutputStream(temporary))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(System.currentTimeMillis());
+                out.writeLong(crc.getValue());
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            } catch (IOException e) {
+                temporary.delete();
+                return;
+            }
+
+            if (!temporary.renameTo(file)) {
+                temporary.delete();
+                return;
+            }
+        }
+
+        synchronized (this) {
+            writes++;
+        }
+    }
+
+    // Hashed, so that any user id maps to a distinct valid file name
+    private File fileOf(String userId) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+
+        byte[] hash = digest.digest(userId.getBytes(BinaryPayloadSink.UTF_8));
+
+        StringBuilder name = new StringBuilder(hash.length * 2 + 4);
+        for (byte b : hash) {
+            name.append(Character.forDigit((b >> 4) & 0xF, 16));
+            name.append(Character.forDigit(b & 0xF, 16));
+        }
+
+        return new File(directory, name.append(".bin").toString());
+    }
+}
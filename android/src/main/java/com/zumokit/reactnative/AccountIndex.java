@@ -0,0 +1,140 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import money.zumo.zumokit.Account;
+import money.zumo.zumokit.AccountDataSnapshot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+
+/**
+ * Index of current user accounts by id and by currency code, network, type and
+ * custody type, so that a single account can be looked up without mapping all
+ * of them.
+ * <p>
+ * Index is updated in place on every account data change. Every account is put
+ * again, so that lookups return its latest version, and accounts that are gone
+ * are removed. An account keeps its currency code, network, type and custody
+ * type, so its key entry is only replaced, never moved.
+ */
+final class AccountIndex {
+
+    private final HashMap<String, Account> byId = new HashMap<>();
+
+    private final HashMap<String, Account> byKey = new HashMap<>();
+
+    private long lookups = 0;
+
+    private long misses = 0;
+
+    public synchronized void update(ArrayList<Account> accounts) {
+        HashSet<String> ids = new HashSet<>();
+
+        for (Account account : accounts) {
+            ids.add(account.getId());
+            put(account);
+        }
+
+        Iterator<Account> iterator = byId.values().iterator();
+        while (iterator.hasNext()) {
+            Account account = iterator.next();
+            if (!ids.contains(account.getId())) {
+                iterator.remove();
+                removeKey(account);
+            }
+        }
+    }
+
+    public void updateFromSnapshots(ArrayList<AccountDataSnapshot> snapshots) {
+        ArrayList<Account> accounts = new ArrayList<>();
+        for (AccountDataSnapshot snapshot : snapshots) {
+            accounts.add(snapshot.getAccount());
+        }
+
+        update(accounts);
+    }
+
+    /**
+     * Returns account with given id, or null if account is not indexed.
+     */
+    public synchronized Account get(String accountId) {
+        return counted(byId.get(accountId));
+    }
+
+    /**
+     * Returns account in given currency, on given network, with given type and
+     * custody type, or null if account is not indexed.
+     */
+    public synchronized Account find(
+            String currencyCode,
+            String network,
+            String type,
+            String custodyType
+    ) {
+        return counted(byKey.get(keyOf(currencyCode, network, type, custodyType)));
+    }
+
+    public synchronized void clear() {
+        byId.clear();
+        byKey.clear();
+    }
+
+    public synchronized WritableMap getStats() {
+        WritableMap stats = Arguments.createMap();
+
+        stats.putInt("accounts", byId.size());
+        stats.putDouble("lookups", lookups);
+        stats.putDouble("misses", misses);
+
+        return stats;
+    }
+
+    private void put(Account account) {
+        Account previous = byId.put(account.getId(), account);
+        if (previous != null) {
+            removeKey(previous);
+        }
+
+        byKey.put(keyOf(account), account);
+    }
+
+    // Key might already belong to another account that replaced this one
+    private void removeKey(Account account) {
+        String key = keyOf(account);
+        Account indexed = byKey.get(key);
+        if (indexed != null && indexed.getId().equals(account.getId())) {
+            byKey.remove(key);
+        }
+    }
+
+    private Account counted(Account account) {
+        lookups++;
+        if (account == null) {
+            misses++;
+        }
+
+        return account;
+    }
+
+    private static String keyOf(Account account) {
+        return keyOf(
+                account.getCurrencyCode(),
+                account.getNetwork(),
+                account.getType(),
+                account.getCustodyType()
+        );
+    }
+
+    private static String keyOf(
+            String currencyCode,
+            String network,
+            String type,
+            String custodyType
+    ) {
+        return currencyCode + ":" + network + ":" + type + ":" + custodyType;
+    }
+}
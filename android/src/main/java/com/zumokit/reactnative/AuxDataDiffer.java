@@ -0,0 +1,125 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import money.zumo.zumokit.ExchangeRate;
+
+import java.util.HashMap;
+
+/**
+ * Keeps track of the exchange rates last emitted to JS and turns each aux data
+ * change into a diff containing only changed and removed rates. Transaction fee
+ * rates are sent separately, see {@link FeeRateCache}.
+ * <p>
+ * Every emitted diff carries a version number. A resync diff carries complete
+ * state and tells JS to drop whatever it had before.
+ */
+final class AuxDataDiffer {
+
+    private HashMap<String, HashMap<String, Long>> exchangeRates = new HashMap<>();
+
+    private int version = 0;
+
+    private boolean resyncRequested = true;
+
+    /**
+     * Forget all emitted state, next diff will be a resync.
+     */
+    public synchronized void reset() {
+        exchangeRates = new HashMap<>();
+        version = 0;
+        resyncRequested = true;
+    }
+
+    /**
+     * Make next diff a resync.
+     */
+    public synchronized void requestResync() {
+        resyncRequested = true;
+    }
+
+    /**
+     * Builds a diff between last emitted state and given rates. Diff is built even
+     * if no rate changed, aux data also covers sign in state and exchange settings.
+     */
+    public synchronized WritableMap diff(
+            HashMap<String, HashMap<String, ExchangeRate>> exchangeRates
+    ) {
+        boolean resync = resyncRequested;
+
+        HashMap<String, HashMap<String, Long>> nextExchangeRates = new HashMap<>();
+        WritableMap changedExchangeRates = Arguments.createMap();
+        WritableArray removedExchangeRates = Arguments.createArray();
+
+        for (HashMap.Entry<String, HashMap<String, ExchangeRate>> outerEntry :
+                exchangeRates.entrySet()) {
+            String fromCurrency = outerEntry.getKey();
+            HashMap<String, Long> previous = resync ? null : this.exchangeRates.get(fromCurrency);
+            HashMap<String, Long> next = new HashMap<>();
+            WritableMap changedRates = Arguments.createMap();
+            boolean ratesChanged = false;
+
+            for (HashMap.Entry<String, ExchangeRate> innerEntry : outerEntry.getValue().entrySet()) {
+                long fingerprint = ModelFingerprint.of(innerEntry.getValue());
+                next.put(innerEntry.getKey(), fingerprint);
+
+                Long previousFingerprint = previous == null ? null : previous.get(innerEntry.getKey());
+                if (previousFingerprint == null || previousFingerprint != fingerprint) {
+                    changedRates.putMap(
+                            innerEntry.getKey(),
+                            RNZumoKitModule.mapExchangeRate(innerEntry.getValue())
+                    );
+                    ratesChanged = true;
+                }
+            }
+
+            if (previous != null) {
+                for (String toCurrency : previous.keySet()) {
+                    if (!next.containsKey(toCurrency)) {
+                        removedExchangeRates.pushMap(currencyPair(fromCurrency, toCurrency));
+                    }
+                }
+            }
+
+            nextExchangeRates.put(fromCurrency, next);
+
+            if (ratesChanged) {
+                changedExchangeRates.putMap(fromCurrency, changedRates);
+            }
+        }
+
+        if (!resync) {
+            for (HashMap.Entry<String, HashMap<String, Long>> entry : this.exchangeRates.entrySet()) {
+                if (nextExchangeRates.containsKey(entry.getKey())) {
+                    continue;
+                }
+
+                for (String toCurrency : entry.getValue().keySet()) {
+                    removedExchangeRates.pushMap(currencyPair(entry.getKey(), toCurrency));
+                }
+            }
+        }
+
+        this.exchangeRates = nextExchangeRates;
+
+        resyncRequested = false;
+        version++;
+
+        WritableMap diff = Arguments.createMap();
+        diff.putInt("version", version);
+        diff.putBoolean("resync", resync);
+        diff.putMap("exchangeRates", changedExchangeRates);
+        diff.putArray("removedExchangeRates", removedExchangeRates);
+
+        return diff;
+    }
+
+    private static WritableMap currencyPair(String fromCurrency, String toCurrency) {
+        WritableMap pair = Arguments.createMap();
+        pair.putString("fromCurrency", fromCurrency);
+        pair.putString("toCurrency", toCurrency);
+        return pair;
+    }
+}
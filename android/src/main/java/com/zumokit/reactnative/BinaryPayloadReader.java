@@ -0,0 +1,126 @@
+package com.zumokit.reactnative;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+
+/**
+ * Reads payload written by {@link BinaryPayloadSink} and replays it into another
+ * sink, e.g. {@link WritablePayloadSink} to hand it over to JS.
+ * <p>
+ * Payload is read from memory, lengths are checked against the rest of the
+ * payload before anything is allocated for them.
+ */
+public class BinaryPayloadReader {
+
+    private final ByteArrayInputStream payload;
+
+    private final DataInputStream in;
+
+    private final ArrayList<String> keys = new ArrayList<>();
+
+    public BinaryPayloadReader(byte[] payload) {
+        this.payload = new ByteArrayInputStream(payload);
+        this.in = new DataInputStream(this.payload);
+    }
+
+    /**
+     * Replays one complete payload into the sink.
+     *
+     * @throws IOException if payload is truncated or malformed
+     */
+    public void read(PayloadSink sink) throws IOException {
+        int depth = 0;
+
+        do {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case BinaryPayloadSink.BEGIN_MAP:
+                    sink.beginMap();
+                    depth++;
+                    break;
+                case BinaryPayloadSink.END_MAP:
+                    sink.endMap();
+                    depth--;
+                    break;
+                case BinaryPayloadSink.BEGIN_ARRAY:
+                    sink.beginArray();
+                    depth++;
+                    break;
+                case BinaryPayloadSink.END_ARRAY:
+                    sink.endArray();
+                    depth--;
+                    break;
+                case BinaryPayloadSink.NEW_KEY:
+                    String key = new String(bytes(), BinaryPayloadSink.UTF_8);
+                    keys.add(key);
+                    sink.key(key);
+                    break;
+                case BinaryPayloadSink.KEY:
+                    int index = varint();
+                    if (index < 0 || index >= keys.size()) {
+                        throw new IOException("Unknown key reference.");
+                    }
+                    sink.key(keys.get(index));
+                    break;
+                case BinaryPayloadSink.NULL:
+                    sink.nullValue();
+                    break;
+                case BinaryPayloadSink.STRING:
+                    sink.value(new String(bytes(), BinaryPayloadSink.UTF_8));
+                    break;
+                case BinaryPayloadSink.DECIMAL:
+                    int scale = varint();
+                    sink.value(new BigDecimal(new BigInteger(bytes()), scale));
+                    break;
+                case BinaryPayloadSink.INT:
+                    sink.value(in.readInt());
+                    break;
+                case BinaryPayloadSink.DOUBLE:
+                    sink.value(in.readDouble());
+                    break;
+                case BinaryPayloadSink.TRUE:
+                    sink.value(true);
+                    break;
+                case BinaryPayloadSink.FALSE:
+                    sink.value(false);
+                    break;
+                default:
+                    throw new IOException("Unknown tag " + tag + ".");
+            }
+        } while (depth > 0);
+    }
+
+    private int varint() throws IOException {
+        int encoded = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > 28) {
+                throw new IOException("Malformed varint.");
+            }
+            b = in.readUnsignedByte();
+            encoded |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    private byte[] bytes() throws IOException {
+        int length = varint();
+        if (length < 0) {
+            throw new IOException("Negative length.");
+        }
+        if (length > payload.available()) {
+            throw new IOException("Length exceeds payload.");
+        }
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,180 @@
+package com.zumokit.reactnative;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+
+/**
+ * Streams payload in a compact tagged binary form, read back by
+ * {@link BinaryPayloadReader}. Map keys are written once and referenced by
+ * index afterwards, decimals keep their exact unscaled value and scale.
+ */
+public class BinaryPayloadSink implements PayloadSink {
+
+    static final int BEGIN_MAP = 1;
+    static final int END_MAP = 2;
+    static final int BEGIN_ARRAY = 3;
+    static final int END_ARRAY = 4;
+    static final int NEW_KEY = 5;
+    static final int KEY = 6;
+    static final int NULL = 7;
+    static final int STRING = 8;
+    static final int DECIMAL = 9;
+    static final int INT = 10;
+    static final int DOUBLE = 11;
+    static final int TRUE = 12;
+    static final int FALSE = 13;
+
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final DataOutputStream out;
+
+    private final HashMap<String, Integer> keys = new HashMap<>();
+
+    public BinaryPayloadSink(OutputStream out) {
+        this.out = new DataOutputStream(out);
+    }
+
+    @Override
+    public PayloadSink beginMap() {
+        tag(BEGIN_MAP);
+        return this;
+    }
+
+    @Override
+    public PayloadSink endMap() {
+        tag(END_MAP);
+        return this;
+    }
+
+    @Override
+    public PayloadSink beginArray() {
+        tag(BEGIN_ARRAY);
+        return this;
+    }
+
+    @Override
+    public PayloadSink endArray() {
+        tag(END_ARRAY);
+        return this;
+    }
+
+    @Override
+    public PayloadSink key(String name) {
+        Integer index = keys.get(name);
+        if (index != null) {
+            tag(KEY);
+            varint(index);
+            return this;
+        }
+
+        keys.put(name, keys.size());
+        tag(NEW_KEY);
+        bytes(name.getBytes(UTF_8));
+        return this;
+    }
+
+    @Override
+    public PayloadSink nullValue() {
+        tag(NULL);
+        return this;
+    }
+
+    @Override
+    public PayloadSink value(String value) {
+        if (value == null) {
+            return nullValue();
+        }
+
+        tag(STRING);
+        bytes(value.getBytes(UTF_8));
+        return this;
+    }
+
+    @Override
+    public PayloadSink value(BigDecimal value) {
+        if (value == null) {
+            return nullValue();
+        }
+
+        tag(DECIMAL);
+        varint(value.scale());
+        bytes(value.unscaledValue().toByteArray());
+        return this;
+    }
+
+    @Override
+    public PayloadSink value(Integer value) {
+        return value == null ? nullValue() : value(value.intValue());
+    }
+
+    @Override
+    public PayloadSink value(int value) {
+        tag(INT);
+        try {
+            out.writeInt(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public PayloadSink value(double value) {
+        tag(DOUBLE);
+        try {
+            out.writeDouble(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public PayloadSink value(boolean value) {
+        tag(value ? TRUE : FALSE);
+        return this;
+    }
+
+    public void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void tag(int tag) {
+        try {
+            out.writeByte(tag);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Zig-zag encoded so that negative decimal scales stay short
+    private void varint(int value) {
+        int encoded = (value << 1) ^ (value >> 31);
+        try {
+            while ((encoded & ~0x7F) != 0) {
+                out.writeByte((encoded & 0x7F) | 0x80);
+                encoded >>>= 7;
+            }
+            out.writeByte(encoded);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void bytes(byte[] bytes) {
+        varint(bytes.length);
+        try {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.PromiseImpl;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.List;
+
+/**
+ * Runs a list of compose requests with bounded parallelism and hands outcomes to
+ * the sink once, in request order. Each outcome is either {result: ...} or
+ * {error: {code, message, userInfo}}, a failed request does not fail the batch.
+ * <p>
+ * Requests are started from a loop, never from the completion of an earlier one,
+ * so that requests completing synchronously do not grow the stack. A request that
+ * throws fails its own slot, only the first outcome of a slot counts.
+ */
+final class ComposeBatch {
+
+    interface Request {
+        void compose(Promise promise);
+    }
+
+    interface Sink {
+        void completed(WritableArray outcomes);
+    }
+
+    private final List<Request> requests;
+
+    private final int maxConcurrency;
+
+    private final Sink sink;
+
+    private final WritableMap[] outcomes;
+
+    private int next = 0;
+
+    private int remaining;
+
+    // Starts requested by completed requests, taken by the thread that is starting
+    private int pendingStarts = 0;
+
+    private boolean starting = false;
+
+    ComposeBatch(List<Request> requests, int maxConcurrency, Sink sink) {
+        this.requests = requests;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.sink = sink;
+        this.outcomes = new WritableMap[requests.size()];
+        this.remaining = requests.size();
+    }
+
+    public void start() {
+        if (requests.isEmpty()) {
+            sink.completed(Arguments.createArray());
+            return;
+        }
+
+        startNext(Math.min(maxConcurrency, requests.size()));
+    }
+
+    private void startNext(int count) {
+        synchronized (this) {
+            pendingStarts += count;
+            if (starting) {
+                return;
+            }
+            starting = true;
+        }
+
+        while (true) {
+            int index;
+            synchronized (this) {
+                if (pendingStarts == 0 || next >= requests.size()) {
+                    pendingStarts = 0;
+                    starting = false;
+                    return;
+                }
+                pendingStarts--;
+                index = next++;
+            }
+
+            compose(index);
+        }
+    }
+
+    private void compose(int index) {
+        try {
+            requests.get(index).compose(new PromiseImpl(
+                    new Callback() {
+                        @Override
+                        public void invoke(Object... args) {
+                            WritableMap outcome = Arguments.createMap();
+                            // Compose requests always resolve with a map
+                            outcome.putMap("result", (WritableMap) args[0]);
+                            complete(index, outcome);
+                        }
+                    },
+                    new Callback() {
+                        @Override
+                        public void invoke(Object... args) {
+                            WritableMap outcome = Arguments.createMap();
+                            outcome.putMap("error", (WritableMap) args[0]);
+                            complete(index, outcome);
+                        }
+                    }
+            ));
+        } catch (RuntimeException e) {
+            WritableMap outcome = Arguments.createMap();
+            outcome.putMap("error", RNZumoKitModule.mapError(e));
+            complete(index, outcome);
+        }
+    }
+
+    private void complete(int index, WritableMap outcome) {
+        boolean done;
+        synchronized (this) {
+            if (outcomes[index] != null) {
+                return;
+            }
+            outcomes[index] = outcome;
+            done = --remaining == 0;
+        }
+
+        if (!done) {
+            startNext(1);
+            return;
+        }
+
+        WritableArray results = Arguments.createArray();
+        for (WritableMap result : outcomes) {
+            results.pushMap(result);
+        }
+        sink.completed(results);
+    }
+}
@@ -0,0 +1,167 @@
+package com.zumokit.reactnative;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collapses bursts of values into a single emission. Latest value wins, it is
+ * emitted once no new value arrived for the length of the window, but never
+ * later than max latency after the first value of the burst.
+ * <p>
+ * Coalesced values are emitted from the coalescer's own thread, one at a time.
+ * With window of 0 each value is emitted inline on the submitting thread.
+ */
+final class EmissionCoalescer<T> {
+
+    interface Sink<T> {
+        void emit(T value);
+    }
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Sink<T> sink;
+
+    private long windowMs;
+
+    private long maxLatencyMs;
+
+    private T pending;
+
+    private long firstPendingAt;
+
+    private ScheduledFuture<?> scheduledFlush;
+
+    private long generation = 0;
+
+    private long received = 0;
+
+    private long emitted = 0;
+
+    EmissionCoalescer(String name, long windowMs, long maxLatencyMs, Sink<T> sink) {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.sink = sink;
+        this.windowMs = windowMs;
+        this.maxLatencyMs = maxLatencyMs;
+    }
+
+    /**
+     * Sets coalescing window and max latency, window of 0 disables coalescing.
+     */
+    public synchronized void configure(long windowMs, long maxLatencyMs) {
+        this.windowMs = Math.max(0, windowMs);
+        this.maxLatencyMs = Math.max(this.windowMs, maxLatencyMs);
+    }
+
+    public void submit(T value) {
+        synchronized (this) {
+            received++;
+
+            if (windowMs > 0) {
+                pending = value;
+
+                long now = System.nanoTime();
+                if (scheduledFlush == null) {
+                    firstPendingAt = now;
+                } else {
+                    scheduledFlush.cancel(false);
+                }
+
+                long deadline = Math.min(
+                        now + TimeUnit.MILLISECONDS.toNanos(windowMs),
+                        firstPendingAt + TimeUnit.MILLISECONDS.toNanos(maxLatencyMs)
+                );
+
+                scheduledFlush = scheduler.schedule(
+                        new Flush(++generation),
+                        Math.max(0, deadline - now),
+                        TimeUnit.NANOSECONDS
+                );
+                return;
+            }
+
+            // Coalescing disabled, value supersedes any pending one
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+            }
+
+            scheduledFlush = null;
+            pending = null;
+            generation++;
+            emitted++;
+        }
+
+        sink.emit(value);
+    }
+
+    /**
+     * Drops pending value without emitting it.
+     */
+    public synchronized void clear() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+        }
+
+        scheduledFlush = null;
+        pending = null;
+        generation++;
+    }
+
+    public void shutdown() {
+        clear();
+        scheduler.shutdown();
+    }
+
+    public synchronized long getReceived() {
+        return received;
+    }
+
+    public synchronized long getEmitted() {
+        return emitted;
+    }
+
+    public synchronized long getWindowMs() {
+        return windowMs;
+    }
+
+    public synchronized long getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+
+    private final class Flush implements Runnable {
+
+        private final long generation;
+
+        Flush(long generation) {
+            this.generation = generation;
+        }
+
+        @Override
+        public void run() {
+            T value;
+
+            synchronized (EmissionCoalescer.this) {
+                // Superseded by a later submit or cleared
+                if (generation != EmissionCoalescer.this.generation) {
+                    return;
+                }
+
+                value = pending;
+                pending = null;
+                scheduledFlush = null;
+                emitted++;
+            }
+
+            sink.emit(value);
+        }
+    }
+}
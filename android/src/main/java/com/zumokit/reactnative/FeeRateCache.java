@@ -0,0 +1,124 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import money.zumo.zumokit.TransactionFeeRate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+
+/**
+ * Mapped transaction fee rates, kept along with a version that is bumped every
+ * time slow, average or fast rate of any currency changes. Mapped rates are
+ * refreshed on any change, including estimated times and source, which are not
+ * worth an event of their own.
+ * <p>
+ * Writable maps are consumed when put into another map or array, so the cached
+ * payload is never handed out, callers always receive a copy.
+ */
+final class FeeRateCache {
+
+    private HashMap<String, TransactionFeeRate> rates = new HashMap<>();
+
+    private WritableMap mapped;
+
+    private int version = 0;
+
+    /**
+     * Returns copy of mapped fee rates, or null if rates were not mapped yet.
+     */
+    public synchronized WritableMap get() {
+        if (mapped == null) {
+            return null;
+        }
+
+        return copy(mapped);
+    }
+
+    /**
+     * Updates cached fee rates.
+     *
+     * @return change event payload, or null if no slow, average or fast rate changed
+     */
+    public synchronized WritableMap update(HashMap<String, TransactionFeeRate> current) {
+        WritableMap changedRates = Arguments.createMap();
+        WritableArray removedCurrencies = Arguments.createArray();
+        boolean changed = false;
+        boolean refreshed = mapped == null || rates.size() != current.size();
+
+        for (HashMap.Entry<String, TransactionFeeRate> entry : current.entrySet()) {
+            TransactionFeeRate previous = rates.get(entry.getKey());
+            if (!isIdentical(previous, entry.getValue())) {
+                refreshed = true;
+            }
+
+            if (!isSame(previous, entry.getValue())) {
+                changedRates.putMap(
+                        entry.getKey(),
+                        RNZumoKitModule.mapTransactionFeeRate(entry.getValue())
+                );
+                changed = true;
+            }
+        }
+
+        for (String currency : rates.keySet()) {
+            if (!current.containsKey(currency)) {
+                removedCurrencies.pushString(currency);
+                changed = true;
+            }
+        }
+
+        if (changed || refreshed) {
+            mapped = RNZumoKitModule.mapTransactionFeeRates(current);
+        }
+
+        rates = new HashMap<>(current);
+
+        if (!changed) {
+            return null;
+        }
+
+        version++;
+
+        WritableMap event = Arguments.createMap();
+        event.putInt("version", version);
+        event.putMap("transactionFeeRates", changedRates);
+        event.putArray("removedCurrencies", removedCurrencies);
+
+        return event;
+    }
+
+    public synchronized int getVersion() {
+        return version;
+    }
+
+    public synchronized void clear() {
+        rates = new HashMap<>();
+        mapped = null;
+        version = 0;
+    }
+
+    private static boolean isSame(TransactionFeeRate previous, TransactionFeeRate current) {
+        return previous != null
+                && isSame(previous.getSlow(), current.getSlow())
+                && isSame(previous.getAverage(), current.getAverage())
+                && isSame(previous.getFast(), current.getFast());
+    }
+
+    private static boolean isIdentical(TransactionFeeRate previous, TransactionFeeRate current) {
+        return previous != null
+                && ModelFingerprint.of(previous) == ModelFingerprint.of(current);
+    }
+
+    private static boolean isSame(BigDecimal previous, BigDecimal current) {
+        return previous == null ? current == null : current != null && previous.compareTo(current) == 0;
+    }
+
+    private static WritableMap copy(WritableMap map) {
+        WritableMap copy = Arguments.createMap();
+        copy.merge(map);
+        return copy;
+    }
+}
@@ -0,0 +1,290 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import money.zumo.zumokit.ExchangeRate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Historical exchange rates with per interval time to live. Callers that need
+ * only some intervals are served from cache as long as those intervals are fresh.
+ * <p>
+ * The SDK fetches every interval at once. Fetched rates are merged only into
+ * expired intervals, fresh intervals are kept as they are. Points are merged by
+ * timestamp, fetched points replace cached points of the same timestamp.
+ * <p>
+ * Mapped payloads are cached per view and interval, and dropped only for the
+ * intervals whose points changed, so that a cache hit costs a copy instead of a
+ * full re-marshal.
+ */
+final class HistoricalExchangeRatesCache {
+
+    interface Mapper {
+        WritableMap map(HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> rates);
+    }
+
+    static final long DEFAULT_TTL_MS = 60 * 1000;
+
+    private final HashMap<String, Long> ttls = new HashMap<>();
+
+    private HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> rates = new HashMap<>();
+
+    private final HashMap<String, Long> fetchedAt = new HashMap<>();
+
+    // Mapped payloads by interval and view
+    private final HashMap<String, HashMap<String, WritableMap>> mapped = new HashMap<>();
+
+    private long hits = 0;
+
+    private long misses = 0;
+
+    private long appended = 0;
+
+    private long replaced = 0;
+
+    /**
+     * Returns true if given intervals, or all cached intervals if none are given,
+     * are cached and have not expired yet.
+     */
+    public synchronized boolean isFresh(List<String> intervals) {
+        if (intervals == null) {
+            if (rates.isEmpty()) {
+                return false;
+            }
+            intervals = new ArrayList<>(rates.keySet());
+        }
+
+        long now = System.nanoTime();
+        for (String interval : intervals) {
+            if (!rates.containsKey(interval) || isExpired(interval, now)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Counts lookup served from cache as a hit, or one that had to wait for a
+     * fetch as a miss.
+     */
+    public synchronized void recordLookup(boolean hit) {
+        if (hit) {
+            hits++;
+        } else {
+            misses++;
+        }
+    }
+
+    /**
+     * Merges freshly fetched rates into expired intervals.
+     */
+    public synchronized void update(
+            HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> fetched
+    ) {
+        long now = System.nanoTime();
+        HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> next = new HashMap<>();
+
+        for (HashMap.Entry<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> entry :
+                fetched.entrySet()) {
+            String interval = entry.getKey();
+            HashMap<String, HashMap<String, ArrayList<ExchangeRate>>> cached = rates.get(interval);
+
+            if (cached != null && !isExpired(interval, now)) {
+                next.put(interval, cached);
+                continue;
+            }
+
+            HashMap<String, HashMap<String, ArrayList<ExchangeRate>>> merged = merge(cached, entry.getValue());
+            if (merged != cached) {
+                mapped.remove(interval);
+            }
+
+            next.put(interval, merged);
+            fetchedAt.put(interval, now);
+        }
+
+        // Intervals the SDK no longer returns are dropped
+        for (String interval : rates.keySet()) {
+            if (!next.containsKey(interval)) {
+                mapped.remove(interval);
+                fetchedAt.remove(interval);
+            }
+        }
+
+        rates = next;
+    }
+
+    /**
+     * Returns copy of given intervals, or all cached intervals if none are given,
+     * mapped by the mapper. Each interval is mapped once until its points change.
+     */
+    public synchronized WritableMap mapped(String view, List<String> intervals, Mapper mapper) {
+        WritableMap result = Arguments.createMap();
+
+        for (String interval : intervals == null ? new ArrayList<>(rates.keySet()) : intervals) {
+            HashMap<String, HashMap<String, ArrayList<ExchangeRate>>> intervalRates = rates.get(interval);
+            if (intervalRates == null) {
+                continue;
+            }
+
+            HashMap<String, WritableMap> views = mapped.get(interval);
+            if (views == null) {
+                views = new HashMap<>();
+                mapped.put(interval, views);
+            }
+
+            WritableMap map = views.get(view);
+            if (map == null) {
+                HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> single =
+                        new HashMap<>();
+                single.put(interval, intervalRates);
+
+                map = mapper.map(single);
+                views.put(view, map);
+            }
+
+            result.merge(map);
+        }
+
+        return result;
+    }
+
+    /**
+     * Sets time to live of given interval, e.g. 'hour' or 'day'.
+     */
+    public synchronized void setTtl(String interval, long ttlMs) {
+        ttls.put(interval, Math.max(0, ttlMs));
+    }
+
+    /**
+     * Marks all intervals as expired, cached points are kept and merged with next fetch.
+     */
+    public synchronized void invalidate() {
+        fetchedAt.clear();
+    }
+
+    public synchronized void clear() {
+        rates = new HashMap<>();
+        fetchedAt.clear();
+        mapped.clear();
+    }
+
+    public synchronized WritableMap getStats() {
+        int points = 0;
+        for (HashMap<String, HashMap<String, ArrayList<ExchangeRate>>> fromRates : rates.values()) {
+            for (HashMap<String, ArrayList<ExchangeRate>> toRates : fromRates.values()) {
+                for (ArrayList<ExchangeRate> series : toRates.values()) {
+                    points += series.size();
+                }
+            }
+        }
+
+        WritableMap stats = Arguments.createMap();
+
+        stats.putInt("intervals", rates.size());
+        stats.putInt("points", points);
+        stats.putDouble("hits", hits);
+        stats.putDouble("misses", misses);
+        stats.putDouble("appended", appended);
+        stats.putDouble("replaced", replaced);
+
+        return stats;
+    }
+
+    private boolean isExpired(String interval, long now) {
+        Long fetched = fetchedAt.get(interval);
+        if (fetched == null) {
+            return true;
+        }
+
+        Long ttl = ttls.get(interval);
+        long ttlMs = ttl == null ? DEFAULT_TTL_MS : ttl;
+
+        return now - fetched >= TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    // Returns cached rates as they are if no point of the interval changed
+    private HashMap<String, HashMap<String, ArrayList<ExchangeRate>>> merge(
+            HashMap<String, HashMap<String, ArrayList<ExchangeRate>>> cached,
+            HashMap<String, HashMap<String, ArrayList<ExchangeRate>>> fetched
+    ) {
+        HashMap<String, HashMap<String, ArrayList<ExchangeRate>>> merged = new HashMap<>();
+        boolean changed = cached == null || cached.size() != fetched.size();
+
+        for (HashMap.Entry<String, HashMap<String, ArrayList<ExchangeRate>>> fromEntry :
+                fetched.entrySet()) {
+            HashMap<String, ArrayList<ExchangeRate>> cachedToRates =
+                    cached == null ? null : cached.get(fromEntry.getKey());
+            HashMap<String, ArrayList<ExchangeRate>> mergedToRates = new HashMap<>();
+            changed |= cachedToRates == null || cachedToRates.size() != fromEntry.getValue().size();
+
+            for (HashMap.Entry<String, ArrayList<ExchangeRate>> toEntry :
+                    fromEntry.getValue().entrySet()) {
+                ArrayList<ExchangeRate> cachedSeries =
+                        cachedToRates == null ? null : cachedToRates.get(toEntry.getKey());
+                ArrayList<ExchangeRate> mergedSeries = merge(cachedSeries, toEntry.getValue());
+
+                changed |= mergedSeries != cachedSeries;
+                mergedToRates.put(toEntry.getKey(), mergedSeries);
+            }
+
+            merged.put(fromEntry.getKey(), mergedToRates);
+        }
+
+        return changed ? merged : cached;
+    }
+
+    // Returns cached series as it is if fetched series holds no new or changed points
+    private ArrayList<ExchangeRate> merge(ArrayList<ExchangeRate> cached, ArrayList<ExchangeRate> fetched) {
+        if (cached == null || cached.isEmpty()) {
+            appended += fetched.size();
+            return fetched;
+        }
+
+        // Series are ordered oldest first, window starts at the first fetched point
+        int start = fetched.isEmpty() ? 0 : dropBefore(cached, fetched.get(0).getTimestamp());
+        boolean changed = start > 0;
+
+        ArrayList<ExchangeRate> merged = new ArrayList<>(cached.size() - start + fetched.size());
+        int c = start;
+        int f = 0;
+        while (c < cached.size() || f < fetched.size()) {
+            if (f == fetched.size()) {
+                merged.add(cached.get(c++));
+            } else if (c == cached.size()
+                    || fetched.get(f).getTimestamp() < cached.get(c).getTimestamp()) {
+                merged.add(fetched.get(f++));
+                appended++;
+                changed = true;
+            } else if (fetched.get(f).getTimestamp() > cached.get(c).getTimestamp()) {
+                merged.add(cached.get(c++));
+            } else {
+                ExchangeRate cachedRate = cached.get(c++);
+                ExchangeRate fetchedRate = fetched.get(f++);
+                if (ModelFingerprint.of(cachedRate) == ModelFingerprint.of(fetchedRate)) {
+                    merged.add(cachedRate);
+                } else {
+                    merged.add(fetchedRate);
+                    replaced++;
+                    changed = true;
+                }
+            }
+        }
+
+        return changed ? merged : cached;
+    }
+
+    private static int dropBefore(ArrayList<ExchangeRate> series, int timestamp) {
+        int index = 0;
+        while (index < series.size() && series.get(index).getTimestamp() < timestamp) {
+            index++;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,184 @@
+package com.zumokit.reactnative;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+
+/**
+ * Streams payload as JSON text to an appendable, without building any
+ * intermediate tree.
+ */
+public class JsonPayloadSink implements PayloadSink {
+
+    private final Appendable out;
+
+    // One entry per open container, true until first element is written
+    private final ArrayDeque<Boolean> first = new ArrayDeque<>();
+
+    private boolean afterKey = false;
+
+    public JsonPayloadSink(Appendable out) {
+        this.out = out;
+    }
+
+    @Override
+    public PayloadSink beginMap() {
+        beforeValue();
+        append('{');
+        first.push(true);
+        return this;
+    }
+
+    @Override
+    public PayloadSink endMap() {
+        first.pop();
+        append('}');
+        return this;
+    }
+
+    @Override
+    public PayloadSink beginArray() {
+        beforeValue();
+        append('[');
+        first.push(true);
+        return this;
+    }
+
+    @Override
+    public PayloadSink endArray() {
+        first.pop();
+        append(']');
+        return this;
+    }
+
+    @Override
+    public PayloadSink key(String name) {
+        separate();
+        string(name);
+        append(':');
+        afterKey = true;
+        return this;
+    }
+
+    @Override
+    public PayloadSink nullValue() {
+        beforeValue();
+        append("null");
+        return this;
+    }
+
+    @Override
+    public PayloadSink value(String value) {
+        if (value == null) {
+            return nullValue();
+        }
+
+        beforeValue();
+        string(value);
+        return this;
+    }
+
+    @Override
+    public PayloadSink value(BigDecimal value) {
+        return value(value == null ? null : value.toPlainString());
+    }
+
+    @Override
+    public PayloadSink value(Integer value) {
+        return value == null ? nullValue() : value(value.intValue());
+    }
+
+    @Override
+    public PayloadSink value(int value) {
+        beforeValue();
+        append(Integer.toString(value));
+        return this;
+    }
+
+    @Override
+    public PayloadSink value(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return nullValue();
+        }
+
+        beforeValue();
+        append(value == Math.rint(value) && Math.abs(value) < 1e15 ?
+                Long.toString((long) value) : Double.toString(value));
+        return this;
+    }
+
+    @Override
+    public PayloadSink value(boolean value) {
+        beforeValue();
+        append(value ? "true" : "false");
+        return this;
+    }
+
+    private void beforeValue() {
+        if (afterKey) {
+            afterKey = false;
+        } else {
+            separate();
+        }
+    }
+
+    private void separate() {
+        if (first.isEmpty()) {
+            return;
+        }
+
+        if (first.peek()) {
+            first.pop();
+            first.push(false);
+        } else {
+            append(',');
+        }
+    }
+
+    private void string(String value) {
+        append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    append("\\\"");
+                    break;
+                case '\\':
+                    append("\\\\");
+                    break;
+                case '\n':
+                    append("\\n");
+                    break;
+                case '\r':
+                    append("\\r");
+                    break;
+                case '\t':
+                    append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                        append(String.format("\\u%04x", (int) c));
+                    } else {
+                        append(c);
+                    }
+            }
+        }
+        append('"');
+    }
+
+    private void append(char c) {
+        try {
+            out.append(c);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void append(CharSequence text) {
+        try {
+            out.append(text);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of non-negative values. Bucket i counts values below 2^i,
+ * last bucket counts the rest. Percentiles are reported as upper bound of the
+ * bucket they fall into.
+ */
+final class Log2Histogram {
+
+    private final AtomicLongArray buckets;
+
+    private final AtomicLong sum = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+    Log2Histogram(int buckets) {
+        this.buckets = new AtomicLongArray(buckets);
+    }
+
+    public void record(long value) {
+        value = Math.max(0, value);
+        int bucket = Math.min(buckets.length() - 1, 64 - Long.numberOfLeadingZeros(value));
+
+        buckets.incrementAndGet(bucket);
+        sum.addAndGet(value);
+
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+        sum.set(0);
+        max.set(0);
+    }
+
+    public long getSum() {
+        return sum.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public int getBucketCount() {
+        return buckets.length();
+    }
+
+    /**
+     * Returns copy of bucket counts. Buckets are read one by one while values may
+     * still be recorded, so the copy is not a point-in-time snapshot and does not
+     * match sum and max exactly. Count and percentiles derived from one copy agree
+     * with each other.
+     */
+    public long[] getCounts() {
+        long[] counts = new long[buckets.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return counts;
+    }
+
+    public static long count(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public static long percentile(long[] counts, double percentile) {
+        long total = count(counts);
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+
+        return upperBound(counts.length - 1);
+    }
+
+    public static long upperBound(int bucket) {
+        return 1L << bucket;
+    }
+
+    public static WritableArray toArray(long[] counts) {
+        WritableArray array = Arguments.createArray();
+        for (long count : counts) {
+            array.pushDouble(count);
+        }
+        return array;
+    }
+}
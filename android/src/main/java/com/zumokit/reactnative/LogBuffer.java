@@ -0,0 +1,188 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded ring buffer of SDK log records, flushed in batches once batch size is
+ * reached or flush interval has passed since the first buffered record. When the
+ * buffer is full oldest records are dropped and counted.
+ * <p>
+ * Log records are JSON objects, a batch is flushed as a single JSON array so that
+ * JS parses it once.
+ */
+final class LogBuffer {
+
+    interface Sink {
+        void flush(String entries, int count, long dropped);
+    }
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Sink sink;
+
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    private String[] entries;
+
+    private int head = 0;
+
+    private int size = 0;
+
+    private int batchSize;
+
+    private long flushIntervalMs;
+
+    private boolean flushScheduled = false;
+
+    private boolean immediateFlushScheduled = false;
+
+    private long received = 0;
+
+    private long dropped = 0;
+
+    private long droppedSinceFlush = 0;
+
+    private long batches = 0;
+
+    LogBuffer(String name, int capacity, int batchSize, long flushIntervalMs, Sink sink) {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.sink = sink;
+        this.entries = new String[Math.max(1, capacity)];
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(0, flushIntervalMs);
+    }
+
+    /**
+     * Sets buffer capacity, batch size and max delay of a buffered record. Newest
+     * records are kept when capacity shrinks.
+     */
+    public synchronized void configure(int capacity, int batchSize, long flushIntervalMs) {
+        String[] resized = new String[Math.max(1, capacity)];
+        int kept = Math.min(size, resized.length);
+        for (int i = 0; i < kept; i++) {
+            resized[i] = entries[(head + size - kept + i) % entries.length];
+        }
+
+        dropped += size - kept;
+        droppedSinceFlush += size - kept;
+
+        entries = resized;
+        head = 0;
+        size = kept;
+
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(0, flushIntervalMs);
+    }
+
+    public synchronized void add(String entry) {
+        // SDK might still log while module is being destroyed
+        if (scheduler.isShutdown()) {
+            return;
+        }
+
+        received++;
+
+        if (size == entries.length) {
+            entries[head] = entry;
+            head = (head + 1) % entries.length;
+            dropped++;
+            droppedSinceFlush++;
+        } else {
+            entries[(head + size) % entries.length] = entry;
+            size++;
+        }
+
+        if (size >= batchSize) {
+            if (!immediateFlushScheduled) {
+                immediateFlushScheduled = true;
+                scheduler.execute(flushTask);
+            }
+        } else if (!flushScheduled) {
+            flushScheduled = true;
+            scheduler.schedule(flushTask, flushIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = null;
+        }
+
+        head = 0;
+        size = 0;
+        droppedSinceFlush = 0;
+    }
+
+    public synchronized void shutdown() {
+        clear();
+        scheduler.shutdown();
+    }
+
+    public synchronized WritableMap getStats() {
+        WritableMap stats = Arguments.createMap();
+
+        stats.putInt("buffered", size);
+        stats.putInt("capacity", entries.length);
+        stats.putInt("batchSize", batchSize);
+        stats.putDouble("flushIntervalMs", flushIntervalMs);
+        stats.putDouble("received", received);
+        stats.putDouble("dropped", dropped);
+        stats.putDouble("batches", batches);
+
+        return stats;
+    }
+
+    private void flush() {
+        StringBuilder batch = new StringBuilder();
+        int count;
+        long droppedBefore;
+
+        synchronized (this) {
+            flushScheduled = false;
+            immediateFlushScheduled = false;
+
+            if (size == 0) {
+                return;
+            }
+
+            count = size;
+            droppedBefore = droppedSinceFlush;
+
+            batch.append('[');
+            for (int i = 0; i < size; i++) {
+                int index = (head + i) % entries.length;
+                if (i > 0) {
+                    batch.append(',');
+                }
+                batch.append(entries[index]);
+                entries[index] = null;
+            }
+            batch.append(']');
+
+            head = 0;
+            size = 0;
+            droppedSinceFlush = 0;
+            batches++;
+        }
+
+        sink.flush(batch.toString(), count, droppedBefore);
+    }
+}
@@ -0,0 +1,147 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of mapped SDK models, keyed by model id. An entry is only
+ * reused while the model's content fingerprint stays the same.
+ * <p>
+ * Writable maps are consumed when put into another map or array, so they can not
+ * be cached themselves. Models are mapped through a {@link RecordingPayloadSink}
+ * instead and the immutable recording is cached, a hit replays it into a new
+ * map without reading the model again. Time spent on hits and misses is
+ * reported, so that the benefit of the cache can be checked.
+ * <p>
+ * Fingerprint is taken on every lookup and has to cost a small fraction of
+ * mapping the model, e.g. a revision from {@link ModelFingerprint}.
+ */
+abstract class MappedModelCache<T> {
+
+    private static final class Entry {
+        final long fingerprint;
+        final RecordingPayloadSink.Recording recording;
+
+        Entry(long fingerprint, RecordingPayloadSink.Recording recording) {
+            this.fingerprint = fingerprint;
+            this.recording = recording;
+        }
+    }
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    private int maxSize;
+
+    private long hits = 0;
+
+    private long misses = 0;
+
+    private long evictions = 0;
+
+    private long hitNanos = 0;
+
+    private long missNanos = 0;
+
+    MappedModelCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > MappedModelCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    abstract String idOf(T model);
+
+    abstract long fingerprintOf(T model);
+
+    abstract void write(PayloadSink sink, T model);
+
+    abstract WritablePayloadSink createSink();
+
+    public WritableMap get(T model) {
+        return get(model, fingerprintOf(model));
+    }
+
+    public WritableMap get(T model, long fingerprint) {
+        long start = System.nanoTime();
+        String id = idOf(model);
+
+        Entry entry;
+        boolean caching;
+        synchronized (this) {
+            entry = entries.get(id);
+            caching = maxSize > 0;
+        }
+
+        WritablePayloadSink sink = createSink();
+
+        // Recordings are immutable, they are replayed and recorded outside of the lock
+        if (entry != null && entry.fingerprint == fingerprint) {
+            entry.recording.replay(sink);
+
+            synchronized (this) {
+                hits++;
+                hitNanos += System.nanoTime() - start;
+            }
+
+            return sink.getMap();
+        }
+
+        if (caching) {
+            RecordingPayloadSink recorder = new RecordingPayloadSink(sink);
+            write(recorder, model);
+            entry = new Entry(fingerprint, recorder.getRecording());
+        } else {
+            write(sink, model);
+            entry = null;
+        }
+
+        synchronized (this) {
+            if (entry != null && maxSize > 0) {
+                entries.put(id, entry);
+            }
+
+            misses++;
+            missNanos += System.nanoTime() - start;
+        }
+
+        return sink.getMap();
+    }
+
+    public synchronized void setMaxSize(int maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+
+        while (entries.size() > this.maxSize) {
+            String eldest = entries.keySet().iterator().next();
+            entries.remove(eldest);
+            evictions++;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized WritableMap getStats() {
+        WritableMap stats = Arguments.createMap();
+
+        stats.putInt("size", entries.size());
+        stats.putInt("maxSize", maxSize);
+        stats.putDouble("hits", hits);
+        stats.putDouble("misses", misses);
+        stats.putDouble("evictions", evictions);
+        stats.putDouble("meanHitUs", hits == 0 ? 0 : hitNanos / 1000.0 / hits);
+        stats.putDouble("meanMissUs", misses == 0 ? 0 : missNanos / 1000.0 / misses);
+
+        return stats;
+    }
+}
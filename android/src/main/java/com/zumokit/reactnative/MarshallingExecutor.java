@@ -0,0 +1,115 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of named worker threads that map SDK results and resolve promises,
+ * so that SDK callback threads return right away.
+ * <p>
+ * Tasks are never run on the submitting thread. When the queue is full or the pool
+ * is shut down {@link #execute} throws {@link RejectedExecutionException}, so that
+ * the caller can settle its promise with an error. Rejections are counted so that
+ * pool size and queue capacity can be tuned.
+ */
+final class MarshallingExecutor implements Executor {
+
+    interface Mapping {
+        Object map();
+    }
+
+    private static final int THREADS = 2;
+
+    private static final int QUEUE_CAPACITY = 512;
+
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    static final String SATURATED = "Marshalling queue saturated.";
+
+    static final String SHUT_DOWN = "Marshalling executor shut down.";
+
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong submitted = new AtomicLong();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    MarshallingExecutor() {
+        ThreadFactory threadFactory = new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "RNZumoKit-Marshal-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+
+        RejectedExecutionHandler rejectionHandler = new RejectedExecutionHandler() {
+            @Override
+            public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+                rejected.incrementAndGet();
+                throw new RejectedExecutionException(
+                        executor.isShutdown() ? SHUT_DOWN : SATURATED
+                );
+            }
+        };
+
+        this.executor = new ThreadPoolExecutor(
+                THREADS,
+                THREADS,
+                KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(QUEUE_CAPACITY),
+                threadFactory,
+                rejectionHandler
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @throws RejectedExecutionException if queue is full or executor is shut down
+     */
+    @Override
+    public void execute(Runnable task) {
+        submitted.incrementAndGet();
+        executor.execute(task);
+
+        int depth = executor.getQueue().size();
+        int max = maxQueueDepth.get();
+        while (depth > max && !maxQueueDepth.compareAndSet(max, depth)) {
+            max = maxQueueDepth.get();
+        }
+    }
+
+    public WritableMap getStats() {
+        WritableMap stats = Arguments.createMap();
+
+        stats.putInt("queueDepth", executor.getQueue().size());
+        stats.putInt("maxQueueDepth", maxQueueDepth.get());
+        stats.putInt("queueCapacity", QUEUE_CAPACITY);
+        stats.putInt("activeThreads", executor.getActiveCount());
+        stats.putDouble("submitted", submitted.get());
+        stats.putDouble("completed", executor.getCompletedTaskCount());
+        stats.putDouble("rejected", rejected.get());
+
+        return stats;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
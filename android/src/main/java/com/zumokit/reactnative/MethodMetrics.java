@@ -0,0 +1,247 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per method call and error counters along with latency histograms, split into
+ * time spent waiting for the SDK and time spent mapping its result.
+ * <p>
+ * Calls are tracked by their promise from the moment the method is invoked until
+ * the SDK calls back. Methods served synchronously record their whole duration,
+ * mapping included, as SDK time. Recording is lock-free, snapshots are not atomic
+ * across counters but every counter on its own is exact.
+ */
+final class MethodMetrics {
+
+    interface Sink {
+        void emit(WritableMap metrics);
+    }
+
+    static final class Call {
+        private final long id;
+        private final Stats stats;
+        private final long startedAt;
+
+        private Call(long id, Stats stats, long startedAt) {
+            this.id = id;
+            this.stats = stats;
+            this.startedAt = startedAt;
+        }
+
+        long getId() {
+            return id;
+        }
+
+        String getMethod() {
+            return stats.method;
+        }
+    }
+
+    private static final class Stats {
+        final String method;
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final Log2Histogram sdk = new Log2Histogram(BUCKETS);
+        final Log2Histogram marshal = new Log2Histogram(BUCKETS);
+
+        Stats(String method) {
+            this.method = method;
+        }
+    }
+
+    // Latencies are recorded in microseconds, last bucket starts at ~16s
+    private static final int BUCKETS = 26;
+
+    private final ConcurrentHashMap<String, Stats> methods = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Promise, Call> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextCallId = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Sink sink;
+
+    private ScheduledFuture<?> emission;
+
+    MethodMetrics(String name, Sink sink) {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.sink = sink;
+    }
+
+    /**
+     * Starts tracking a call of given method, resolved by given promise.
+     */
+    public Call start(String method, Promise promise) {
+        Stats stats = methods.get(method);
+        if (stats == null) {
+            Stats created = new Stats(method);
+            stats = methods.putIfAbsent(method, created);
+            if (stats == null) {
+                stats = created;
+            }
+        }
+
+        stats.calls.incrementAndGet();
+
+        Call call = new Call(nextCallId.incrementAndGet(), stats, System.nanoTime());
+        inFlight.put(promise, call);
+        return call;
+    }
+
+    /**
+     * Records SDK time of a call whose result is ready.
+     *
+     * @return tracked call, or null if promise is not tracked
+     */
+    public Call succeeded(Promise promise) {
+        return succeeded(promise, 0);
+    }
+
+    /**
+     * Records SDK time of a call whose result was already mapped for given time,
+     * which is not counted as SDK time.
+     *
+     * @return tracked call, or null if promise is not tracked
+     */
+    public Call succeeded(Promise promise, long mappedNanos) {
+        Call call = inFlight.remove(promise);
+        if (call != null) {
+            call.stats.sdk.record(toMicros(System.nanoTime() - call.startedAt - mappedNanos));
+        }
+        return call;
+    }
+
+    /**
+     * Records SDK time and an error of a rejected call. Untracked promises are ignored.
+     *
+     * @return tracked call, or null if promise is not tracked
+     */
+    public Call failed(Promise promise) {
+        Call call = succeeded(promise);
+        failed(call);
+        return call;
+    }
+
+    /**
+     * Records an error of a call whose SDK time was already recorded.
+     */
+    public void failed(Call call) {
+        if (call != null) {
+            call.stats.errors.incrementAndGet();
+        }
+    }
+
+    public void marshalled(Call call, long nanos) {
+        if (call != null) {
+            call.stats.marshal.record(toMicros(nanos));
+        }
+    }
+
+    public void reset() {
+        for (Stats stats : methods.values()) {
+            stats.calls.set(0);
+            stats.errors.set(0);
+            stats.sdk.reset();
+            stats.marshal.reset();
+        }
+    }
+
+    /**
+     * Emits a snapshot to the sink every given number of milliseconds, 0 stops emission.
+     */
+    public synchronized void setInterval(long intervalMs) {
+        if (emission != null) {
+            emission.cancel(false);
+            emission = null;
+        }
+
+        if (intervalMs <= 0 || scheduler.isShutdown()) {
+            return;
+        }
+
+        emission = scheduler.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                sink.emit(getSnapshot());
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void shutdown() {
+        scheduler.shutdownNow();
+        emission = null;
+        inFlight.clear();
+    }
+
+    public WritableMap getSnapshot() {
+        WritableMap methodsMap = Arguments.createMap();
+        for (Map.Entry<String, Stats> entry : methods.entrySet()) {
+            Stats stats = entry.getValue();
+
+            WritableMap method = Arguments.createMap();
+            method.putDouble("calls", stats.calls.get());
+            method.putDouble("errors", stats.errors.get());
+            method.putMap("sdk", snapshot(stats.sdk));
+            method.putMap("marshal", snapshot(stats.marshal));
+
+            methodsMap.putMap(entry.getKey(), method);
+        }
+
+        WritableArray bounds = Arguments.createArray();
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            bounds.pushDouble(toMs(Log2Histogram.upperBound(i)));
+        }
+
+        WritableMap snapshot = Arguments.createMap();
+        snapshot.putDouble("timestamp", System.currentTimeMillis());
+        snapshot.putInt("inFlight", inFlight.size());
+        snapshot.putArray("bucketUpperBoundsMs", bounds);
+        snapshot.putMap("methods", methodsMap);
+
+        return snapshot;
+    }
+
+    private static WritableMap snapshot(Log2Histogram histogram) {
+        long[] counts = histogram.getCounts();
+
+        WritableMap map = Arguments.createMap();
+
+        map.putDouble("count", Log2Histogram.count(counts));
+        map.putDouble("totalMs", toMs(histogram.getSum()));
+        map.putDouble("maxMs", toMs(histogram.getMax()));
+        map.putDouble("p50Ms", toMs(Log2Histogram.percentile(counts, 0.5)));
+        map.putDouble("p90Ms", toMs(Log2Histogram.percentile(counts, 0.9)));
+        map.putDouble("p99Ms", toMs(Log2Histogram.percentile(counts, 0.99)));
+        map.putArray("buckets", Log2Histogram.toArray(counts));
+
+        return map;
+    }
+
+    private static long toMicros(long nanos) {
+        return nanos / 1000;
+    }
+
+    private static double toMs(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,218 @@
+package com.zumokit.reactnative;
+
+import money.zumo.zumokit.Account;
+import money.zumo.zumokit.Card;
+import money.zumo.zumokit.CustodyOrder;
+import money.zumo.zumokit.Exchange;
+import money.zumo.zumokit.ExchangeRate;
+import money.zumo.zumokit.Transaction;
+import money.zumo.zumokit.TransactionFeeRate;
+
+import java.math.BigDecimal;
+
+/**
+ * Content fingerprints of SDK models, used to tell whether a model has to be
+ * re-mapped and re-sent to JS.
+ * <p>
+ * Models are written by {@link ModelMapper} straight into the hash, so every
+ * field that ends up in the payload is covered and a model changes its
+ * fingerprint exactly when its payload changes. Decimals are hashed as the plain
+ * strings that are sent, so 1.0 and 1.00 are different.
+ * <p>
+ * Writing a complete account or transaction costs about as much as mapping it.
+ * Revisions only cover the fields that change after a model was created, e.g.
+ * balances or transaction status, and are cheap enough to be taken for every
+ * model on every account data change.
+ */
+final class ModelFingerprint implements PayloadSink {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long PRIME = 0x100000001b3L;
+
+    // Token tags, so that e.g. a null and an empty string or a key and a string value differ
+    private static final int BEGIN_MAP = 1;
+    private static final int END_MAP = 2;
+    private static final int BEGIN_ARRAY = 3;
+    private static final int END_ARRAY = 4;
+    private static final int KEY = 5;
+    private static final int NULL = 6;
+    private static final int STRING = 7;
+    private static final int DECIMAL = 8;
+    private static final int NUMBER = 9;
+    private static final int TRUE = 10;
+    private static final int FALSE = 11;
+
+    private long hash = OFFSET_BASIS;
+
+    private ModelFingerprint() {
+    }
+
+    public static long of(Account account) {
+        ModelFingerprint fingerprint = new ModelFingerprint();
+        ModelMapper.writeAccount(fingerprint, account);
+        return fingerprint.hash;
+    }
+
+    public static long of(Transaction transaction) {
+        ModelFingerprint fingerprint = new ModelFingerprint();
+        ModelMapper.writeTransaction(fingerprint, transaction);
+        return fingerprint.hash;
+    }
+
+    /**
+     * Fingerprint of account fields that change after the account was created.
+     */
+    public static long revisionOf(Account account) {
+        ModelFingerprint fingerprint = new ModelFingerprint();
+        fingerprint.decimal(account.getBalance())
+                .decimal(account.getLedgerBalance())
+                .decimal(account.getAvailableBalance())
+                .decimal(account.getOverdraftLimit())
+                .value(account.getHasNominatedAccount())
+                .value(account.getFiatProperties() != null);
+
+        if (account.getCryptoProperties() == null) {
+            fingerprint.nullValue();
+        } else {
+            fingerprint.value(account.getCryptoProperties().getNonce());
+        }
+
+        fingerprint.bits(account.getCards().size());
+        for (Card card : account.getCards()) {
+            fingerprint.value(card.getId())
+                    .value(card.getCardStatus())
+                    .value(card.getLimit());
+        }
+
+        return fingerprint.hash;
+    }
+
+    /**
+     * Fingerprint of transaction fields that change after the transaction was created.
+     */
+    public static long revisionOf(Transaction transaction) {
+        ModelFingerprint fingerprint = new ModelFingerprint();
+        fingerprint.decimal(transaction.getAmount())
+                .decimal(transaction.getFee())
+                .value(transaction.getStatus())
+                .value(transaction.getConfirmedAt());
+
+        CustodyOrder custodyOrder = transaction.getCustodyOrder();
+        if (custodyOrder == null) {
+            fingerprint.nullValue();
+        } else {
+            fingerprint.value(custodyOrder.getStatus()).value(custodyOrder.getUpdatedAt());
+        }
+
+        Exchange exchange = transaction.getExchange();
+        if (exchange == null) {
+            fingerprint.nullValue();
+        } else {
+            fingerprint.value(exchange.getStatus()).value(exchange.getUpdatedAt());
+        }
+
+        return fingerprint.hash;
+    }
+
+    public static long of(ExchangeRate rate) {
+        ModelFingerprint fingerprint = new ModelFingerprint();
+        ModelMapper.writeExchangeRate(fingerprint, rate);
+        return fingerprint.hash;
+    }
+
+    public static long of(TransactionFeeRate rate) {
+        ModelFingerprint fingerprint = new ModelFingerprint();
+        ModelMapper.writeTransactionFeeRate(fingerprint, rate);
+        return fingerprint.hash;
+    }
+
+    @Override
+    public PayloadSink beginMap() {
+        return tag(BEGIN_MAP);
+    }
+
+    @Override
+    public PayloadSink endMap() {
+        return tag(END_MAP);
+    }
+
+    @Override
+    public PayloadSink beginArray() {
+        return tag(BEGIN_ARRAY);
+    }
+
+    @Override
+    public PayloadSink endArray() {
+        return tag(END_ARRAY);
+    }
+
+    @Override
+    public PayloadSink key(String name) {
+        return tag(KEY).string(name);
+    }
+
+    @Override
+    public PayloadSink nullValue() {
+        return tag(NULL);
+    }
+
+    @Override
+    public PayloadSink value(String value) {
+        return value == null ? nullValue() : tag(STRING).string(value);
+    }
+
+    @Override
+    public PayloadSink value(BigDecimal value) {
+        return value == null ? nullValue() : tag(DECIMAL).string(value.toPlainString());
+    }
+
+    @Override
+    public PayloadSink value(Integer value) {
+        return value == null ? nullValue() : value(value.intValue());
+    }
+
+    @Override
+    public PayloadSink value(int value) {
+        return value((double) value);
+    }
+
+    // Integers and doubles are both numbers in JS
+    @Override
+    public PayloadSink value(double value) {
+        return tag(NUMBER).bits(Double.doubleToLongBits(value));
+    }
+
+    @Override
+    public PayloadSink value(boolean value) {
+        return tag(value ? TRUE : FALSE);
+    }
+
+    // Hashes value and scale without formatting the decimal
+    private ModelFingerprint decimal(BigDecimal value) {
+        return value == null ? tag(NULL) : tag(DECIMAL).bits(value.hashCode());
+    }
+
+    private ModelFingerprint tag(int tag) {
+        hash ^= tag;
+        hash *= PRIME;
+        return this;
+    }
+
+    private ModelFingerprint bits(long value) {
+        for (int i = 0; i < 8; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= PRIME;
+        }
+        return this;
+    }
+
+    private ModelFingerprint string(String value) {
+        bits(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= PRIME;
+        }
+        return this;
+    }
+}
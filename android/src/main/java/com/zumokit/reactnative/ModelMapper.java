@@ -0,0 +1,585 @@
+package com.zumokit.reactnative;
+
+import money.zumo.zumokit.Account;
+import money.zumo.zumokit.AccountDataSnapshot;
+import money.zumo.zumokit.AccountFiatProperties;
+import money.zumo.zumokit.AuthenticationConfig;
+import money.zumo.zumokit.Card;
+import money.zumo.zumokit.ComposedExchange;
+import money.zumo.zumokit.ComposedTransaction;
+import money.zumo.zumokit.CustodyOrder;
+import money.zumo.zumokit.Exchange;
+import money.zumo.zumokit.ExchangeRate;
+import money.zumo.zumokit.InternalTransaction;
+import money.zumo.zumokit.KbaQuestion;
+import money.zumo.zumokit.Quote;
+import money.zumo.zumokit.Transaction;
+import money.zumo.zumokit.TransactionAmount;
+import money.zumo.zumokit.TransactionFeeRate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Writes SDK models to a payload sink, in the shape expected by the JS models.
+ * Every method writes exactly one value, so in a map it has to be preceded by a key.
+ */
+public final class ModelMapper {
+
+    private ModelMapper() {
+    }
+
+    public static void writeAccountFiatProperties(PayloadSink sink, AccountFiatProperties accountFiatProperties) {
+        sink.beginMap()
+                .key("providerId").value(accountFiatProperties.getProviderId())
+                .key("accountNumber").value(accountFiatProperties.getAccountNumber())
+                .key("sortCode").value(accountFiatProperties.getSortCode())
+                .key("bic").value(accountFiatProperties.getBic())
+                .key("iban").value(accountFiatProperties.getIban())
+                .key("customerName").value(accountFiatProperties.getCustomerName())
+                .endMap();
+    }
+
+    public static void writeCard(PayloadSink sink, Card card) {
+        sink.beginMap()
+                .key("id").value(card.getId())
+                .key("accountId").value(card.getAccountId())
+                .key("cardType").value(card.getCardType())
+                .key("cardStatus").value(card.getCardStatus())
+                .key("limit").value(card.getLimit())
+                .key("maskedPan").value(card.getMaskedPan())
+                .key("expiry").value(card.getExpiry())
+                .key("sca").value(card.getSca())
+                .endMap();
+    }
+
+    public static void writeAccount(PayloadSink sink, Account account) {
+        sink.beginMap()
+                .key("id").value(account.getId())
+                .key("currencyType").value(account.getCurrencyType())
+                .key("currencyCode").value(account.getCurrencyCode())
+                .key("network").value(account.getNetwork())
+                .key("type").value(account.getType())
+                .key("custodyType").value(account.getCustodyType())
+                .key("balance").value(account.getBalance())
+                .key("ledgerBalance").value(account.getLedgerBalance())
+                .key("availableBalance").value(account.getAvailableBalance())
+                .key("overdraftLimit").value(account.getOverdraftLimit())
+                .key("hasNominatedAccount").value(account.getHasNominatedAccount());
+
+        sink.key("cryptoProperties");
+        if (account.getCryptoProperties() == null) {
+            sink.nullValue();
+        } else {
+            sink.beginMap()
+                    .key("path").value(account.getCryptoProperties().getPath())
+                    .key("address").value(account.getCryptoProperties().getAddress())
+                    .key("directDepositAddress")
+                    .value(account.getCryptoProperties().getDirectDepositAddress())
+                    .key("nonce").value(account.getCryptoProperties().getNonce())
+                    .endMap();
+        }
+
+        sink.key("fiatProperties");
+        if (account.getFiatProperties() == null) {
+            sink.nullValue();
+        } else {
+            writeAccountFiatProperties(sink, account.getFiatProperties());
+        }
+
+        sink.key("cards").beginArray();
+        for (Card card : account.getCards()) {
+            writeCard(sink, card);
+        }
+        sink.endArray();
+
+        sink.endMap();
+    }
+
+    public static void writeAccounts(PayloadSink sink, ArrayList<Account> accounts) {
+        sink.beginArray();
+        for (Account account : accounts) {
+            writeAccount(sink, account);
+        }
+        sink.endArray();
+    }
+
+    public static void writeComposedTransaction(PayloadSink sink, ComposedTransaction transaction) {
+        sink.beginMap()
+                .key("type").value(transaction.getType())
+                .key("custodyOrderId").value(transaction.getCustodyOrderId())
+                .key("signedTransaction").value(transaction.getSignedTransaction());
+
+        sink.key("account");
+        writeAccount(sink, transaction.getAccount());
+
+        sink.key("fee").value(transaction.getFee())
+                .key("destination").value(transaction.getDestination())
+                .key("amount").value(transaction.getAmount())
+                .key("data").value(transaction.getData())
+                .key("nonce").value(transaction.getNonce())
+                .endMap();
+    }
+
+    public static void writeTransactionAmounts(PayloadSink sink, ArrayList<TransactionAmount> transactionAmounts) {
+        sink.beginArray();
+        for (TransactionAmount transactionAmount : transactionAmounts) {
+            writeTransactionAmount(sink, transactionAmount);
+        }
+        sink.endArray();
+    }
+
+    public static void writeInternalTransactions(PayloadSink sink, ArrayList<InternalTransaction> internalTransactions) {
+        sink.beginArray();
+        for (InternalTransaction internalTransaction : internalTransactions) {
+            writeInternalTransaction(sink, internalTransaction);
+        }
+        sink.endArray();
+    }
+
+    public static void writeTransactions(PayloadSink sink, ArrayList<Transaction> transactions) {
+        sink.beginArray();
+        for (Transaction transaction : transactions) {
+            writeTransaction(sink, transaction);
+        }
+        sink.endArray();
+    }
+
+    public static void writeTransactionAmount(PayloadSink sink, TransactionAmount transactionAmount) {
+        sink.beginMap()
+                .key("direction").value(transactionAmount.getDirection())
+                .key("userId").value(transactionAmount.getUserId())
+                .key("userIntegratorId").value(transactionAmount.getUserIntegratorId())
+                .key("accountId").value(transactionAmount.getAccountId())
+                .key("amount").value(transactionAmount.getAmount());
+
+        sink.key("fiatAmount");
+        writeFiatAmounts(sink, transactionAmount.getFiatAmount());
+
+        sink.key("address").value(transactionAmount.getAddress())
+                .key("isChange").value(transactionAmount.getIsChange())
+                .key("accountNumber").value(transactionAmount.getAccountNumber())
+                .key("sortCode").value(transactionAmount.getSortCode())
+                .key("bic").value(transactionAmount.getBic())
+                .key("iban").value(transactionAmount.getIban())
+                .endMap();
+    }
+
+    public static void writeInternalTransaction(PayloadSink sink, InternalTransaction internalTransaction) {
+        sink.beginMap()
+                .key("fromUserId").value(internalTransaction.getFromUserId())
+                .key("fromUserIntegratorId").value(internalTransaction.getFromUserIntegratorId())
+                .key("fromAccountId").value(internalTransaction.getFromAccountId())
+                .key("fromAddress").value(internalTransaction.getFromAddress())
+                .key("toUserId").value(internalTransaction.getToUserId())
+                .key("toUserIntegratorId").value(internalTransaction.getToUserIntegratorId())
+                .key("toAccountId").value(internalTransaction.getToAccountId())
+                .key("toAddress").value(internalTransaction.getToAddress())
+                .key("amount").value(internalTransaction.getAmount());
+
+        sink.key("fiatAmount");
+        writeFiatAmounts(sink, internalTransaction.getFiatAmount());
+
+        sink.endMap();
+    }
+
+    public static void writeTransaction(PayloadSink sink, Transaction transaction) {
+        sink.beginMap()
+                .key("id").value(transaction.getId())
+                .key("type").value(transaction.getType())
+                .key("currencyCode").value(transaction.getCurrencyCode())
+                .key("direction").value(transaction.getDirection())
+                .key("network").value(transaction.getNetwork())
+                .key("status").value(transaction.getStatus());
+
+        sink.key("senders");
+        writeTransactionAmounts(sink, transaction.getSenders());
+
+        sink.key("recipients");
+        writeTransactionAmounts(sink, transaction.getRecipients());
+
+        sink.key("internalTransactions");
+        writeInternalTransactions(sink, transaction.getInternalTransactions());
+
+        sink.key("amount").value(transaction.getAmount())
+                .key("fee").value(transaction.getFee())
+                .key("nonce").value(transaction.getNonce())
+                .key("metadata").value(transaction.getMetadata())
+                .key("submittedAt").value(transaction.getSubmittedAt())
+                .key("confirmedAt").value(transaction.getConfirmedAt())
+                .key("timestamp").value(transaction.getTimestamp());
+
+        sink.key("cryptoProperties");
+        if (transaction.getCryptoProperties() == null) {
+            sink.nullValue();
+        } else {
+            sink.beginMap()
+                    .key("txHash").value(transaction.getCryptoProperties().getTxHash())
+                    .key("nonce").value(transaction.getCryptoProperties().getNonce())
+                    .key("fromAddress").value(transaction.getCryptoProperties().getFromAddress())
+                    .key("toAddress").value(transaction.getCryptoProperties().getToAddress())
+                    .key("data").value(transaction.getCryptoProperties().getData())
+                    .key("gasPrice").value(transaction.getCryptoProperties().getGasPrice())
+                    .key("gasLimit").value(transaction.getCryptoProperties().getGasLimit());
+
+            sink.key("fiatAmount");
+            writeFiatAmounts(sink, transaction.getCryptoProperties().getFiatAmount());
+
+            sink.key("fiatFee");
+            writeFiatAmounts(sink, transaction.getCryptoProperties().getFiatFee());
+
+            sink.endMap();
+        }
+
+        sink.key("fiatProperties");
+        if (transaction.getFiatProperties() == null) {
+            sink.nullValue();
+        } else {
+            sink.beginMap();
+
+            sink.key("fromFiatAccount");
+            if (transaction.getFiatProperties().getFromFiatAccount() == null) {
+                sink.nullValue();
+            } else {
+                writeAccountFiatProperties(sink, transaction.getFiatProperties().getFromFiatAccount());
+            }
+
+            sink.key("toFiatAccount");
+            if (transaction.getFiatProperties().getToFiatAccount() == null) {
+                sink.nullValue();
+            } else {
+                writeAccountFiatProperties(sink, transaction.getFiatProperties().getToFiatAccount());
+            }
+
+            sink.endMap();
+        }
+
+        sink.key("cardProperties");
+        if (transaction.getCardProperties() == null) {
+            sink.nullValue();
+        } else {
+            sink.beginMap()
+                    .key("cardId").value(transaction.getCardProperties().getCardId())
+                    .key("transactionAmount")
+                    .value(transaction.getCardProperties().getTransactionAmount())
+                    .key("transactionCurrency")
+                    .value(transaction.getCardProperties().getTransactionCurrency())
+                    .key("billingAmount")
+                    .value(transaction.getCardProperties().getBillingAmount())
+                    .key("billingCurrency")
+                    .value(transaction.getCardProperties().getBillingCurrency())
+                    .key("exchangeRateValue")
+                    .value(transaction.getCardProperties().getExchangeRateValue())
+                    .key("mcc").value(transaction.getCardProperties().getMcc())
+                    .key("merchantName").value(transaction.getCardProperties().getMerchantName())
+                    .key("merchantCountry")
+                    .value(transaction.getCardProperties().getMerchantCountry())
+                    .endMap();
+        }
+
+        sink.key("custodyOrder");
+        if (transaction.getCustodyOrder() == null) {
+            sink.nullValue();
+        } else {
+            writeCustodyOrder(sink, transaction.getCustodyOrder());
+        }
+
+        sink.key("exchange");
+        if (transaction.getExchange() == null) {
+            sink.nullValue();
+        } else {
+            writeExchange(sink, transaction.getExchange());
+        }
+
+        sink.endMap();
+    }
+
+    public static void writeCustodyOrder(PayloadSink sink, CustodyOrder custodyOrder) {
+        sink.beginMap()
+                .key("id").value(custodyOrder.getId())
+                .key("type").value(custodyOrder.getType())
+                .key("status").value(custodyOrder.getStatus())
+                .key("amount").value(custodyOrder.getAmount())
+                .key("feeInAmount").value(custodyOrder.getFeeInAmount())
+                .key("estimatedFees").value(custodyOrder.getEstimatedFees())
+                .key("fees").value(custodyOrder.getFees());
+
+        sink.key("fromAddresses");
+        if (custodyOrder.getFromAddresses() == null) {
+            sink.nullValue();
+        } else {
+            sink.beginArray();
+            for (String address : custodyOrder.getFromAddresses()) {
+                sink.value(address);
+            }
+            sink.endArray();
+        }
+
+        sink.key("fromAccountId").value(custodyOrder.getFromAccountId())
+                .key("fromUserId").value(custodyOrder.getFromUserId())
+                .key("fromUserIntegratorId").value(custodyOrder.getFromUserIntegratorId())
+                .key("toAddress").value(custodyOrder.getToAddress())
+                .key("toAccountId").value(custodyOrder.getToAccountId())
+                .key("toUserId").value(custodyOrder.getToUserId())
+                .key("toUserIntegratorId").value(custodyOrder.getToUserIntegratorId())
+                .key("createdAt").value(custodyOrder.getCreatedAt())
+                .key("updatedAt").value(custodyOrder.getUpdatedAt())
+                .endMap();
+    }
+
+    public static void writeTransactionFeeRate(PayloadSink sink, TransactionFeeRate rate) {
+        sink.beginMap()
+                .key("slow").value(rate.getSlow())
+                .key("average").value(rate.getAverage())
+                .key("fast").value(rate.getFast())
+                .key("slowTime").value(rate.getSlowTime())
+                .key("averageTime").value(rate.getAverageTime())
+                .key("fastTime").value(rate.getFastTime())
+                .key("source").value(rate.getSource())
+                .endMap();
+    }
+
+    public static void writeTransactionFeeRates(PayloadSink sink, HashMap<String, TransactionFeeRate> feeRates) {
+        sink.beginMap();
+        for (HashMap.Entry<String, TransactionFeeRate> entry : feeRates.entrySet()) {
+            sink.key(entry.getKey());
+            writeTransactionFeeRate(sink, entry.getValue());
+        }
+        sink.endMap();
+    }
+
+    public static void writeComposedExchange(PayloadSink sink, ComposedExchange exchange) {
+        sink.beginMap();
+
+        sink.key("debitAccount");
+        writeAccount(sink, exchange.getDebitAccount());
+
+        sink.key("creditAccount");
+        writeAccount(sink, exchange.getCreditAccount());
+
+        sink.key("quote");
+        writeQuote(sink, exchange.getQuote());
+
+        sink.endMap();
+    }
+
+    public static void writeExchange(PayloadSink sink, Exchange exchange) {
+        sink.beginMap()
+                .key("id").value(exchange.getId())
+                .key("status").value(exchange.getStatus())
+                .key("pair").value(exchange.getPair())
+                .key("side").value(exchange.getSide())
+                .key("price").value(exchange.getPrice())
+                .key("amount").value(exchange.getAmount())
+                .key("debitAccountId").value(exchange.getDebitAccountId())
+                .key("creditAccountId").value(exchange.getCreditAccountId())
+                .key("debitTransactionId").value(exchange.getDebitTransactionId())
+                .key("creditTransactionId").value(exchange.getCreditTransactionId());
+
+        sink.key("quote");
+        writeQuote(sink, exchange.getQuote());
+
+        sink.key("rates").beginMap();
+        for (HashMap.Entry<String, HashMap<String, BigDecimal>> outerEntry :
+                exchange.getRates().entrySet()) {
+            sink.key(outerEntry.getKey()).beginMap();
+            for (HashMap.Entry<String, BigDecimal> innerEntry :
+                    outerEntry.getValue().entrySet()) {
+                sink.key(innerEntry.getKey()).value(innerEntry.getValue());
+            }
+            sink.endMap();
+        }
+        sink.endMap();
+
+        sink.key("nonce").value(exchange.getNonce())
+                .key("createdAt").value(exchange.getCreatedAt())
+                .key("updatedAt").value(exchange.getUpdatedAt())
+                .endMap();
+    }
+
+    public static void writeExchanges(PayloadSink sink, ArrayList<Exchange> exchanges) {
+        sink.beginArray();
+        for (Exchange exchange : exchanges) {
+            writeExchange(sink, exchange);
+        }
+        sink.endArray();
+    }
+
+    public static void writeExchangeRate(PayloadSink sink, ExchangeRate rate) {
+        sink.beginMap()
+                .key("id").value(rate.getId())
+                .key("fromCurrency").value(rate.getFromCurrency())
+                .key("toCurrency").value(rate.getToCurrency())
+                .key("value").value(rate.getValue())
+                .key("timestamp").value(rate.getTimestamp())
+                .endMap();
+    }
+
+    public static void writeQuote(PayloadSink sink, Quote quote) {
+        sink.beginMap()
+                .key("id").value(quote.getId())
+                .key("ttl").value(quote.getTtl())
+                .key("createdAt").value(quote.getCreatedAt())
+                .key("expiresAt").value(quote.getExpiresAt())
+                .key("debitCurrency").value(quote.getDebitCurrency())
+                .key("creditCurrency").value(quote.getCreditCurrency())
+                .key("price").value(quote.getPrice())
+                .key("feeRate").value(quote.getFeeRate())
+                .key("debitAmount").value(quote.getDebitAmount())
+                .key("feeAmount").value(quote.getFeeAmount())
+                .key("creditAmount").value(quote.getCreditAmount())
+                .endMap();
+    }
+
+    public static void writeExchangeRates(
+            PayloadSink sink,
+            HashMap<String, HashMap<String, ExchangeRate>> exchangeRates
+    ) {
+        sink.beginMap();
+        for (HashMap.Entry<String, HashMap<String, ExchangeRate>> outerEntry :
+                exchangeRates.entrySet()) {
+            sink.key(outerEntry.getKey()).beginMap();
+            for (HashMap.Entry<String, ExchangeRate> innerEntry :
+                    outerEntry.getValue().entrySet()) {
+                sink.key(innerEntry.getKey());
+                writeExchangeRate(sink, innerEntry.getValue());
+            }
+            sink.endMap();
+        }
+        sink.endMap();
+    }
+
+    public static void writeHistoricalExchangeRates(
+            PayloadSink sink,
+            HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> historicalExchangeRates
+    ) {
+        sink.beginMap();
+        for (HashMap.Entry<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> outerOuterEntry :
+                historicalExchangeRates.entrySet()) {
+            sink.key(outerOuterEntry.getKey()).beginMap();
+            for (HashMap.Entry<String, HashMap<String, ArrayList<ExchangeRate>>> outerEntry :
+                    outerOuterEntry.getValue().entrySet()) {
+                sink.key(outerEntry.getKey()).beginMap();
+                for (HashMap.Entry<String, ArrayList<ExchangeRate>> innerEntry :
+                        outerEntry.getValue().entrySet()) {
+                    sink.key(innerEntry.getKey()).beginArray();
+                    for (ExchangeRate rate : innerEntry.getValue()) {
+                        writeExchangeRate(sink, rate);
+                    }
+                    sink.endArray();
+                }
+                sink.endMap();
+            }
+            sink.endMap();
+        }
+        sink.endMap();
+    }
+
+    /**
+     * Writes historical exchange rates in columnar form. Each series has a single
+     * header followed by parallel arrays of timestamps and values, rate ids are
+     * omitted.
+     */
+    public static void writeHistoricalExchangeRateSeries(
+            PayloadSink sink,
+            HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> historicalExchangeRates
+    ) {
+        sink.beginMap();
+        for (HashMap.Entry<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> outerOuterEntry :
+                historicalExchangeRates.entrySet()) {
+            sink.key(outerOuterEntry.getKey()).beginMap();
+            for (HashMap.Entry<String, HashMap<String, ArrayList<ExchangeRate>>> outerEntry :
+                    outerOuterEntry.getValue().entrySet()) {
+                sink.key(outerEntry.getKey()).beginMap();
+                for (HashMap.Entry<String, ArrayList<ExchangeRate>> innerEntry :
+                        outerEntry.getValue().entrySet()) {
+                    sink.key(innerEntry.getKey());
+                    writeExchangeRateSeries(
+                            sink, outerEntry.getKey(), innerEntry.getKey(), innerEntry.getValue());
+                }
+                sink.endMap();
+            }
+            sink.endMap();
+        }
+        sink.endMap();
+    }
+
+    private static void writeExchangeRateSeries(
+            PayloadSink sink,
+            String fromCurrency,
+            String toCurrency,
+            ArrayList<ExchangeRate> rates
+    ) {
+        sink.beginMap()
+                .key("fromCurrency").value(fromCurrency)
+                .key("toCurrency").value(toCurrency)
+                .key("count").value(rates.size());
+
+        sink.key("timestamps").beginArray();
+        for (ExchangeRate rate : rates) {
+            sink.value(rate.getTimestamp());
+        }
+        sink.endArray();
+
+        sink.key("values").beginArray();
+        for (ExchangeRate rate : rates) {
+            sink.value(rate.getValue().doubleValue());
+        }
+        sink.endArray();
+
+        sink.endMap();
+    }
+
+    public static void writeAccountDataSnapshot(PayloadSink sink, AccountDataSnapshot snapshot) {
+        sink.beginMap();
+
+        sink.key("account");
+        writeAccount(sink, snapshot.getAccount());
+
+        sink.key("transactions");
+        writeTransactions(sink, snapshot.getTransactions());
+
+        sink.endMap();
+    }
+
+    public static void writeAccountData(PayloadSink sink, ArrayList<AccountDataSnapshot> snapshots) {
+        sink.beginArray();
+        for (AccountDataSnapshot snapshot : snapshots) {
+            writeAccountDataSnapshot(sink, snapshot);
+        }
+        sink.endArray();
+    }
+
+    public static void writeKbaQuestion(PayloadSink sink, KbaQuestion question) {
+        sink.beginMap()
+                .key("type").value(question.getType())
+                .key("question").value(question.getQuestion())
+                .endMap();
+    }
+
+    public static void writeAuthenticationConfig(PayloadSink sink, AuthenticationConfig config) {
+        sink.beginMap();
+
+        sink.key("knowledgeBase").beginArray();
+        for (KbaQuestion question : config.getKnowledgeBase()) {
+            writeKbaQuestion(sink, question);
+        }
+        sink.endArray();
+
+        sink.endMap();
+    }
+
+    private static void writeFiatAmounts(PayloadSink sink, HashMap<String, Double> fiatAmounts) {
+        if (fiatAmounts == null) {
+            sink.nullValue();
+            return;
+        }
+
+        sink.beginMap();
+        for (HashMap.Entry<String, Double> entry : fiatAmounts.entrySet()) {
+            sink.key(entry.getKey()).value((double) entry.getValue());
+        }
+        sink.endMap();
+    }
+}
@@ -0,0 +1,220 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands out ETH transaction nonces per account, so that several transactions can
+ * be composed and submitted before the first one is confirmed.
+ * <p>
+ * Account nonce seen in account data is the next nonce the network expects, all
+ * nonces below it are used up. Reserved nonces stay taken until account nonce
+ * moves past them or they are released, released nonces are handed out again
+ * before new ones so that no gaps are left behind.
+ * <p>
+ * Nonce of a composed transaction that is never submitted is released once its
+ * reservation expires. Submitted nonces never expire, since the transaction might
+ * have been broadcast, they are held until account nonce moves past them.
+ */
+final class NonceAllocator {
+
+    static final long DEFAULT_RESERVATION_TTL_MS = TimeUnit.MINUTES.toMillis(5);
+
+    // Submission failed with these, transaction was never broadcast
+    private static final HashSet<String> PRE_BROADCAST_ERROR_TYPES = new HashSet<>(Arrays.asList(
+            "invalid_argument_error",
+            "invalid_request_error",
+            "authentication_error",
+            "rate_limit_error"
+    ));
+
+    private static final class AccountNonces {
+        int next;
+        final TreeSet<Integer> reserved = new TreeSet<>();
+        final TreeSet<Integer> released = new TreeSet<>();
+        // Expiry of reserved nonces that are not submitted yet
+        final HashMap<Integer, Long> expiresAt = new HashMap<>();
+
+        AccountNonces(int next) {
+            this.next = next;
+        }
+    }
+
+    private final HashMap<String, AccountNonces> accounts = new HashMap<>();
+
+    private final long reservationTtlNanos;
+
+    NonceAllocator() {
+        this(DEFAULT_RESERVATION_TTL_MS);
+    }
+
+    NonceAllocator(long reservationTtlMs) {
+        this.reservationTtlNanos = TimeUnit.MILLISECONDS.toNanos(reservationTtlMs);
+    }
+
+    /**
+     * Returns true if submission failed with error of a type that is raised before
+     * transaction is broadcast, so that its nonce can safely be used again.
+     */
+    static boolean isBeforeBroadcast(String errorType) {
+        return errorType != null && PRE_BROADCAST_ERROR_TYPES.contains(errorType);
+    }
+
+    /**
+     * Reserves lowest free nonce of the account.
+     *
+     * @param accountNonce account nonce from account data, used if account is not tracked yet
+     */
+    public synchronized int reserve(String accountId, int accountNonce) {
+        AccountNonces nonces = accounts.get(accountId);
+        if (nonces == null) {
+            nonces = new AccountNonces(accountNonce);
+            accounts.put(accountId, nonces);
+        }
+
+        expire(nonces);
+
+        int nonce;
+        if (!nonces.released.isEmpty()) {
+            nonce = nonces.released.pollFirst();
+        } else if (!nonces.reserved.isEmpty()) {
+            nonce = Math.max(nonces.next, nonces.reserved.last() + 1);
+        } else {
+            nonce = nonces.next;
+        }
+
+        nonces.reserved.add(nonce);
+        nonces.expiresAt.put(nonce, System.nanoTime() + reservationTtlNanos);
+        return nonce;
+    }
+
+    /**
+     * Holds nonce of a transaction being submitted until account nonce moves past
+     * it. Nonce whose reservation has already expired is taken back, unless it is
+     * used up.
+     */
+    public synchronized void submitted(String accountId, int nonce) {
+        AccountNonces nonces = accounts.get(accountId);
+        if (nonces == null || nonce < nonces.next) {
+            return;
+        }
+
+        nonces.expiresAt.remove(nonce);
+        nonces.released.remove(nonce);
+        nonces.reserved.add(nonce);
+    }
+
+    /**
+     * Returns nonce of a transaction that was not submitted, so that it is handed
+     * out again. Nonces that are not reserved or already submitted are ignored.
+     */
+    public synchronized void release(String accountId, int nonce) {
+        AccountNonces nonces = accounts.get(accountId);
+        if (nonces == null || !nonces.expiresAt.containsKey(nonce)) {
+            return;
+        }
+
+        release(nonces, nonce);
+    }
+
+    /**
+     * Returns nonce of a submitted transaction that failed before it was broadcast.
+     */
+    public synchronized void submitFailed(String accountId, int nonce) {
+        AccountNonces nonces = accounts.get(accountId);
+        if (nonces == null || !nonces.reserved.contains(nonce)) {
+            return;
+        }
+
+        release(nonces, nonce);
+    }
+
+    private void release(AccountNonces nonces, int nonce) {
+        nonces.reserved.remove(nonce);
+        nonces.expiresAt.remove(nonce);
+
+        if (nonce >= nonces.next) {
+            nonces.released.add(nonce);
+        }
+
+        // Released nonces above all reserved ones are not gaps, they are simply free
+        while (!nonces.released.isEmpty() && (nonces.reserved.isEmpty()
+                || nonces.released.last() > nonces.reserved.last())) {
+            nonces.released.pollLast();
+        }
+    }
+
+    /**
+     * Moves account past nonces used up on the network.
+     */
+    public synchronized void reconcile(String accountId, int accountNonce) {
+        AccountNonces nonces = accounts.get(accountId);
+        if (nonces == null || accountNonce <= nonces.next) {
+            return;
+        }
+
+        nonces.next = accountNonce;
+        for (int nonce : nonces.reserved.headSet(accountNonce)) {
+            nonces.expiresAt.remove(nonce);
+        }
+        nonces.reserved.headSet(accountNonce).clear();
+        nonces.released.headSet(accountNonce).clear();
+    }
+
+    public synchronized void clear() {
+        accounts.clear();
+    }
+
+    public synchronized WritableMap getState() {
+        WritableMap state = Arguments.createMap();
+
+        for (HashMap.Entry<String, AccountNonces> entry : accounts.entrySet()) {
+            AccountNonces nonces = entry.getValue();
+            expire(nonces);
+
+            WritableArray reserved = Arguments.createArray();
+            for (int nonce : nonces.reserved) {
+                reserved.pushInt(nonce);
+            }
+
+            WritableArray released = Arguments.createArray();
+            for (int nonce : nonces.released) {
+                released.pushInt(nonce);
+            }
+
+            WritableMap account = Arguments.createMap();
+            account.putInt("next", nonces.next);
+            account.putArray("reserved", reserved);
+            account.putArray("released", released);
+            account.putInt("awaitingSubmission", nonces.expiresAt.size());
+
+            state.putMap(entry.getKey(), account);
+        }
+
+        return state;
+    }
+
+    // Releases reservations of composed transactions that were never submitted
+    private void expire(AccountNonces nonces) {
+        long now = System.nanoTime();
+
+        ArrayList<Integer> expiredNonces = new ArrayList<>();
+        for (HashMap.Entry<Integer, Long> entry : nonces.expiresAt.entrySet()) {
+            if (now - entry.getValue() >= 0) {
+                expiredNonces.add(entry.getKey());
+            }
+        }
+
+        for (int nonce : expiredNonces) {
+            release(nonces, nonce);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.zumokit.reactnative;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds plain Java maps and lists. Needs no React Native runtime, which makes it
+ * suitable for tests and benchmarks running on the JVM.
+ */
+public class ObjectTreePayloadSink
+        extends TreePayloadSink<Map<String, Object>, List<Object>> {
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getMap() {
+        return (Map<String, Object>) getRoot();
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Object> getList() {
+        return (List<Object>) getRoot();
+    }
+
+    @Override
+    protected Map<String, Object> createMap() {
+        return new LinkedHashMap<>();
+    }
+
+    @Override
+    protected List<Object> createArray() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    protected void putNull(Map<String, Object> map, String key) {
+        map.put(key, null);
+    }
+
+    @Override
+    protected void putString(Map<String, Object> map, String key, String value) {
+        map.put(key, value);
+    }
+
+    @Override
+    protected void putInt(Map<String, Object> map, String key, int value) {
+        map.put(key, value);
+    }
+
+    @Override
+    protected void putDouble(Map<String, Object> map, String key, double value) {
+        map.put(key, value);
+    }
+
+    @Override
+    protected void putBoolean(Map<String, Object> map, String key, boolean value) {
+        map.put(key, value);
+    }
+
+    @Override
+    protected void putMap(Map<String, Object> map, String key, Map<String, Object> value) {
+        map.put(key, value);
+    }
+
+    @Override
+    protected void putArray(Map<String, Object> map, String key, List<Object> value) {
+        map.put(key, value);
+    }
+
+    @Override
+    protected void pushNull(List<Object> array) {
+        array.add(null);
+    }
+
+    @Override
+    protected void pushString(List<Object> array, String value) {
+        array.add(value);
+    }
+
+    @Override
+    protected void pushInt(List<Object> array, int value) {
+        array.add(value);
+    }
+
+    @Override
+    protected void pushDouble(List<Object> array, double value) {
+        array.add(value);
+    }
+
+    @Override
+    protected void pushBoolean(List<Object> array, boolean value) {
+        array.add(value);
+    }
+
+    @Override
+    protected void pushMap(List<Object> array, Map<String, Object> value) {
+        array.add(value);
+    }
+
+    @Override
+    protected void pushArray(List<Object> array, List<Object> value) {
+        array.add(value);
+    }
+
+    @Override
+    protected boolean isMap(Object node) {
+        return node instanceof Map;
+    }
+}
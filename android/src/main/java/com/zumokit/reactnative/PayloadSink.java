@@ -0,0 +1,46 @@
+package com.zumokit.reactnative;
+
+import java.math.BigDecimal;
+
+/**
+ * Receives a payload as a stream of maps, arrays and values. Inside a map every
+ * value has to be preceded by its key.
+ * <p>
+ * Model mappers write to a sink, so that the same mapping code can produce React
+ * Native maps, JSON or plain Java collections.
+ */
+public interface PayloadSink {
+
+    PayloadSink beginMap();
+
+    PayloadSink endMap();
+
+    PayloadSink beginArray();
+
+    PayloadSink endArray();
+
+    PayloadSink key(String name);
+
+    PayloadSink nullValue();
+
+    /**
+     * Writes string value, or null if value is null.
+     */
+    PayloadSink value(String value);
+
+    /**
+     * Writes decimal value as plain string, or null if value is null.
+     */
+    PayloadSink value(BigDecimal value);
+
+    /**
+     * Writes integer value, or null if value is null.
+     */
+    PayloadSink value(Integer value);
+
+    PayloadSink value(int value);
+
+    PayloadSink value(double value);
+
+    PayloadSink value(boolean value);
+}
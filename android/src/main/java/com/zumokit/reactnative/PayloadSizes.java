@@ -0,0 +1,216 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size estimates of payloads crossing the bridge, aggregated per event and per
+ * method name. A payload is measured by walking it, so accounting is off until
+ * enabled.
+ * <p>
+ * Bytes approximate length of payload serialized as JSON, assuming single byte
+ * characters and a fixed width for numbers.
+ */
+final class PayloadSizes {
+
+    static final class Size {
+        long nodes = 0;
+        long strings = 0;
+        long bytes = 0;
+    }
+
+    private static final class Stats {
+        final AtomicLong count = new AtomicLong();
+        final Log2Histogram nodes = new Log2Histogram(BUCKETS);
+        final Log2Histogram strings = new Log2Histogram(BUCKETS);
+        final Log2Histogram bytes = new Log2Histogram(BUCKETS);
+    }
+
+    // Last bucket starts at 1 GiB, way past any payload bridge can carry
+    private static final int BUCKETS = 31;
+
+    private static final int NUMBER_BYTES = 8;
+
+    private final ConcurrentHashMap<String, Stats> events = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, Stats> methods = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled = false;
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Records size of an event payload. Has to be called before payload is emitted,
+     * emitted payloads are consumed.
+     */
+    public void recordEvent(String event, Object payload) {
+        if (enabled) {
+            record(events, event, payload);
+        }
+    }
+
+    /**
+     * Records size of a promise result. Has to be called before promise is resolved.
+     */
+    public void recordResult(String method, Object result) {
+        if (enabled) {
+            record(methods, method, result);
+        }
+    }
+
+    public void reset() {
+        events.clear();
+        methods.clear();
+    }
+
+    public WritableMap getStats() {
+        WritableMap stats = Arguments.createMap();
+
+        stats.putBoolean("enabled", enabled);
+        stats.putMap("events", getStats(events));
+        stats.putMap("methods", getStats(methods));
+
+        return stats;
+    }
+
+    static Size measure(Object payload) {
+        Size size = new Size();
+        measure(payload, size);
+        return size;
+    }
+
+    private static void measure(Object value, Size size) {
+        size.nodes++;
+
+        if (value == null || value instanceof Boolean) {
+            size.bytes += 5;
+        } else if (value instanceof Number) {
+            size.bytes += NUMBER_BYTES;
+        } else if (value instanceof String) {
+            size.strings++;
+            size.bytes += ((String) value).length() + 2;
+        } else if (value instanceof ReadableMap) {
+            measureMap((ReadableMap) value, size);
+        } else if (value instanceof ReadableArray) {
+            measureArray((ReadableArray) value, size);
+        }
+    }
+
+    private static void measureMap(ReadableMap map, Size size) {
+        size.bytes += 2;
+
+        ReadableMapKeySetIterator iterator = map.keySetIterator();
+        while (iterator.hasNextKey()) {
+            String key = iterator.nextKey();
+
+            // Quoted key, colon and comma
+            size.bytes += key.length() + 4;
+
+            switch (map.getType(key)) {
+                case Null:
+                    measure(null, size);
+                    break;
+                case Boolean:
+                    measure(map.getBoolean(key), size);
+                    break;
+                case Number:
+                    measure(map.getDouble(key), size);
+                    break;
+                case String:
+                    measure(map.getString(key), size);
+                    break;
+                case Map:
+                    measure(map.getMap(key), size);
+                    break;
+                case Array:
+                    measure(map.getArray(key), size);
+                    break;
+            }
+        }
+    }
+
+    private static void measureArray(ReadableArray array, Size size) {
+        size.bytes += 2 + array.size();
+
+        for (int i = 0; i < array.size(); i++) {
+            switch (array.getType(i)) {
+                case Null:
+                    measure(null, size);
+                    break;
+                case Boolean:
+                    measure(array.getBoolean(i), size);
+                    break;
+                case Number:
+                    measure(array.getDouble(i), size);
+                    break;
+                case String:
+                    measure(array.getString(i), size);
+                    break;
+                case Map:
+                    measure(array.getMap(i), size);
+                    break;
+                case Array:
+                    measure(array.getArray(i), size);
+                    break;
+            }
+        }
+    }
+
+    private static void record(ConcurrentHashMap<String, Stats> entries, String name, Object payload) {
+        Stats stats = entries.get(name);
+        if (stats == null) {
+            Stats created = new Stats();
+            stats = entries.putIfAbsent(name, created);
+            if (stats == null) {
+                stats = created;
+            }
+        }
+
+        Size size = measure(payload);
+
+        stats.count.incrementAndGet();
+        stats.nodes.record(size.nodes);
+        stats.strings.record(size.strings);
+        stats.bytes.record(size.bytes);
+    }
+
+    private static WritableMap getStats(ConcurrentHashMap<String, Stats> entries) {
+        WritableMap map = Arguments.createMap();
+
+        for (Map.Entry<String, Stats> entry : entries.entrySet()) {
+            Stats stats = entry.getValue();
+
+            WritableMap entryMap = Arguments.createMap();
+            entryMap.putDouble("count", stats.count.get());
+            entryMap.putMap("nodes", snapshot(stats.nodes));
+            entryMap.putMap("strings", snapshot(stats.strings));
+            entryMap.putMap("bytes", snapshot(stats.bytes));
+
+            map.putMap(entry.getKey(), entryMap);
+        }
+
+        return map;
+    }
+
+    private static WritableMap snapshot(Log2Histogram histogram) {
+        long[] counts = histogram.getCounts();
+
+        WritableMap map = Arguments.createMap();
+
+        map.putDouble("total", histogram.getSum());
+        map.putDouble("max", histogram.getMax());
+        map.putDouble("p50", Log2Histogram.percentile(counts, 0.5));
+        map.putDouble("p99", Log2Histogram.percentile(counts, 0.99));
+
+        return map;
+    }
+}
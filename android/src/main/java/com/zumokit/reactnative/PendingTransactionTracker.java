@@ -0,0 +1,182 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import money.zumo.zumokit.AccountDataSnapshot;
+import money.zumo.zumokit.Transaction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches transactions submitted through the module and reports their status
+ * changes as account data snapshots arrive.
+ * <p>
+ * Watch list is bounded, oldest transaction is dropped once it is full.
+ * Transactions stop being watched when they reach a final status or when time
+ * to live expires. Exchange transactions are watched before their status is
+ * known, their first status is reported with null as previous status.
+ */
+final class PendingTransactionTracker {
+
+    static final int DEFAULT_MAX_WATCHED = 256;
+
+    static final long DEFAULT_TTL_MS = 24 * 60 * 60 * 1000;
+
+    // ZumoKit SDK exposes transaction status as a plain string from
+    // Transaction.getStatus() without constants to derive these from. Values
+    // are the final ones of ZumoKit TransactionStatus ('PENDING', 'CONFIRMED',
+    // 'FAILED', 'RESUBMITTED', 'CANCELLED', 'PAUSED', 'REJECTED'), all others
+    // can still change and are kept watched.
+    private static final HashSet<String> FINAL_STATUSES = new HashSet<>(
+            Arrays.asList("CONFIRMED", "FAILED", "CANCELLED", "REJECTED")
+    );
+
+    private static final class Watch {
+        String status;
+        final long watchedAt;
+
+        Watch(String status, long watchedAt) {
+            this.status = status;
+            this.watchedAt = watchedAt;
+        }
+    }
+
+    private final LinkedHashMap<String, Watch> watched = new LinkedHashMap<>();
+
+    private int maxWatched = DEFAULT_MAX_WATCHED;
+
+    private long ttlMs = DEFAULT_TTL_MS;
+
+    private long changes = 0;
+
+    private long dropped = 0;
+
+    private long expired = 0;
+
+    /**
+     * Starts watching transaction.
+     *
+     * @param status current status of transaction or null if it is not known yet
+     */
+    public synchronized void watch(String transactionId, String status) {
+        if (transactionId == null || FINAL_STATUSES.contains(status) || maxWatched <= 0) {
+            return;
+        }
+
+        watched.remove(transactionId);
+        while (watched.size() >= maxWatched) {
+            Iterator<String> iterator = watched.keySet().iterator();
+            iterator.next();
+            iterator.remove();
+            dropped++;
+        }
+
+        watched.put(transactionId, new Watch(status, System.nanoTime()));
+    }
+
+    /**
+     * Returns status changes of watched transactions.
+     */
+    public synchronized ArrayList<WritableMap> update(ArrayList<AccountDataSnapshot> snapshots) {
+        ArrayList<WritableMap> events = new ArrayList<>();
+        if (watched.isEmpty()) {
+            return events;
+        }
+
+        expire();
+
+        for (AccountDataSnapshot snapshot : snapshots) {
+            for (Transaction transaction : snapshot.getTransactions()) {
+                Watch watch = watched.get(transaction.getId());
+                if (watch == null || equal(watch.status, transaction.getStatus())) {
+                    continue;
+                }
+
+                events.add(eventOf(transaction, watch.status));
+                changes++;
+
+                if (FINAL_STATUSES.contains(transaction.getStatus())) {
+                    watched.remove(transaction.getId());
+                } else {
+                    watch.status = transaction.getStatus();
+                }
+            }
+        }
+
+        return events;
+    }
+
+    public synchronized void configure(int maxWatched, long ttlMs) {
+        this.maxWatched = Math.max(0, maxWatched);
+        this.ttlMs = Math.max(0, ttlMs);
+
+        while (watched.size() > this.maxWatched) {
+            Iterator<String> iterator = watched.keySet().iterator();
+            iterator.next();
+            iterator.remove();
+            dropped++;
+        }
+    }
+
+    public synchronized void clear() {
+        watched.clear();
+    }
+
+    public synchronized WritableMap getStats() {
+        expire();
+
+        WritableMap stats = Arguments.createMap();
+
+        stats.putInt("watched", watched.size());
+        stats.putInt("maxWatched", maxWatched);
+        stats.putDouble("ttlMs", ttlMs);
+        stats.putDouble("changes", changes);
+        stats.putDouble("dropped", dropped);
+        stats.putDouble("expired", expired);
+
+        return stats;
+    }
+
+    // Watches are ordered by watch time, so expired ones are all at the front
+    private void expire() {
+        long now = System.nanoTime();
+        long ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+
+        Iterator<Watch> iterator = watched.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().watchedAt < ttlNanos) {
+                break;
+            }
+
+            iterator.remove();
+            expired++;
+        }
+    }
+
+    private static WritableMap eventOf(Transaction transaction, String oldStatus) {
+        WritableMap event = Arguments.createMap();
+
+        event.putString("id", transaction.getId());
+        event.putString("oldStatus", oldStatus);
+        event.putString("newStatus", transaction.getStatus());
+
+        Integer confirmedAt = transaction.getConfirmedAt();
+        if (confirmedAt == null) {
+            event.putNull("confirmedAt");
+        } else {
+            event.putInt("confirmedAt", confirmedAt);
+        }
+
+        return event;
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -0,0 +1,343 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import money.zumo.zumokit.ComposeExchangeCallback;
+import money.zumo.zumokit.ComposedExchange;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps composed exchanges warm while they are subscribed to. Each subscription
+ * is keyed by debit account, credit account and amount, and is re-composed shortly
+ * before its quote expires. Every refreshed exchange is mapped on the marshalling
+ * executor, never on the SDK callback thread, and pushed to the sink.
+ * <p>
+ * Subscriptions are reference counted. The last release stops refreshing and
+ * drops the cached exchange.
+ * <p>
+ * A quote can be submitted only once, so {@link #take} hands each cached exchange
+ * to a single consumer and composes the next one right away.
+ */
+final class QuoteSubscriptions {
+
+    interface Composer {
+        /**
+         * Composes exchange, returns false if exchange cannot be composed right now.
+         */
+        boolean compose(
+                String fromAccountId,
+                String toAccountId,
+                BigDecimal amount,
+                boolean sendMax,
+                ComposeExchangeCallback callback
+        );
+    }
+
+    interface Sink {
+        void refreshed(String subscriptionId, WritableMap composedExchange);
+
+        void failed(String subscriptionId, Exception error);
+    }
+
+    // Quote is refreshed and no longer handed out this long before it expires,
+    // short lived quotes are refreshed half way through their TTL instead
+    static final long REFRESH_LEAD_MS = 3000;
+
+    static final long MIN_REFRESH_MS = 250;
+
+    static final long RETRY_MS = 5000;
+
+    private static final class Subscription {
+        final String id;
+        final String fromAccountId;
+        final String toAccountId;
+        final BigDecimal amount;
+        final boolean sendMax;
+
+        int subscribers = 0;
+        WritableMap composedExchange;
+        long validUntil;
+        ScheduledFuture<?> refresh;
+
+        Subscription(String id, String fromAccountId, String toAccountId, BigDecimal amount, boolean sendMax) {
+            this.id = id;
+            this.fromAccountId = fromAccountId;
+            this.toAccountId = toAccountId;
+            this.amount = amount;
+            this.sendMax = sendMax;
+        }
+    }
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Executor marshaller;
+
+    private final Composer composer;
+
+    private final Sink sink;
+
+    private final HashMap<String, Subscription> subscriptions = new HashMap<>();
+
+    private long refreshes = 0;
+
+    private long failures = 0;
+
+    private long hits = 0;
+
+    private long misses = 0;
+
+    QuoteSubscriptions(String name, Executor marshaller, Composer composer, Sink sink) {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.marshaller = marshaller;
+        this.composer = composer;
+        this.sink = sink;
+    }
+
+    /**
+     * Subscribes to composed exchange, refreshing starts right away unless exchange
+     * is already subscribed to.
+     *
+     * @return subscription identifier, shared by all subscribers of the same exchange
+     */
+    public synchronized String subscribe(
+            String fromAccountId,
+            String toAccountId,
+            BigDecimal amount,
+            boolean sendMax
+    ) {
+        String id = idOf(fromAccountId, toAccountId, amount, sendMax);
+
+        Subscription subscription = subscriptions.get(id);
+        if (subscription == null) {
+            subscription = new Subscription(id, fromAccountId, toAccountId, amount, sendMax);
+            subscriptions.put(id, subscription);
+            schedule(subscription, 0);
+        } else if (isFresh(subscription)) {
+            // New subscriber gets current exchange without waiting for next refresh
+            WritableMap composedExchange = copy(subscription.composedExchange);
+            scheduler.execute(new Runnable() {
+                @Override
+                public void run() {
+                    sink.refreshed(id, composedExchange);
+                }
+            });
+        }
+
+        subscription.subscribers++;
+        return id;
+    }
+
+    public synchronized void release(String subscriptionId) {
+        Subscription subscription = subscriptions.get(subscriptionId);
+        if (subscription == null || --subscription.subscribers > 0) {
+            return;
+        }
+
+        if (subscription.refresh != null) {
+            subscription.refresh.cancel(false);
+        }
+        subscriptions.remove(subscriptionId);
+    }
+
+    /**
+     * Takes subscribed exchange, or returns null if exchange is not subscribed to,
+     * its quote is about to expire or it has already been taken. Taken exchange is
+     * not handed out again, the subscription is refreshed right away instead.
+     */
+    public synchronized WritableMap take(
+            String fromAccountId,
+            String toAccountId,
+            BigDecimal amount,
+            boolean sendMax
+    ) {
+        Subscription subscription = subscriptions.get(idOf(fromAccountId, toAccountId, amount, sendMax));
+        if (subscription == null || !isFresh(subscription)) {
+            misses++;
+            return null;
+        }
+
+        hits++;
+        WritableMap composedExchange = subscription.composedExchange;
+        subscription.composedExchange = null;
+
+        if (subscription.refresh != null) {
+            subscription.refresh.cancel(false);
+        }
+        schedule(subscription, 0);
+
+        return composedExchange;
+    }
+
+    public synchronized void clear() {
+        for (Subscription subscription : subscriptions.values()) {
+            if (subscription.refresh != null) {
+                subscription.refresh.cancel(false);
+            }
+        }
+        subscriptions.clear();
+    }
+
+    public synchronized void shutdown() {
+        clear();
+        scheduler.shutdownNow();
+    }
+
+    public synchronized WritableMap getStats() {
+        WritableMap stats = Arguments.createMap();
+
+        stats.putInt("subscriptions", subscriptions.size());
+        stats.putDouble("refreshes", refreshes);
+        stats.putDouble("failures", failures);
+        stats.putDouble("hits", hits);
+        stats.putDouble("misses", misses);
+
+        return stats;
+    }
+
+    private void schedule(Subscription subscription, long delayMs) {
+        if (scheduler.isShutdown()) {
+            return;
+        }
+
+        subscription.refresh = scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                refresh(subscription);
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void refresh(Subscription subscription) {
+        // Quote TTL runs from when it was issued, which is after the compose started
+        long composedAt = System.nanoTime();
+        boolean composing;
+        try {
+            composing = composer.compose(
+                    subscription.fromAccountId,
+                    subscription.toAccountId,
+                    subscription.amount,
+                    subscription.sendMax,
+                    new ComposeExchangeCallback() {
+                        @Override
+                        public void onError(Exception e) {
+                            failed(subscription, e);
+                        }
+
+                        @Override
+                        public void onSuccess(ComposedExchange composedExchange) {
+                            refreshed(subscription, composedExchange, composedAt);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            // Exception thrown on the scheduler would cancel refreshing for good
+            failed(subscription, e);
+            return;
+        }
+
+        if (!composing) {
+            synchronized (this) {
+                if (isActive(subscription)) {
+                    schedule(subscription, RETRY_MS);
+                }
+            }
+        }
+    }
+
+    private void refreshed(
+            Subscription subscription,
+            ComposedExchange composedExchange,
+            long composedAt
+    ) {
+        try {
+            marshaller.execute(new Runnable() {
+                @Override
+                public void run() {
+                    publish(subscription, composedExchange, composedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            failed(subscription, e);
+        }
+    }
+
+    private void publish(
+            Subscription subscription,
+            ComposedExchange composedExchange,
+            long composedAt
+    ) {
+        WritableMap mapped = RNZumoKitModule.mapComposedExchange(composedExchange);
+        long ttlMs = TimeUnit.SECONDS.toMillis(composedExchange.getQuote().getTtl());
+        long leadMs = Math.min(REFRESH_LEAD_MS, ttlMs / 2);
+        long validUntil = composedAt + TimeUnit.MILLISECONDS.toNanos(ttlMs - leadMs);
+        WritableMap event;
+
+        synchronized (this) {
+            if (!isActive(subscription)) {
+                return;
+            }
+
+            refreshes++;
+            subscription.composedExchange = mapped;
+            subscription.validUntil = validUntil;
+            schedule(subscription, Math.max(
+                    MIN_REFRESH_MS,
+                    TimeUnit.NANOSECONDS.toMillis(validUntil - System.nanoTime())
+            ));
+
+            event = copy(mapped);
+        }
+
+        sink.refreshed(subscription.id, event);
+    }
+
+    private void failed(Subscription subscription, Exception error) {
+        synchronized (this) {
+            if (!isActive(subscription)) {
+                return;
+            }
+
+            failures++;
+            schedule(subscription, RETRY_MS);
+        }
+
+        sink.failed(subscription.id, error);
+    }
+
+    // Released subscriptions might still receive a callback of a compose started earlier
+    private boolean isActive(Subscription subscription) {
+        return subscriptions.get(subscription.id) == subscription;
+    }
+
+    private static boolean isFresh(Subscription subscription) {
+        return subscription.composedExchange != null && System.nanoTime() < subscription.validUntil;
+    }
+
+    private static String idOf(String fromAccountId, String toAccountId, BigDecimal amount, boolean sendMax) {
+        // Quote is issued for exact debit amount, only equal amounts share a subscription
+        String amountKey = sendMax ? "max" : amount == null ? "" : amount.stripTrailingZeros().toPlainString();
+        return fromAccountId + ":" + toAccountId + ":" + amountKey;
+    }
+
+    private static WritableMap copy(WritableMap map) {
+        WritableMap copy = Arguments.createMap();
+        copy.merge(map);
+        return copy;
+    }
+}
@@ -59,10 +59,13 @@ import money.zumo.zumokit.Quote;
 import money.zumo.zumokit.StringifiedJsonCallback;
 import money.zumo.zumokit.exceptions.ZumoKitException;
 
+import java.io.File;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.Map;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.concurrent.RejectedExecutionException;
 
 public class RNZumoKitModule extends ReactContextBaseJavaModule {
 
@@ -74,10 +77,164 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
 
     private Wallet wallet;
 
+    private final MappedModelCache<Account> accountCache = createAccountCache(500);
+
+    private final MappedModelCache<Transaction> transactionCache = createTransactionCache(5000);
+
+    private final AccountDataDiffer accountDataDiffer =
+            new AccountDataDiffer(accountCache, transactionCache);
+
+    private final TransactionPageIndex transactionPageIndex = new TransactionPageIndex();
+
+    private final AccountIndex accountIndex = new AccountIndex();
+
+    private final TransactionIndex transactionIndex = new TransactionIndex();
+
+    private final PendingTransactionTracker pendingTransactions = new PendingTransactionTracker();
+
+    private final MarshallingExecutor marshallingExecutor = new MarshallingExecutor();
+
+    private final PayloadSizes payloadSizes = new PayloadSizes();
+
+    private final HistoricalExchangeRatesCache historicalExchangeRatesCache =
+            new HistoricalExchangeRatesCache();
+
+    private final AuxDataDiffer auxDataDiffer = new AuxDataDiffer();
+
+    private final NonceAllocator nonceAllocator = new NonceAllocator();
+
+    private final FeeRateCache feeRateCache = new FeeRateCache();
+
+    // Opt-in local allocation of ETH nonces for compose calls without explicit nonce
+    private volatile boolean nonceAllocation = false;
+
+    // Latest snapshots received from the SDK, possibly not emitted yet
+    private volatile ArrayList<AccountDataSnapshot> latestAccountData;
+
+    private final EmissionCoalescer<ArrayList<AccountDataSnapshot>> accountDataCoalescer;
+
+    private final LogBuffer logBuffer;
+
+    private final MethodMetrics methodMetrics;
+
+    private final TraceRecorder traceRecorder = new TraceRecorder(4096);
+
+    private final QuoteSubscriptions quoteSubscriptions;
+
+    private final TradingPairCatalog tradingPairCatalog = new TradingPairCatalog();
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    private final AccountDataStore accountDataStore;
+
     public RNZumoKitModule(ReactApplicationContext reactContext) {
         super(reactContext);
 
         this.reactContext = reactContext;
+
+        RNZumoKitModule module = this;
+        this.accountDataCoalescer = new EmissionCoalescer<>(
+                "RNZumoKit-AccountData",
+                100,
+                500,
+                new EmissionCoalescer.Sink<ArrayList<AccountDataSnapshot>>() {
+                    @Override
+                    public void emit(ArrayList<AccountDataSnapshot> snapshots) {
+                        module.accountIndex.updateFromSnapshots(snapshots);
+                        module.transactionIndex.update(snapshots);
+
+                        for (WritableMap change : module.pendingTransactions.update(snapshots)) {
+                            module.emitEvent("TransactionStatusChanged", change);
+                        }
+
+                        WritableMap delta;
+                        synchronized (module.accountDataDiffer) {
+                            delta = module.accountDataDiffer.diff(snapshots);
+                            // Only accounts whose transactions changed are sorted again
+                            module.transactionPageIndex.update(
+                                    snapshots,
+                                    module.accountDataDiffer.getTransactionsChanged()
+                            );
+                            module.emitAccountData(delta);
+                        }
+
+                        // Persisted account data only has to change when JS state did
+                        User user = module.user;
+                        if (user != null && delta != null) {
+                            module.accountDataStore.save(user.getId(), snapshots);
+                        }
+                    }
+                });
+        this.accountDataStore = new AccountDataStore(
+                "RNZumoKit-Store",
+                new File(reactContext.getFilesDir(), "zumokit-account-data")
+        );
+        this.logBuffer = new LogBuffer(
+                "RNZumoKit-Log",
+                2048,
+                200,
+                250,
+                new LogBuffer.Sink() {
+                    @Override
+                    public void flush(String entries, int count, long dropped) {
+                        WritableMap batch = Arguments.createMap();
+                        batch.putString("entries", entries);
+                        batch.putInt("count", count);
+                        batch.putDouble("dropped", dropped);
+
+                        module.emitEvent("OnLogBatch", batch);
+                    }
+                });
+        this.methodMetrics = new MethodMetrics(
+                "RNZumoKit-Metrics",
+                new MethodMetrics.Sink() {
+                    @Override
+                    public void emit(WritableMap metrics) {
+                        module.emitEvent("Metrics", metrics);
+                    }
+                });
+        this.quoteSubscriptions = new QuoteSubscriptions(
+                "RNZumoKit-Quotes",
+                this.marshallingExecutor,
+                new QuoteSubscriptions.Composer() {
+                    @Override
+                    public boolean compose(
+                            String fromAccountId,
+                            String toAccountId,
+                            BigDecimal amount,
+                            boolean sendMax,
+                            ComposeExchangeCallback callback
+                    ) {
+                        User user = module.user;
+                        if (user == null) {
+                            return false;
+                        }
+
+                        user.composeExchange(fromAccountId, toAccountId, amount, sendMax, callback);
+                        return true;
+                    }
+                },
+                new QuoteSubscriptions.Sink() {
+                    @Override
+                    public void refreshed(String subscriptionId, WritableMap composedExchange) {
+                        WritableMap event = Arguments.createMap();
+                        event.putString("subscriptionId", subscriptionId);
+                        event.putMap("composedExchange", composedExchange);
+                        event.putNull("error");
+
+                        module.emitEvent("ExchangeQuoteRefreshed", event);
+                    }
+
+                    @Override
+                    public void failed(String subscriptionId, Exception error) {
+                        WritableMap event = Arguments.createMap();
+                        event.putString("subscriptionId", subscriptionId);
+                        event.putNull("composedExchange");
+                        event.putMap("error", RNZumoKitModule.mapError(error));
+
+                        module.emitEvent("ExchangeQuoteRefreshed", event);
+                    }
+                });
     }
 
     private void rejectPromise(
@@ -89,10 +246,17 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
         WritableMap userInfo = Arguments.createMap();
         userInfo.putString("type", errorType);
 
+        MethodMetrics.Call call = this.methodMetrics.failed(promise);
         promise.reject(errorCode, errorMessage, userInfo);
+        this.traceRecorder.end(call, errorCode);
     }
 
     private void rejectPromise(Promise promise, Exception e) {
+        if (!(e instanceof ZumoKitException)) {
+            rejectPromise(promise, e.getMessage());
+            return;
+        }
+
         ZumoKitException error = (ZumoKitException) e;
 
         rejectPromise(
@@ -112,6 +276,124 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
         );
     }
 
+    // Starts tracking a call whose promise is settled through helpers below
+    private void startCall(String method, Promise promise) {
+        this.traceRecorder.begin(this.methodMetrics.start(method, promise));
+    }
+
+    // Resolves SDK result that needs no mapping
+    private void resolvePromise(Promise promise, Object value) {
+        MethodMetrics.Call call = this.methodMetrics.succeeded(promise);
+        this.traceRecorder.mark(call, "sdkCallback");
+        if (call != null) {
+            this.payloadSizes.recordResult(call.getMethod(), value);
+        }
+
+        promise.resolve(value);
+        this.traceRecorder.end(call, null);
+    }
+
+    // Maps SDK result on a marshalling thread, so that SDK callback thread is released right away
+    private void resolveMapped(Promise promise, MarshallingExecutor.Mapping mapping) {
+        MethodMetrics.Call call = this.methodMetrics.succeeded(promise);
+        this.traceRecorder.mark(call, "sdkCallback");
+
+        RNZumoKitModule module = this;
+        try {
+            this.marshallingExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    long startedAt = System.nanoTime();
+                    try {
+                        Object result = mapping.map();
+                        module.methodMetrics.marshalled(call, System.nanoTime() - startedAt);
+                        module.traceRecorder.mark(call, "mapped");
+                        if (call != null) {
+                            module.payloadSizes.recordResult(call.getMethod(), result);
+                        }
+
+                        promise.resolve(result);
+                        module.traceRecorder.end(call, null);
+                    } catch (RuntimeException e) {
+                        module.methodMetrics.failed(call);
+                        rejectPromise(promise, e.getMessage());
+                        module.traceRecorder.end(call, ZumoKitErrorCode.UNKNOWN_ERROR);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.methodMetrics.failed(call);
+            rejectPromise(promise, e.getMessage());
+            this.traceRecorder.end(call, ZumoKitErrorCode.UNKNOWN_ERROR);
+        }
+    }
+
+    // Settles promise of a single flight waiter with result derived from the shared one
+    private SingleFlight.Waiter sharedWaiter(Promise promise, SingleFlight.Share share) {
+        RNZumoKitModule module = this;
+        return new SingleFlight.Waiter() {
+            @Override
+            public void resolve(Object result, long mappedNanos) {
+                MethodMetrics.Call call = module.methodMetrics.succeeded(promise, mappedNanos);
+                module.traceRecorder.mark(call, "sdkCallback");
+
+                long startedAt = System.nanoTime();
+                Object value;
+                try {
+                    value = share.resultOf(result);
+                } catch (RuntimeException e) {
+                    module.methodMetrics.failed(call);
+                    rejectPromise(promise, e.getMessage());
+                    module.traceRecorder.end(call, ZumoKitErrorCode.UNKNOWN_ERROR);
+                    return;
+                }
+
+                // Every waiter waited for the shared mapping as well as its own share
+                module.methodMetrics.marshalled(call, mappedNanos + System.nanoTime() - startedAt);
+                module.traceRecorder.mark(call, "mapped");
+                if (call != null) {
+                    module.payloadSizes.recordResult(call.getMethod(), value);
+                }
+
+                promise.resolve(value);
+                module.traceRecorder.end(call, null);
+            }
+
+            @Override
+            public void reject(Exception error) {
+                if (error instanceof ZumoKitException) {
+                    rejectPromise(promise, error);
+                } else {
+                    rejectPromise(promise, error.getMessage());
+                }
+            }
+        };
+    }
+
+    // Maps shared SDK result once on a marshalling thread and hands it to every waiter
+    private void resolveShared(String key, MarshallingExecutor.Mapping mapping) {
+        RNZumoKitModule module = this;
+        try {
+            this.marshallingExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    long startedAt = System.nanoTime();
+                    Object result;
+                    try {
+                        result = mapping.map();
+                    } catch (RuntimeException e) {
+                        module.singleFlight.reject(key, e);
+                        return;
+                    }
+
+                    module.singleFlight.resolve(key, result, System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.singleFlight.reject(key, e);
+        }
+    }
+
     @ReactMethod
     public void setLogLevel(String logLevel) {
         ZumoKit.setLogLevel(logLevel);
@@ -119,20 +401,29 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
 
     @ReactMethod
     public void addLogListener(String logLevel) {
+        // SDK filters records below log level before they reach the buffer
         RNZumoKitModule module = this;
         ZumoKit.onLog(
                 new LogListener() {
                     @Override
                     public void onLog(String message) {
-                        module.reactContext
-                                .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-                                .emit("OnLog", message);
+                        module.logBuffer.add(message);
                     }
                 },
                 logLevel
         );
     }
 
+    @ReactMethod
+    public void setLogBatching(int capacity, int batchSize, int flushIntervalMs) {
+        this.logBuffer.configure(capacity, batchSize, flushIntervalMs);
+    }
+
+    @ReactMethod
+    public void getLogStats(Promise promise) {
+        promise.resolve(this.logBuffer.getStats());
+    }
+
     @ReactMethod
     public void init(
         String apiKey, 
@@ -144,6 +435,22 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
         String custodyServiceUrl) {
         this.user = null;
         this.wallet = null;
+        this.singleFlight.reset();
+        this.accountDataCoalescer.clear();
+        this.accountDataDiffer.reset();
+        this.accountCache.clear();
+        this.transactionCache.clear();
+        this.transactionPageIndex.clear();
+        this.latestAccountData = null;
+        this.accountIndex.clear();
+        this.transactionIndex.clear();
+        this.pendingTransactions.clear();
+        this.historicalExchangeRatesCache.clear();
+        this.auxDataDiffer.reset();
+        this.nonceAllocator.clear();
+        this.feeRateCache.clear();
+        this.quoteSubscriptions.clear();
+        this.tradingPairCatalog.clear();
         this.zumokit = new ZumoKit(
             apiKey, 
             apiUrl, 
@@ -157,9 +464,23 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
         this.zumokit.addChangeListener(new ChangeListener() {
             @Override
             public void onChange() {
-                module.reactContext
-                        .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-                        .emit("AuxDataChanged", null);
+                // Fee rates are sent only with FeeRatesChanged, in version order and
+                // ahead of AuxDataChanged, so change listeners see them applied
+                synchronized (module.feeRateCache) {
+                    WritableMap feeRatesChange = module.feeRateCache.update(
+                            module.zumokit.getTransactionFeeRates()
+                    );
+
+                    if (feeRatesChange != null) {
+                        module.emitEvent("FeeRatesChanged", feeRatesChange);
+                    }
+                }
+
+                synchronized (module.auxDataDiffer) {
+                    WritableMap diff = module.auxDataDiffer.diff(module.zumokit.getExchangeRates());
+
+                    module.emitEvent("AuxDataChanged", diff);
+                }
             }
         });
     }
@@ -168,6 +489,8 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
 
     @ReactMethod
     public void signIn(String userTokenSet, Promise promise) {
+        startCall("signIn", promise);
+
         if (this.zumokit == null) {
             rejectPromise(promise, "ZumoKit not initialized.");
             return;
@@ -182,16 +505,39 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
 
             @Override
             public void onSuccess(User user) {
+                module.singleFlight.endSession();
                 module.user = user;
+                module.accountIndex.update(user.getAccounts());
 
-                WritableMap map = Arguments.createMap();
-
-                map.putString("id", user.getId());
-                map.putString("integratorId", user.getIntegratorId());
-                map.putBoolean("hasWallet", user.hasWallet());
-                map.putArray("accounts", RNZumoKitModule.mapAccounts(user.getAccounts()));
-
-                promise.resolve(map);
+                // Account data of previous session, served as stale until live data arrives,
+                // is read on the store thread so that disk IO never holds up marshalling
+                module.accountDataStore.load(user.getId(), new AccountDataStore.LoadCallback() {
+                    @Override
+                    public void loaded(WritableMap cachedAccountData) {
+                        resolveMapped(promise, new MarshallingExecutor.Mapping() {
+                            @Override
+                            public Object map() {
+                                WritableMap map = Arguments.createMap();
+
+                                map.putString("id", user.getId());
+                                map.putString("integratorId", user.getIntegratorId());
+                                map.putBoolean("hasWallet", user.hasWallet());
+                                map.putArray(
+                                        "accounts",
+                                        RNZumoKitModule.mapAccounts(user.getAccounts())
+                                );
+
+                                if (cachedAccountData == null) {
+                                    map.putNull("cachedAccountData");
+                                } else {
+                                    map.putMap("cachedAccountData", cachedAccountData);
+                                }
+
+                                return map;
+                            }
+                        });
+                    }
+                });
             }
         });
     }
@@ -203,9 +549,26 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
             return;
         }
 
+        if (this.user != null) {
+            this.accountDataStore.delete(this.user.getId());
+        }
+
         this.zumokit.signOut();
         this.user = null;
         this.wallet = null;
+        this.singleFlight.endSession();
+        this.accountDataCoalescer.clear();
+        this.accountDataDiffer.reset();
+        this.accountCache.clear();
+        this.transactionCache.clear();
+        this.transactionPageIndex.clear();
+        this.latestAccountData = null;
+        this.accountIndex.clear();
+        this.transactionIndex.clear();
+        this.pendingTransactions.clear();
+        this.nonceAllocator.clear();
+        this.quoteSubscriptions.clear();
+        this.tradingPairCatalog.clear();
         promise.resolve(true);
     }
 
@@ -217,23 +580,92 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
             return;
         }
 
+        // New JS listener has no state yet, first delta it receives has to be complete
+        this.accountDataDiffer.requestResync();
+
         RNZumoKitModule module = this;
         this.user.addAccountDataListener(new AccountDataListener() {
             @Override
             public void onDataChange(ArrayList<AccountDataSnapshot> snapshots) {
-                WritableArray array = RNZumoKitModule.mapAccountData(snapshots);
+                for (AccountDataSnapshot snapshot : snapshots) {
+                    AccountCryptoProperties cryptoProperties =
+                            snapshot.getAccount().getCryptoProperties();
+                    if (cryptoProperties != null && cryptoProperties.getNonce() != null) {
+                        module.nonceAllocator.reconcile(
+                                snapshot.getAccount().getId(), cryptoProperties.getNonce());
+                    }
+                }
 
-                module.reactContext
-                        .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-                        .emit("AccountDataChanged", array);
+                module.latestAccountData = snapshots;
+                module.accountDataCoalescer.submit(snapshots);
             }
         });
     }
 
+    @ReactMethod
+    public void setAccountDataCoalescing(int windowMs, int maxLatencyMs) {
+        this.accountDataCoalescer.configure(windowMs, maxLatencyMs);
+    }
+
+    @ReactMethod
+    public void getAccountDataEmissionStats(Promise promise) {
+        WritableMap map = Arguments.createMap();
+
+        map.putDouble("received", this.accountDataCoalescer.getReceived());
+        map.putDouble("emitted", this.accountDataCoalescer.getEmitted());
+        map.putDouble("windowMs", this.accountDataCoalescer.getWindowMs());
+        map.putDouble("maxLatencyMs", this.accountDataCoalescer.getMaxLatencyMs());
+
+        promise.resolve(map);
+    }
+
+    @ReactMethod
+    public void setMappingCacheSize(int maxAccounts, int maxTransactions) {
+        this.accountCache.setMaxSize(maxAccounts);
+        this.transactionCache.setMaxSize(maxTransactions);
+    }
+
+    @ReactMethod
+    public void getMappingCacheStats(Promise promise) {
+        WritableMap map = Arguments.createMap();
+
+        map.putMap("accounts", this.accountCache.getStats());
+        map.putMap("transactions", this.transactionCache.getStats());
+        map.putMap("accountIndex", this.accountIndex.getStats());
+        map.putMap("transactionIndex", this.transactionIndex.getStats());
+
+        promise.resolve(map);
+    }
+
+    @ReactMethod
+    public void requestAccountDataResync() {
+        synchronized (this.accountDataDiffer) {
+            emitAccountData(this.accountDataDiffer.resync());
+        }
+    }
+
+    private void emitAccountData(WritableMap delta) {
+        if (delta == null) {
+            return;
+        }
+
+        emitEvent("AccountDataChanged", delta);
+    }
+
+    private void emitEvent(String event, Object payload) {
+        this.payloadSizes.recordEvent(event, payload);
+
+        this.reactContext
+                .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                .emit(event, payload);
+    }
+
     // - Wallet Management
 
     @ReactMethod
     public void createWallet(String mnemonic, String password, Promise promise) {
+        startCall("createWallet", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
@@ -249,13 +681,15 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
             @Override
             public void onSuccess(Wallet wallet) {
                 module.wallet = wallet;
-                promise.resolve(true);
+                resolvePromise(promise, true);
             }
         });
     }
 
     @ReactMethod
     public void unlockWallet(String password, Promise promise) {
+        startCall("unlockWallet", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
@@ -271,19 +705,21 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
             @Override
             public void onSuccess(Wallet wallet) {
                 module.wallet = wallet;
-                promise.resolve(true);
+                resolvePromise(promise, true);
             }
         });
     }
 
     @ReactMethod
     public void isFiatCustomer(Promise promise) {
+        startCall("isFiatCustomer", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
         }
 
-        promise.resolve(this.user.isFiatCustomer());
+        resolvePromise(promise, this.user.isFiatCustomer());
     }
 
     @ReactMethod
@@ -297,6 +733,8 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
             ReadableMap addressData,
             Promise promise
     ) {
+        startCall("makeFiatCustomer", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
@@ -318,18 +756,21 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
 
                     @Override
                     public void onSuccess() {
-                        promise.resolve(true);
+                        resolvePromise(promise, true);
                     }
                 });
     }
 
     @ReactMethod
     public void createAccount(String currencyCode, Promise promise) {
+        startCall("createAccount", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
         }
 
+        RNZumoKitModule module = this;
         this.user.createAccount(currencyCode, new AccountCallback() {
             @Override
             public void onError(Exception e) {
@@ -338,28 +779,46 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
 
             @Override
             public void onSuccess(Account account) {
-                promise.resolve(mapAccount(account));
+                resolveMapped(promise, new MarshallingExecutor.Mapping() {
+                    @Override
+                    public Object map() {
+                        return RNZumoKitModule.mapAccount(account);
+                    }
+                });
             }
         });
     }
 
     @ReactMethod
     public void getNominatedAccountFiatProperties(String accountId, Promise promise) {
+        startCall("getNominatedAccountFiatProperties", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
         }
 
+        String key = this.singleFlight.keyOf("getNominatedAccountFiatProperties:" + accountId);
+        if (!this.singleFlight.join(key, sharedWaiter(promise, SingleFlight.COPY))) {
+            return;
+        }
+
+        RNZumoKitModule module = this;
         this.user.getNominatedAccountFiatProperties(accountId, new AccountFiatPropertiesCallback() {
             @Override
             public void onError(Exception e) {
-                rejectPromise(promise, e);
+                module.singleFlight.reject(key, e);
             }
 
             @Override
             public void onSuccess(AccountFiatProperties accountFiatProperties) {
-                promise.resolve(accountFiatProperties == null ?
-                        null : mapAccountFiatProperties(accountFiatProperties));
+                resolveShared(key, new MarshallingExecutor.Mapping() {
+                    @Override
+                    public Object map() {
+                        return accountFiatProperties == null ?
+                                null : mapAccountFiatProperties(accountFiatProperties);
+                    }
+                });
             }
         });
     }
@@ -368,21 +827,34 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
     public void fetchAuthenticationConfig(
             Promise promise
     ) {
+        startCall("fetchAuthenticationConfig", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
         }
 
+        String key = this.singleFlight.keyOf("fetchAuthenticationConfig");
+        if (!this.singleFlight.join(key, sharedWaiter(promise, SingleFlight.COPY))) {
+            return;
+        }
+
+        RNZumoKitModule module = this;
         this.user.fetchAuthenticationConfig(
                 new AuthenticationConfigCallback() {
                     @Override
                     public void onError(Exception e) {
-                        rejectPromise(promise, e);
+                        module.singleFlight.reject(key, e);
                     }
 
                     @Override
                     public void onSuccess(AuthenticationConfig config) {
-                        promise.resolve(RNZumoKitModule.mapAuthenticationConfig(config));
+                        resolveShared(key, new MarshallingExecutor.Mapping() {
+                            @Override
+                            public Object map() {
+                                return RNZumoKitModule.mapAuthenticationConfig(config);
+                            }
+                        });
                     }
                 });
     }
@@ -395,6 +867,8 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
             ReadableArray knowledgeBase,
             Promise promise
     ) {
+        startCall("createCard", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
@@ -413,7 +887,12 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
 
                     @Override
                     public void onSuccess(Card card) {
-                        promise.resolve(RNZumoKitModule.mapCard(card));
+                        resolveMapped(promise, new MarshallingExecutor.Mapping() {
+                            @Override
+                            public Object map() {
+                                return RNZumoKitModule.mapCard(card);
+                            }
+                        });
                     }
                 });
     }
@@ -426,6 +905,8 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
             String cvv2,
             Promise promise
     ) {
+        startCall("setCardStatus", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
@@ -436,12 +917,14 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
                     public void onError(Exception e) { rejectPromise(promise, e); }
 
                     @Override
-                    public void onSuccess() { promise.resolve(true); }
+                    public void onSuccess() { resolvePromise(promise, true); }
                 });
     }
 
     @ReactMethod
     public void revealCardDetails(String cardId, Promise promise) {
+        startCall("revealCardDetails", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
@@ -458,13 +941,15 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
                 map.putString("pan", cardDetails.getPan());
                 map.putString("cvv2", cardDetails.getCvv2());
 
-                promise.resolve(map);
+                resolvePromise(promise, map);
             }
         });
     }
 
     @ReactMethod
     public void revealPin(String cardId, Promise promise) {
+        startCall("revealPin", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
@@ -475,12 +960,14 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
             public void onError(Exception e) { rejectPromise(promise, e); }
 
             @Override
-            public void onSuccess(int pin) { promise.resolve(pin); }
+            public void onSuccess(int pin) { resolvePromise(promise, pin); }
         });
     }
 
     @ReactMethod
     public void unblockPin(String cardId, Promise promise) {
+        startCall("unblockPin", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
@@ -491,12 +978,14 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
             public void onError(Exception e) { rejectPromise(promise, e); }
 
             @Override
-            public void onSuccess() { promise.resolve(true); }
+            public void onSuccess() { resolvePromise(promise, true); }
         });
     }
 
     @ReactMethod
     public void setAuthentication(String cardId, ReadableArray knowledgeBase, Promise promise) {
+        startCall("setAuthentication", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
@@ -507,12 +996,14 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
             public void onError(Exception e) { rejectPromise(promise, e); }
 
             @Override
-            public void onSuccess() { promise.resolve(true); }
+            public void onSuccess() { resolvePromise(promise, true); }
         });
     }
 
     @ReactMethod
     public void revealMnemonic(String password, Promise promise) {
+        startCall("revealMnemonic", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
@@ -526,7 +1017,7 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
 
             @Override
             public void onSuccess(String mnemonic) {
-                promise.resolve(mnemonic);
+                resolvePromise(promise, mnemonic);
             }
         });
     }
@@ -535,131 +1026,495 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
 
     @ReactMethod
     public void getAccounts(Promise promise) {
+        startCall("getAccounts", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
         }
 
         ArrayList<Account> accounts = this.user.getAccounts();
-        WritableArray response = RNZumoKitModule.mapAccounts(accounts);
+        this.accountIndex.update(accounts);
+
+        WritableArray response = Arguments.createArray();
+        for (Account account : accounts) {
+            response.pushMap(this.accountCache.get(account));
+        }
 
         // Resolve the promise with our response array
-        promise.resolve(response);
+        resolvePromise(promise, response);
     }
 
-    // - Transactions
-
     @ReactMethod
-    public void submitTransaction(ReadableMap composedTransactionMap, String toAccountId, String metadata, Promise promise) {
+    public void getAccount(String accountId, Promise promise) {
+        startCall("getAccount", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
         }
 
-        String type = composedTransactionMap.getString("type");
-        Account account = RNZumoKitModule.unboxAccount(composedTransactionMap.getMap("account"));
-        String destination = composedTransactionMap.getString("destination");
-        BigDecimal amount = new BigDecimal(composedTransactionMap.getString("amount"));
-        BigDecimal fee = new BigDecimal(composedTransactionMap.getString("fee"));
-        String nonce = composedTransactionMap.getString("nonce");
-        String signedTransaction = composedTransactionMap.getString("signedTransaction");
-        String custodyOrderId = composedTransactionMap.getString("custodyOrderId");
-        String data = composedTransactionMap.getString("data");
-
-        ComposedTransaction composedTransaction =
-                new ComposedTransaction(
-                        type,
-                        account,
-                        destination,
-                        amount,
-                        fee,
-                        nonce,
-                        signedTransaction,
-                        custodyOrderId,
-                        data
-                );
-
-        this.user.submitTransaction(composedTransaction, toAccountId, metadata, new SubmitTransactionCallback() {
-
-            @Override
-            public void onError(Exception error) {
-                rejectPromise(promise, error);
-            }
+        Account account = this.accountIndex.get(accountId);
+        if (account == null) {
+            // Account might have been created since index was last updated
+            this.accountIndex.update(this.user.getAccounts());
+            account = this.accountIndex.get(accountId);
+        }
 
-            @Override
-            public void onSuccess(Transaction transaction) {
-                WritableMap map = RNZumoKitModule.mapTransaction(transaction);
-                promise.resolve(map);
-            }
-        });
+        resolvePromise(promise, account == null ? null : this.accountCache.get(account));
     }
 
     @ReactMethod
-    public void composeEthTransaction(
-            String accountId,
-            String gasPrice,
-            int gasLimit,
-            String destination,
-            String amount,
-            String data,
-            String nonce,
-            Boolean sendMax,
+    public void findAccount(
+            String currencyCode,
+            String network,
+            String type,
+            String custodyType,
             Promise promise
     ) {
-        if (this.wallet == null) {
-            rejectPromise(promise, "Wallet not found.");
+        startCall("findAccount", promise);
+
+        if (this.user == null) {
+            rejectPromise(promise, "User not found.");
             return;
         }
 
-        Integer nonceValue = null;
-        if (nonce != null) {
-            nonceValue = Integer.parseInt(nonce);
+        Account account = this.accountIndex.find(currencyCode, network, type, custodyType);
+        if (account == null) {
+            // Account might have been created since index was last updated
+            this.accountIndex.update(this.user.getAccounts());
+            account = this.accountIndex.find(currencyCode, network, type, custodyType);
         }
 
-        this.wallet.composeEthTransaction(
-                accountId,
-                new BigDecimal(gasPrice),
-                gasLimit,
-                destination,
-                (amount == null) ? null : new BigDecimal(amount),
-                data,
-                nonceValue,
-                sendMax,
-                new ComposeTransactionCallback() {
-            @Override
-            public void onError(Exception error) {
-                rejectPromise(promise, error);
-            }
+        resolvePromise(promise, account == null ? null : this.accountCache.get(account));
+    }
 
-            @Override
-            public void onSuccess(ComposedTransaction transaction) {
-                WritableMap map = RNZumoKitModule.mapComposedTransaction(transaction);
-                promise.resolve(map);
-            }
-        });
+    // - Transactions
+
+    @ReactMethod
+    public void getTransaction(String transactionId, Promise promise) {
+        startCall("getTransaction", promise);
+
+        if (this.user == null) {
+            rejectPromise(promise, "User not found.");
+            return;
+        }
+
+        resolveTransaction(promise, this.transactionIndex.get(transactionId));
     }
 
     @ReactMethod
-    public void composeBtcTransaction(
-            String accountId,
-            String changeAccountId,
+    public void findTransactionByHash(String txHash, Promise promise) {
+        startCall("findTransactionByHash", promise);
+
+        if (this.user == null) {
+            rejectPromise(promise, "User not found.");
+            return;
+        }
+
+        resolveTransaction(promise, this.transactionIndex.findByHash(txHash));
+    }
+
+    @ReactMethod
+    public void findTransactionByCustodyOrderId(String custodyOrderId, Promise promise) {
+        startCall("findTransactionByCustodyOrderId", promise);
+
+        if (this.user == null) {
+            rejectPromise(promise, "User not found.");
+            return;
+        }
+
+        resolveTransaction(promise, this.transactionIndex.findByCustodyOrderId(custodyOrderId));
+    }
+
+    @ReactMethod
+    public void findTransactionsByStatus(String status, Promise promise) {
+        startCall("findTransactionsByStatus", promise);
+
+        if (this.user == null) {
+            rejectPromise(promise, "User not found.");
+            return;
+        }
+
+        WritableArray transactions = Arguments.createArray();
+        for (Transaction transaction : this.transactionIndex.findByStatus(status)) {
+            transactions.pushMap(this.transactionCache.get(transaction));
+        }
+
+        resolvePromise(promise, transactions);
+    }
+
+    @ReactMethod
+    public void setTransactionStatusTracking(int maxWatched, int ttlMs) {
+        this.pendingTransactions.configure(maxWatched, ttlMs);
+    }
+
+    @ReactMethod
+    public void getTransactionStatusTrackingStats(Promise promise) {
+        promise.resolve(this.pendingTransactions.getStats());
+    }
+
+    private void resolveTransaction(Promise promise, Transaction transaction) {
+        resolvePromise(promise, transaction == null ? null : this.transactionCache.get(transaction));
+    }
+
+    @ReactMethod
+    public void getTransactions(String accountId, String cursor, int limit, Promise promise) {
+        startCall("getTransactions", promise);
+
+        if (this.user == null) {
+            rejectPromise(promise, "User not found.");
+            return;
+        }
+
+        // Account data received before its first emission is indexed right away
+        ArrayList<AccountDataSnapshot> latest = this.latestAccountData;
+        if (latest != null && !this.transactionPageIndex.contains(accountId)) {
+            this.transactionPageIndex.indexMissing(latest);
+        }
+
+        TransactionPageIndex.Page page;
+        try {
+            page = this.transactionPageIndex.page(accountId, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            rejectPromise(promise, e.getMessage());
+            return;
+        }
+
+        WritableArray transactions = Arguments.createArray();
+        for (Transaction transaction : page.transactions) {
+            transactions.pushMap(this.transactionCache.get(transaction));
+        }
+
+        WritableMap map = Arguments.createMap();
+        map.putArray("transactions", transactions);
+
+        if (page.nextCursor == null) {
+            map.putNull("nextCursor");
+        } else {
+            map.putString("nextCursor", page.nextCursor);
+        }
+
+        resolvePromise(promise, map);
+    }
+
+    @ReactMethod
+    public void composeBatch(ReadableArray requests, int maxConcurrency, Promise promise) {
+        startCall("composeBatch", promise);
+
+        RNZumoKitModule module = this;
+
+        ArrayList<ComposeBatch.Request> batch = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            ReadableMap request = requests.getMap(i);
+            batch.add(new ComposeBatch.Request() {
+                @Override
+                public void compose(Promise promise) {
+                    // Synchronous failure, e.g. a missing request field, fails only its own slot
+                    try {
+                        module.compose(request, promise);
+                    } catch (RuntimeException e) {
+                        module.rejectPromise(promise, e);
+                    }
+                }
+            });
+        }
+
+        new ComposeBatch(batch, maxConcurrency, new ComposeBatch.Sink() {
+            @Override
+            public void completed(WritableArray outcomes) {
+                module.resolvePromise(promise, outcomes);
+            }
+        }).start();
+    }
+
+    private void compose(ReadableMap request, Promise promise) {
+        String type = getNullableString(request, "type");
+        if (type == null) {
+            rejectPromise(promise, "Compose request type missing.");
+            return;
+        }
+
+        String amount = getNullableString(request, "amount");
+        Boolean sendMax = request.hasKey("sendMax") && request.getBoolean("sendMax");
+
+        switch (type) {
+            case "transaction":
+                composeTransaction(
+                        request.getString("fromAccountId"),
+                        request.getString("toAccountId"),
+                        amount,
+                        sendMax,
+                        promise
+                );
+                break;
+            case "custodyWithdrawTransaction":
+                composeCustodyWithdrawTransaction(
+                        request.getString("fromAccountId"),
+                        request.getString("destination"),
+                        amount,
+                        sendMax,
+                        promise
+                );
+                break;
+            case "nominatedTransaction":
+                composeNominatedTransaction(
+                        request.getString("fromAccountId"),
+                        amount,
+                        sendMax,
+                        promise
+                );
+                break;
+            case "ethTransaction":
+                composeEthTransaction(
+                        request.getString("fromAccountId"),
+                        request.getString("gasPrice"),
+                        request.getInt("gasLimit"),
+                        getNullableString(request, "destination"),
+                        amount,
+                        getNullableString(request, "data"),
+                        getNullableString(request, "nonce"),
+                        sendMax,
+                        promise
+                );
+                break;
+            case "btcTransaction":
+                composeBtcTransaction(
+                        request.getString("fromAccountId"),
+                        request.getString("changeAccountId"),
+                        request.getString("destination"),
+                        amount,
+                        request.getString("feeRate"),
+                        sendMax,
+                        promise
+                );
+                break;
+            case "exchange":
+                composeExchange(
+                        request.getString("fromAccountId"),
+                        request.getString("toAccountId"),
+                        amount,
+                        sendMax,
+                        promise
+                );
+                break;
+            default:
+                rejectPromise(promise, "Unknown compose request type.");
+        }
+    }
+
+    // Parses optional decimal argument, throws NumberFormatException if it is not a number
+    private static BigDecimal toDecimal(String value) {
+        return (value == null) ? null : new BigDecimal(value);
+    }
+
+    private static String getNullableString(ReadableMap map, String key) {
+        return map.hasKey(key) && !map.isNull(key) ? map.getString(key) : null;
+    }
+
+    @ReactMethod
+    public void submitTransaction(ReadableMap composedTransactionMap, String toAccountId, String metadata, Promise promise) {
+        startCall("submitTransaction", promise);
+
+        if (this.user == null) {
+            rejectPromise(promise, "User not found.");
+            return;
+        }
+
+        String type = composedTransactionMap.getString("type");
+        Account account = RNZumoKitModule.unboxAccount(composedTransactionMap.getMap("account"));
+        String destination = composedTransactionMap.getString("destination");
+        BigDecimal amount = new BigDecimal(composedTransactionMap.getString("amount"));
+        BigDecimal fee = new BigDecimal(composedTransactionMap.getString("fee"));
+        String nonce = composedTransactionMap.getString("nonce");
+        String signedTransaction = composedTransactionMap.getString("signedTransaction");
+        String custodyOrderId = composedTransactionMap.getString("custodyOrderId");
+        String data = composedTransactionMap.getString("data");
+
+        ComposedTransaction composedTransaction =
+                new ComposedTransaction(
+                        type,
+                        account,
+                        destination,
+                        amount,
+                        fee,
+                        nonce,
+                        signedTransaction,
+                        custodyOrderId,
+                        data
+                );
+
+        // Transaction might be broadcast from now on, its nonce no longer expires
+        if (nonce != null) {
+            this.nonceAllocator.submitted(account.getId(), Integer.parseInt(nonce));
+        }
+
+        RNZumoKitModule module = this;
+        this.user.submitTransaction(composedTransaction, toAccountId, metadata, new SubmitTransactionCallback() {
+
+            @Override
+            public void onError(Exception error) {
+                // Only nonce of a transaction that surely was never broadcast can be used
+                // again, any other is held until account nonce moves past it
+                boolean beforeBroadcast = error instanceof ZumoKitException
+                        && NonceAllocator.isBeforeBroadcast(((ZumoKitException) error).getErrorType());
+                if (nonce != null && beforeBroadcast) {
+                    module.nonceAllocator.submitFailed(account.getId(), Integer.parseInt(nonce));
+                }
+
+                rejectPromise(promise, error);
+            }
+
+            @Override
+            public void onSuccess(Transaction transaction) {
+                module.pendingTransactions.watch(transaction.getId(), transaction.getStatus());
+
+                resolveMapped(promise, new MarshallingExecutor.Mapping() {
+                    @Override
+                    public Object map() {
+                        return RNZumoKitModule.mapTransaction(transaction);
+                    }
+                });
+            }
+        });
+    }
+
+    @ReactMethod
+    public void composeEthTransaction(
+            String accountId,
+            String gasPrice,
+            int gasLimit,
+            String destination,
+            String amount,
+            String data,
+            String nonce,
+            Boolean sendMax,
+            Promise promise
+    ) {
+        startCall("composeEthTransaction", promise);
+
+        if (this.wallet == null) {
+            rejectPromise(promise, "Wallet not found.");
+            return;
+        }
+
+        // Arguments are parsed before any nonce is reserved, invalid ones reject the call
+        Integer nonceValue;
+        BigDecimal gasPriceValue;
+        BigDecimal amountValue;
+        try {
+            nonceValue = (nonce == null) ? null : Integer.parseInt(nonce);
+            gasPriceValue = new BigDecimal(gasPrice);
+            amountValue = toDecimal(amount);
+        } catch (NumberFormatException e) {
+            rejectPromise(promise, e);
+            return;
+        }
+
+        Integer reservedNonce = null;
+        if (nonceValue == null && this.nonceAllocation) {
+            Integer accountNonce = getAccountNonce(accountId);
+            if (accountNonce != null) {
+                reservedNonce = this.nonceAllocator.reserve(accountId, accountNonce);
+                nonceValue = reservedNonce;
+            }
+        }
+
+        RNZumoKitModule module = this;
+        Integer releaseOnError = reservedNonce;
+        this.wallet.composeEthTransaction(
+                accountId,
+                gasPriceValue,
+                gasLimit,
+                destination,
+                amountValue,
+                data,
+                nonceValue,
+                sendMax,
+                new ComposeTransactionCallback() {
+            @Override
+            public void onError(Exception error) {
+                if (releaseOnError != null) {
+                    module.nonceAllocator.release(accountId, releaseOnError);
+                }
+
+                rejectPromise(promise, error);
+            }
+
+            @Override
+            public void onSuccess(ComposedTransaction transaction) {
+                resolveMapped(promise, new MarshallingExecutor.Mapping() {
+                    @Override
+                    public Object map() {
+                        return RNZumoKitModule.mapComposedTransaction(transaction);
+                    }
+                });
+            }
+        });
+    }
+
+    @ReactMethod
+    public void setNonceAllocation(boolean enabled) {
+        this.nonceAllocation = enabled;
+    }
+
+    @ReactMethod
+    public void releaseNonce(String accountId, int nonce) {
+        this.nonceAllocator.release(accountId, nonce);
+    }
+
+    @ReactMethod
+    public void getNonceAllocatorState(Promise promise) {
+        promise.resolve(this.nonceAllocator.getState());
+    }
+
+    private Integer getAccountNonce(String accountId) {
+        if (this.user == null) {
+            return null;
+        }
+
+        for (Account account : this.user.getAccounts()) {
+            if (account.getId().equals(accountId) && account.getCryptoProperties() != null) {
+                return account.getCryptoProperties().getNonce();
+            }
+        }
+
+        return null;
+    }
+
+    @ReactMethod
+    public void composeBtcTransaction(
+            String accountId,
+            String changeAccountId,
             String destination,
             String amount,
             String feeRate,
             Boolean sendMax,
             Promise promise
     ) {
+        startCall("composeBtcTransaction", promise);
+
         if (this.wallet == null) {
             rejectPromise(promise, "Wallet not found.");
             return;
         }
 
+        BigDecimal amountValue;
+        BigDecimal feeRateValue;
+        try {
+            amountValue = toDecimal(amount);
+            feeRateValue = new BigDecimal(feeRate);
+        } catch (NumberFormatException e) {
+            rejectPromise(promise, e);
+            return;
+        }
+
         this.wallet.composeTransaction(
                 accountId,
                 changeAccountId,
                 destination,
-                (amount == null) ? null : new BigDecimal(amount),
-                new BigDecimal(feeRate),
+                amountValue,
+                feeRateValue,
                 sendMax,
                 new ComposeTransactionCallback() {
                     @Override
@@ -669,8 +1524,12 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
 
                     @Override
                     public void onSuccess(ComposedTransaction transaction) {
-                        WritableMap map = RNZumoKitModule.mapComposedTransaction(transaction);
-                        promise.resolve(map);
+                        resolveMapped(promise, new MarshallingExecutor.Mapping() {
+                            @Override
+                            public Object map() {
+                                return RNZumoKitModule.mapComposedTransaction(transaction);
+                            }
+                        });
                     }
                 });
     }
@@ -683,15 +1542,25 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
             Boolean sendMax,
             Promise promise
     ) {
+        startCall("composeTransaction", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
         }
 
+        BigDecimal amountValue;
+        try {
+            amountValue = toDecimal(amount);
+        } catch (NumberFormatException e) {
+            rejectPromise(promise, e);
+            return;
+        }
+
         this.user.composeTransaction(
                 fromAccountId,
                 toAccountId,
-                (amount == null) ? null : new BigDecimal(amount),
+                amountValue,
                 sendMax,
                 new ComposeTransactionCallback() {
             @Override
@@ -701,8 +1570,12 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
 
             @Override
             public void onSuccess(ComposedTransaction transaction) {
-                WritableMap map = RNZumoKitModule.mapComposedTransaction(transaction);
-                promise.resolve(map);
+                resolveMapped(promise, new MarshallingExecutor.Mapping() {
+                    @Override
+                    public Object map() {
+                        return RNZumoKitModule.mapComposedTransaction(transaction);
+                    }
+                });
             }
         });
     }
@@ -715,15 +1588,25 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
             Boolean sendMax,
             Promise promise
     ) {
+        startCall("composeCustodyWithdrawTransaction", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
         }
 
+        BigDecimal amountValue;
+        try {
+            amountValue = toDecimal(amount);
+        } catch (NumberFormatException e) {
+            rejectPromise(promise, e);
+            return;
+        }
+
         this.user.composeCustodyWithdrawTransaction(
                 fromAccountId,
                 destination,
-                (amount == null) ? null : new BigDecimal(amount),
+                amountValue,
                 sendMax,
                 new ComposeTransactionCallback() {
                     @Override
@@ -733,8 +1616,12 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
 
                     @Override
                     public void onSuccess(ComposedTransaction transaction) {
-                        WritableMap map = RNZumoKitModule.mapComposedTransaction(transaction);
-                        promise.resolve(map);
+                        resolveMapped(promise, new MarshallingExecutor.Mapping() {
+                            @Override
+                            public Object map() {
+                                return RNZumoKitModule.mapComposedTransaction(transaction);
+                            }
+                        });
                     }
                 });
     }
@@ -746,14 +1633,24 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
             Boolean sendMax,
             Promise promise
     ) {
+        startCall("composeNominatedTransaction", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
         }
 
+        BigDecimal amountValue;
+        try {
+            amountValue = toDecimal(amount);
+        } catch (NumberFormatException e) {
+            rejectPromise(promise, e);
+            return;
+        }
+
         this.user.composeNominatedTransaction(
                 fromAccountId,
-                (amount == null) ? null : new BigDecimal(amount),
+                amountValue,
                 sendMax,
                 new ComposeTransactionCallback() {
             @Override
@@ -763,28 +1660,117 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
 
             @Override
             public void onSuccess(ComposedTransaction transaction) {
-                WritableMap map = RNZumoKitModule.mapComposedTransaction(transaction);
-                promise.resolve(map);
+                resolveMapped(promise, new MarshallingExecutor.Mapping() {
+                    @Override
+                    public Object map() {
+                        return RNZumoKitModule.mapComposedTransaction(transaction);
+                    }
+                });
             }
         });
     }
 
     @ReactMethod
     public void fetchTradingPairs(Promise promise) {
-        if (this.user == null) {
-            rejectPromise(promise, "User not found.");
-            return;
-        }
+        startCall("fetchTradingPairs", promise);
 
-        this.user.fetchTradingPairs(new StringifiedJsonCallback() {
+        TradingPairCatalog catalog = this.tradingPairCatalog;
+        lookupTradingPairs(promise, new MarshallingExecutor.Mapping() {
             @Override
-            public void onError(Exception error) {
-                rejectPromise(promise, error);
+            public Object map() {
+                return catalog.getPairs();
+            }
+        });
+    }
+
+    @ReactMethod
+    public void getTradingPair(String fromCurrency, String toCurrency, Promise promise) {
+        startCall("getTradingPair", promise);
+
+        TradingPairCatalog catalog = this.tradingPairCatalog;
+        lookupTradingPairs(promise, new MarshallingExecutor.Mapping() {
+            @Override
+            public Object map() {
+                return catalog.getPair(fromCurrency, toCurrency);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void getTradingPairsFor(String currency, Promise promise) {
+        startCall("getTradingPairsFor", promise);
+
+        TradingPairCatalog catalog = this.tradingPairCatalog;
+        lookupTradingPairs(promise, new MarshallingExecutor.Mapping() {
+            @Override
+            public Object map() {
+                return catalog.getPairsFor(currency);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void invalidateTradingPairs() {
+        this.tradingPairCatalog.invalidate();
+    }
+
+    @ReactMethod
+    public void setTradingPairsTtl(int ttlMs) {
+        this.tradingPairCatalog.setTtl(ttlMs);
+    }
+
+    @ReactMethod
+    public void getTradingPairsCacheStats(Promise promise) {
+        promise.resolve(this.tradingPairCatalog.getStats());
+    }
+
+    // Fetches and indexes trading pair catalog unless it is still fresh, then resolves lookup
+    private void lookupTradingPairs(Promise promise, MarshallingExecutor.Mapping lookup) {
+        if (this.user == null) {
+            rejectPromise(promise, "User not found.");
+            return;
+        }
+
+        TradingPairCatalog catalog = this.tradingPairCatalog;
+
+        boolean fresh = catalog.isFresh();
+        catalog.recordLookup(fresh);
+        if (fresh) {
+            resolvePromise(promise, lookup.map());
+            return;
+        }
+
+        // Lookups share one fetch, each waiter looks up indexed catalog on its own
+        String key = this.singleFlight.keyOf("fetchTradingPairs");
+        SingleFlight.Waiter waiter = sharedWaiter(promise, new SingleFlight.Share() {
+            @Override
+            public Object resultOf(Object shared) {
+                return lookup.map();
+            }
+        });
+        if (!this.singleFlight.join(key, waiter)) {
+            return;
+        }
+
+        RNZumoKitModule module = this;
+        this.user.fetchTradingPairs(new StringifiedJsonCallback() {
+            @Override
+            public void onError(Exception error) {
+                module.singleFlight.reject(key, error);
             }
 
             @Override
             public void onSuccess(String stringifiedJson) {
-                promise.resolve(stringifiedJson);
+                resolveShared(key, new MarshallingExecutor.Mapping() {
+                    @Override
+                    public Object map() {
+                        // Result of an ended session must not fill caches of the new one
+                        if (module.singleFlight.isInFlight(key)) {
+                            catalog.update(stringifiedJson);
+                        }
+                        return null;
+                    }
+                });
             }
         });
     }
@@ -797,15 +1783,33 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
             Boolean sendMax,
             Promise promise
     ) {
+        startCall("composeExchange", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
         }
 
+        BigDecimal amountValue;
+        try {
+            amountValue = toDecimal(amount);
+        } catch (NumberFormatException e) {
+            rejectPromise(promise, e);
+            return;
+        }
+
+        // Exchange kept warm by a quote subscription is handed out right away, once
+        WritableMap subscribed =
+                this.quoteSubscriptions.take(fromAccountId, toAccountId, amountValue, sendMax);
+        if (subscribed != null) {
+            resolvePromise(promise, subscribed);
+            return;
+        }
+
         this.user.composeExchange(
                 fromAccountId,
                 toAccountId,
-                (amount == null) ? null : new BigDecimal(amount),
+                amountValue,
                 sendMax,
                 new ComposeExchangeCallback() {
             @Override
@@ -815,14 +1819,58 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
 
             @Override
             public void onSuccess(ComposedExchange composedExchange) {
-                WritableMap map = RNZumoKitModule.mapComposedExchange(composedExchange);
-                promise.resolve(map);
+                resolveMapped(promise, new MarshallingExecutor.Mapping() {
+                    @Override
+                    public Object map() {
+                        return RNZumoKitModule.mapComposedExchange(composedExchange);
+                    }
+                });
             }
         });
     }
 
+    @ReactMethod
+    public void subscribeExchangeQuote(
+            String fromAccountId,
+            String toAccountId,
+            String amount,
+            Boolean sendMax,
+            Promise promise
+    ) {
+        startCall("subscribeExchangeQuote", promise);
+
+        if (this.user == null) {
+            rejectPromise(promise, "User not found.");
+            return;
+        }
+
+        try {
+            String subscriptionId = this.quoteSubscriptions.subscribe(
+                    fromAccountId,
+                    toAccountId,
+                    toDecimal(amount),
+                    sendMax
+            );
+            resolvePromise(promise, subscriptionId);
+        } catch (Exception e) {
+            rejectPromise(promise, e);
+        }
+    }
+
+    @ReactMethod
+    public void releaseExchangeQuote(String subscriptionId) {
+        this.quoteSubscriptions.release(subscriptionId);
+    }
+
+    @ReactMethod
+    public void getExchangeQuoteStats(Promise promise) {
+        promise.resolve(this.quoteSubscriptions.getStats());
+    }
+
     @ReactMethod
     public void submitExchange(ReadableMap composedExchangeMap, Promise promise) {
+        startCall("submitExchange", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
@@ -841,6 +1889,7 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
                 quote
         );
 
+        RNZumoKitModule module = this;
         this.user.submitExchange(composedExchange, new SubmitExchangeCallback() {
             @Override
             public void onError(Exception error) {
@@ -849,8 +1898,16 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
 
             @Override
             public void onSuccess(Exchange exchange) {
-                WritableMap map = RNZumoKitModule.mapExchange(exchange);
-                promise.resolve(map);
+                // Status of exchange transactions is not known until they show up in account data
+                module.pendingTransactions.watch(exchange.getDebitTransactionId(), null);
+                module.pendingTransactions.watch(exchange.getCreditTransactionId(), null);
+
+                resolveMapped(promise, new MarshallingExecutor.Mapping() {
+                    @Override
+                    public Object map() {
+                        return RNZumoKitModule.mapExchange(exchange);
+                    }
+                });
             }
         });
     }
@@ -859,17 +1916,21 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
 
     @ReactMethod
     public void isRecoveryMnemonic(String mnemonic, Promise promise) {
+        startCall("isRecoveryMnemonic", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
         }
 
         Boolean validation = this.user.isRecoveryMnemonic(mnemonic);
-        promise.resolve(validation);
+        resolvePromise(promise, validation);
     }
 
     @ReactMethod
     public void recoverWallet(String mnemonic, String password, Promise promise) {
+        startCall("recoverWallet", promise);
+
         if (this.user == null) {
             rejectPromise(promise, "User not found.");
             return;
@@ -885,7 +1946,7 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
             @Override
             public void onSuccess(Wallet wallet) {
                 module.wallet = wallet;
-                promise.resolve(true);
+                resolvePromise(promise, true);
             }
         });
     }
@@ -894,980 +1955,510 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
 
     @ReactMethod
     public void getExchangeRates(Promise promise) {
-        if (this.zumokit == null) {
-            rejectPromise(promise, "ZumoKit not initialized.");
-            return;
-        }
+        startCall("getExchangeRates", promise);
 
-        promise.resolve(mapExchangeRates(this.zumokit.getExchangeRates()));
-    }
-
-    @ReactMethod
-    public void getTransactionFeeRates(Promise promise) {
         if (this.zumokit == null) {
             rejectPromise(promise, "ZumoKit not initialized.");
             return;
         }
 
-        promise.resolve(mapTransactionFeeRates(this.zumokit.getTransactionFeeRates()));
+        WritableMap exchangeRates = mapExchangeRates(this.zumokit.getExchangeRates());
+        resolvePromise(promise, exchangeRates);
     }
 
     @ReactMethod
-    public void fetchHistoricalExchangeRates(Promise promise) {
-        if (this.zumokit == null) {
-            rejectPromise(promise, "ZumoKit not initialized.");
-            return;
-        }
-
-        this.zumokit.fetchHistoricalExchangeRates(new HistoricalExchangeRatesCallback() {
-            @Override
-            public void onError(Exception e) {
-                rejectPromise(promise, e);
-            }
-
-            @Override
-            public void onSuccess(
-                    HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> historicalExchangeRates
-            ) {
-                promise.resolve(RNZumoKitModule.mapHistoricalExchangeRates(historicalExchangeRates));
-            }
-        });
-    }
-
-    @ReactMethod
-    public void generateMnemonic(int wordLength, Promise promise) {
-        if (this.zumokit == null) {
-            rejectPromise(promise, "ZumoKit not initialized.");
-            return;
-        }
-
-        try {
-            String mnemonic = this.zumokit.getUtils().generateMnemonic(wordLength);
-            promise.resolve(mnemonic);
-        } catch (Exception e) {
-            rejectPromise(promise, e);
-        }
+    public void requestAuxDataResync() {
+        this.auxDataDiffer.requestResync();
     }
 
     @ReactMethod
-    public void isValidAddress(String currencyCode, String address, String network, Promise promise) {
-        try {
-            Boolean valid = this.zumokit.getUtils().isValidAddress(currencyCode, address, network);
-            promise.resolve(valid);
-        } catch (Exception e) {
-            rejectPromise(promise, e);
-        }
-    }
-
-    // - Helpers
-
-    public static HashMap<String, String> toHashMap(ReadableMap readableMap) {
-        HashMap<String, String> result = new HashMap<String, String>();
-
-        if (readableMap == null) {
-            return result;
-        }
-
-        ReadableMapKeySetIterator iterator = readableMap.keySetIterator();
-
-        if (!iterator.hasNextKey()) {
-            return result;
-        }
-
-        while (iterator.hasNextKey()) {
-            String key = iterator.nextKey();
-            result.put(key, readableMap.getString(key));
-        }
-
-        return result;
-    }
-
-    public static WritableMap mapAccountFiatProperties(AccountFiatProperties accountFiatProperties) {
-        WritableMap fiatProperties = Arguments.createMap();
-        if (accountFiatProperties.getProviderId() == null) {
-            fiatProperties.putNull("providerId");
-        } else {
-            fiatProperties.putString("providerId", accountFiatProperties.getProviderId());
-        }
-
-        if (accountFiatProperties.getAccountNumber() == null) {
-            fiatProperties.putNull("accountNumber");
-        } else {
-            fiatProperties.putString("accountNumber", accountFiatProperties.getAccountNumber());
-        }
-
-        if (accountFiatProperties.getSortCode() == null) {
-            fiatProperties.putNull("sortCode");
-        } else {
-            fiatProperties.putString("sortCode", accountFiatProperties.getSortCode());
-        }
-
-        if (accountFiatProperties.getBic() == null) {
-            fiatProperties.putNull("bic");
-        } else {
-            fiatProperties.putString("bic", accountFiatProperties.getBic());
-        }
-
-        if (accountFiatProperties.getIban() == null) {
-            fiatProperties.putNull("iban");
-        } else {
-            fiatProperties.putString("iban", accountFiatProperties.getIban());
-        }
-
-        if (accountFiatProperties.getCustomerName() == null) {
-            fiatProperties.putNull("customerName");
-        } else {
-            fiatProperties.putString("customerName", accountFiatProperties.getCustomerName());
-        }
-
-        return fiatProperties;
-    }
-
-    public static WritableMap mapCard(Card card) {
-        WritableMap map = Arguments.createMap();
-
-        map.putString("id", card.getId());
-        map.putString("accountId", card.getAccountId());
-        map.putString("cardType", card.getCardType());
-        map.putString("cardStatus", card.getCardStatus());
-        map.putInt("limit", card.getLimit());
-        if (card.getMaskedPan() == null) {
-            map.putNull("maskedPan");
-        } else {
-            map.putString("maskedPan", card.getMaskedPan());
-        }
-        map.putString("expiry", card.getExpiry());
-        map.putBoolean("sca", card.getSca());
-
-        return map;
-    }
-
-    public static WritableMap mapAccount(Account account) {
-        WritableMap cryptoProperties = Arguments.createMap();
-        if (account.getCryptoProperties() != null) {
-            cryptoProperties.putString("path", account.getCryptoProperties().getPath());
-            cryptoProperties.putString("address", account.getCryptoProperties().getAddress());
-
-            if (account.getCryptoProperties().getDirectDepositAddress() == null) {
-                cryptoProperties.putNull("directDepositAddress");
-            } else {
-                cryptoProperties.putString("directDepositAddress", account.getCryptoProperties().getDirectDepositAddress());
-            }
-
-            if (account.getCryptoProperties().getNonce() == null) {
-                cryptoProperties.putNull("nonce");
-            } else {
-                cryptoProperties.putInt("nonce", account.getCryptoProperties().getNonce());
-            }
-        }
-
-        WritableMap map = Arguments.createMap();
-
-        map.putString("id", account.getId());
-        map.putString("currencyType", account.getCurrencyType());
-        map.putString("currencyCode", account.getCurrencyCode());
-        map.putString("network", account.getNetwork());
-        map.putString("type", account.getType());
-        map.putString("custodyType", account.getCustodyType());
-        map.putString("balance", account.getBalance().toPlainString());
-        map.putString("ledgerBalance", account.getLedgerBalance().toPlainString());
-        map.putString("availableBalance", account.getAvailableBalance().toPlainString());
-        map.putString("overdraftLimit", account.getOverdraftLimit().toPlainString());
-        map.putBoolean("hasNominatedAccount", account.getHasNominatedAccount());
-
-        if (account.getCryptoProperties() == null) {
-            map.putNull("cryptoProperties");
-        } else {
-            map.putMap("cryptoProperties", cryptoProperties);
-        }
-
-        if (account.getFiatProperties() == null) {
-            map.putNull("fiatProperties");
-        } else {
-            map.putMap("fiatProperties", mapAccountFiatProperties(account.getFiatProperties()));
-        }
-
-        WritableArray cards = Arguments.createArray();
-        for (Card card : account.getCards()) {
-            cards.pushMap(RNZumoKitModule.mapCard(card));
-        }
-        map.putArray("cards", cards);
-
-        return map;
-    }
-
-    public static WritableArray mapAccounts(ArrayList<Account> accounts) {
-        WritableArray response = Arguments.createArray();
-
-        for (Account account : accounts) {
-            response.pushMap(mapAccount(account));
-        }
-
-        return response;
-    }
-
-    public static WritableMap mapComposedTransaction(ComposedTransaction transaction) {
-        WritableMap map = Arguments.createMap();
-
-        map.putString("type", transaction.getType());
-
-        if (transaction.getCustodyOrderId() == null) {
-            map.putNull("custodyOrderId");
-        } else {
-            map.putString("custodyOrderId", transaction.getCustodyOrderId());
-        }
-
-        if (transaction.getSignedTransaction() == null) {
-            map.putNull("signedTransaction");
-        } else {
-            map.putString("signedTransaction", transaction.getSignedTransaction());
-        }
-
-        map.putMap("account", mapAccount(transaction.getAccount()));
-        map.putString("fee", transaction.getFee().toPlainString());
-
-        if (transaction.getDestination() == null) {
-            map.putNull("destination");
-        } else {
-            map.putString("destination", transaction.getDestination());
-        }
-
-        if (transaction.getAmount() == null) {
-            map.putNull("amount");
-        } else {
-            map.putString("amount", transaction.getAmount().toPlainString());
-        }
-
-        if (transaction.getData() == null) {
-            map.putNull("data");
-        } else {
-            map.putString("data", transaction.getData());
-        }
-
-        map.putString("nonce", transaction.getNonce());
-
-        return map;
-    }
-
-    public static WritableArray mapTransactionAmounts(ArrayList<TransactionAmount> transactionAmounts) {
-        WritableArray response = Arguments.createArray();
-
-        for (TransactionAmount transactionAmount : transactionAmounts) {
-            WritableMap map = RNZumoKitModule.mapTransactionAmount(transactionAmount);
-            response.pushMap(map);
-        }
-
-        return response;
-    }
-
-    public static WritableArray mapInternalTransactions(ArrayList<InternalTransaction> internalTransactions) {
-        WritableArray response = Arguments.createArray();
-
-        for (InternalTransaction internalTransaction : internalTransactions) {
-            WritableMap map = RNZumoKitModule.mapInternalTransaction(internalTransaction);
-            response.pushMap(map);
-        }
-
-        return response;
-    }
-
-    public static WritableArray mapTransactions(ArrayList<Transaction> transactions) {
-        WritableArray response = Arguments.createArray();
-
-        for (Transaction transaction : transactions) {
-            WritableMap map = RNZumoKitModule.mapTransaction(transaction);
-            response.pushMap(map);
-        }
-
-        return response;
-    }
-
-    public static WritableMap mapTransactionAmount(TransactionAmount transactionAmount) {
-        WritableMap map = Arguments.createMap();
-
-        map.putString("direction", transactionAmount.getDirection());
-
-        if (transactionAmount.getUserId() == null) {
-            map.putNull("userId");
-        } else {
-            map.putString("userId", transactionAmount.getUserId());
-        }
-
-        if (transactionAmount.getUserIntegratorId() == null) {
-            map.putNull("userIntegratorId");
-        } else {
-            map.putString("userIntegratorId", transactionAmount.getUserIntegratorId());
-        }
-
-        if (transactionAmount.getAccountId() == null) {
-            map.putNull("accountId");
-        } else {
-            map.putString("accountId", transactionAmount.getAccountId());
-        }
-
-        if (transactionAmount.getAmount() == null) {
-            map.putNull("amount");
-        } else {
-            map.putString("amount", transactionAmount.getAmount().toPlainString());
-        }
-
-        if (transactionAmount.getFiatAmount() == null) {
-            map.putNull("fiatAmount");
-        } else {
-            WritableMap fiatAmounts = Arguments.createMap();
-            for (HashMap.Entry entry : transactionAmount.getFiatAmount().entrySet()) {
-                fiatAmounts.putDouble((String) entry.getKey(), ((Double) entry.getValue()));
-            }
-            map.putMap("fiatAmount", fiatAmounts);
-        }
-
-        if (transactionAmount.getAddress() == null) {
-            map.putNull("address");
-        } else {
-            map.putString("address", transactionAmount.getAddress());
-        }
-
-        map.putBoolean("isChange", transactionAmount.getIsChange());
-
-        if (transactionAmount.getAccountNumber() == null) {
-            map.putNull("accountNumber");
-        } else {
-            map.putString("accountNumber", transactionAmount.getAccountNumber());
-        }
-
-        if (transactionAmount.getSortCode() == null) {
-            map.putNull("sortCode");
-        } else {
-            map.putString("sortCode", transactionAmount.getSortCode());
-        }
-
-        if (transactionAmount.getBic() == null) {
-            map.putNull("bic");
-        } else {
-            map.putString("bic", transactionAmount.getBic());
-        }
-
-        if (transactionAmount.getIban() == null) {
-            map.putNull("iban");
-        } else {
-            map.putString("iban", transactionAmount.getIban());
-        }
-
-        return map;
-    }
-
-    public static WritableMap mapInternalTransaction(InternalTransaction internalTransaction) {
-        WritableMap map = Arguments.createMap();
-
-        if (internalTransaction.getFromUserId() == null) {
-            map.putNull("fromUserId");
-        } else {
-            map.putString("fromUserId", internalTransaction.getFromUserId());
-        }
-
-        if (internalTransaction.getFromUserIntegratorId() == null) {
-            map.putNull("fromUserIntegratorId");
-        } else {
-            map.putString("fromUserIntegratorId", internalTransaction.getFromUserIntegratorId());
-        }
-
-        if (internalTransaction.getFromAccountId() == null) {
-            map.putNull("fromAccountId");
-        } else {
-            map.putString("fromAccountId", internalTransaction.getFromAccountId());
-        }
-
-        if (internalTransaction.getFromAddress() == null) {
-            map.putNull("fromAddress");
-        } else {
-            map.putString("fromAddress", internalTransaction.getFromAddress());
-        }
-
-        if (internalTransaction.getToUserId() == null) {
-            map.putNull("toUserId");
-        } else {
-            map.putString("toUserId", internalTransaction.getToUserId());
-        }
-
-        if (internalTransaction.getToUserIntegratorId() == null) {
-            map.putNull("toUserIntegratorId");
-        } else {
-            map.putString("toUserIntegratorId", internalTransaction.getToUserIntegratorId());
-        }
-
-        if (internalTransaction.getToAccountId() == null) {
-            map.putNull("toAccountId");
-        } else {
-            map.putString("toAccountId", internalTransaction.getToAccountId());
-        }
-
-        if (internalTransaction.getToAddress() == null) {
-            map.putNull("toAddress");
-        } else {
-            map.putString("toAddress", internalTransaction.getToAddress());
-        }
-
-        if (internalTransaction.getAmount() == null) {
-            map.putNull("amount");
-        } else {
-            map.putString("amount", internalTransaction.getAmount().toPlainString());
-        }
-
-        if (internalTransaction.getFiatAmount() == null) {
-            map.putNull("fiatAmount");
-        } else {
-            WritableMap fiatAmounts = Arguments.createMap();
-            for (HashMap.Entry entry : internalTransaction.getFiatAmount().entrySet()) {
-                fiatAmounts.putDouble((String) entry.getKey(), ((Double) entry.getValue()));
-            }
-            map.putMap("fiatAmount", fiatAmounts);
-        }
-
-        return map;
-    }
-
-    public static WritableMap mapTransaction(Transaction transaction) {
-        WritableMap map = Arguments.createMap();
-
-        map.putString("id", transaction.getId());
-        map.putString("type", transaction.getType());
-        map.putString("currencyCode", transaction.getCurrencyCode());
-        map.putString("direction", transaction.getDirection());
-        map.putString("network", transaction.getNetwork());
-        map.putString("status", transaction.getStatus());
-
-        WritableArray senders = RNZumoKitModule.mapTransactionAmounts(transaction.getSenders());
-        map.putArray("senders", senders);
-
-        WritableArray recipients = RNZumoKitModule.mapTransactionAmounts(transaction.getRecipients());
-        map.putArray("recipients", recipients);
-
-        WritableArray internalTransactions = RNZumoKitModule.mapInternalTransactions(transaction.getInternalTransactions());
-        map.putArray("internalTransactions", internalTransactions);
-
-        if (transaction.getAmount() == null) {
-            map.putNull("amount");
-        } else {
-            map.putString("amount", transaction.getAmount().toPlainString());
-        }
-
-        if (transaction.getFee() == null) {
-            map.putNull("fee");
-        } else {
-            map.putString("fee", transaction.getFee().toPlainString());
-        }
+    public void getTransactionFeeRates(Promise promise) {
+        startCall("getTransactionFeeRates", promise);
 
-        if (transaction.getNonce() == null) {
-            map.putNull("nonce");
-        } else {
-            map.putString("nonce", transaction.getNonce());
+        if (this.zumokit == null) {
+            rejectPromise(promise, "ZumoKit not initialized.");
+            return;
         }
 
-        if (transaction.getMetadata() == null) {
-            map.putNull("metadata");
-        } else {
-            map.putString("metadata", transaction.getMetadata());
-        }
+        WritableMap feeRates;
+        synchronized (this.feeRateCache) {
+            feeRates = this.feeRateCache.get();
+            if (feeRates == null) {
+                WritableMap feeRatesChange = this.feeRateCache.update(this.zumokit.getTransactionFeeRates());
+                feeRates = this.feeRateCache.get();
 
-        if (transaction.getSubmittedAt() == null) {
-            map.putNull("submittedAt");
-        } else {
-            map.putInt("submittedAt", transaction.getSubmittedAt());
+                // Filling the cache may bump its version, listeners must not miss it
+                if (feeRatesChange != null) {
+                    emitEvent("FeeRatesChanged", feeRatesChange);
+                }
+            }
         }
 
-        if (transaction.getConfirmedAt() == null) {
-            map.putNull("confirmedAt");
-        } else {
-            map.putInt("confirmedAt", transaction.getConfirmedAt());
-        }
+        resolvePromise(promise, feeRates);
+    }
 
-        map.putInt("timestamp", transaction.getTimestamp());
+    @ReactMethod
+    public void fetchHistoricalExchangeRates(Promise promise) {
+        fetchHistoricalExchangeRateIntervals(null, promise);
+    }
 
-        if (transaction.getCryptoProperties() == null) {
-            map.putNull("cryptoProperties");
-        } else {
-            WritableMap cryptoProperties = Arguments.createMap();
+    @ReactMethod
+    public void fetchHistoricalExchangeRateIntervals(ReadableArray intervals, Promise promise) {
+        startCall("fetchHistoricalExchangeRates", promise);
 
-            if (transaction.getCryptoProperties().getTxHash() == null) {
-                cryptoProperties.putNull("txHash");
-            } else {
-                cryptoProperties.putString("txHash", transaction.getCryptoProperties().getTxHash());
+        RNZumoKitModule module = this;
+        fetchHistoricalExchangeRates(promise, toStringList(intervals), "nested",
+                new HistoricalExchangeRatesCache.Mapper() {
+            @Override
+            public WritableMap map(
+                    HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> historicalExchangeRates
+            ) {
+                return RNZumoKitModule.mapHistoricalExchangeRates(historicalExchangeRates);
             }
+        });
+    }
+
+    @ReactMethod
+    public void fetchHistoricalExchangeRateSeries(ReadableArray intervals, Promise promise) {
+        startCall("fetchHistoricalExchangeRateSeries", promise);
 
-            if (transaction.getCryptoProperties().getNonce() == null) {
-                cryptoProperties.putNull("nonce");
-            } else {
-                cryptoProperties.putInt("nonce",
-                        transaction.getCryptoProperties().getNonce());
+        fetchHistoricalExchangeRates(promise, toStringList(intervals), "series",
+                new HistoricalExchangeRatesCache.Mapper() {
+            @Override
+            public WritableMap map(
+                    HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> historicalExchangeRates
+            ) {
+                return RNZumoKitModule.mapHistoricalExchangeRateSeries(historicalExchangeRates);
             }
+        });
+    }
 
-            cryptoProperties.putString("fromAddress",
-                    transaction.getCryptoProperties().getFromAddress());
+    @ReactMethod
+    public void invalidateHistoricalExchangeRates() {
+        this.historicalExchangeRatesCache.invalidate();
+    }
 
-            if (transaction.getCryptoProperties().getToAddress() == null) {
-                cryptoProperties.putNull("toAddress");
-            } else {
-                cryptoProperties.putString("toAddress",
-                        transaction.getCryptoProperties().getToAddress());
-            }
+    @ReactMethod
+    public void setHistoricalExchangeRatesTtl(String interval, int ttlMs) {
+        this.historicalExchangeRatesCache.setTtl(interval, ttlMs);
+    }
 
-            if (transaction.getCryptoProperties().getData() == null) {
-                cryptoProperties.putNull("data");
-            } else {
-                cryptoProperties.putString("data",
-                        transaction.getCryptoProperties().getData());
-            }
+    @ReactMethod
+    public void getHistoricalExchangeRatesCacheStats(Promise promise) {
+        promise.resolve(this.historicalExchangeRatesCache.getStats());
+    }
 
-            if (transaction.getCryptoProperties().getGasPrice() == null) {
-                cryptoProperties.putNull("gasPrice");
-            } else {
-                cryptoProperties.putString("gasPrice",
-                        transaction.getCryptoProperties().getGasPrice().toPlainString());
-            }
+    // Serves given intervals, or all of them, from cache unless one has expired
+    private void fetchHistoricalExchangeRates(
+            Promise promise,
+            ArrayList<String> intervals,
+            String view,
+            HistoricalExchangeRatesCache.Mapper mapper
+    ) {
+        if (this.zumokit == null) {
+            rejectPromise(promise, "ZumoKit not initialized.");
+            return;
+        }
 
-            if (transaction.getCryptoProperties().getGasLimit() == null) {
-                cryptoProperties.putNull("gasLimit");
-            } else {
-                cryptoProperties.putInt("gasLimit",
-                        transaction.getCryptoProperties().getGasLimit());
-            }
+        HistoricalExchangeRatesCache cache = this.historicalExchangeRatesCache;
 
-            if (transaction.getCryptoProperties().getFiatAmount() == null) {
-                cryptoProperties.putNull("fiatAmount");
-            } else {
-                WritableMap fiatAmounts = Arguments.createMap();
-                for (HashMap.Entry entry :
-                        transaction.getCryptoProperties().getFiatAmount().entrySet()) {
-                    fiatAmounts.putDouble((String) entry.getKey(), ((Double) entry.getValue()));
+        boolean fresh = cache.isFresh(intervals);
+        cache.recordLookup(fresh);
+        if (fresh) {
+            resolveMapped(promise, new MarshallingExecutor.Mapping() {
+                @Override
+                public Object map() {
+                    return cache.mapped(view, intervals, mapper);
                 }
-                cryptoProperties.putMap("fiatAmount", fiatAmounts);
-            }
+            });
+            return;
+        }
 
-            if (transaction.getCryptoProperties().getFiatFee() == null) {
-                cryptoProperties.putNull("fiatFee");
-            } else {
-                WritableMap fiatFee = Arguments.createMap();
-                for (HashMap.Entry entry :
-                        transaction.getCryptoProperties().getFiatFee().entrySet()) {
-                    fiatFee.putDouble((String) entry.getKey(), ((Double) entry.getValue()));
-                }
-                cryptoProperties.putMap("fiatFee", fiatFee);
+        // Both views share one fetch, each waiter maps merged rates into its own view
+        // Historical rates do not depend on the user, a fetch survives sign in and sign out
+        String key = this.singleFlight.globalKeyOf("fetchHistoricalExchangeRates");
+        SingleFlight.Waiter waiter = sharedWaiter(promise, new SingleFlight.Share() {
+            @Override
+            public Object resultOf(Object shared) {
+                return cache.mapped(view, intervals, mapper);
             }
-
-            map.putMap("cryptoProperties", cryptoProperties);
+        });
+        if (!this.singleFlight.join(key, waiter)) {
+            return;
         }
 
-        if (transaction.getFiatProperties() == null) {
-            map.putNull("fiatProperties");
-        } else {
-            WritableMap fiatProperties = Arguments.createMap();
-
-            if (transaction.getFiatProperties().getFromFiatAccount() == null) {
-                fiatProperties.putNull("fromFiatAccount");
-            } else {
-                fiatProperties.putMap("fromFiatAccount",
-                        mapAccountFiatProperties(
-                                transaction.getFiatProperties().getFromFiatAccount()));
+        RNZumoKitModule module = this;
+        this.zumokit.fetchHistoricalExchangeRates(new HistoricalExchangeRatesCallback() {
+            @Override
+            public void onError(Exception e) {
+                module.singleFlight.reject(key, e);
             }
 
-            if (transaction.getFiatProperties().getToFiatAccount() == null) {
-                fiatProperties.putNull("toFiatAccount");
-            } else {
-                fiatProperties.putMap("toFiatAccount",
-                        mapAccountFiatProperties(
-                                transaction.getFiatProperties().getToFiatAccount()));
+            @Override
+            public void onSuccess(
+                    HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> historicalExchangeRates
+            ) {
+                resolveShared(key, new MarshallingExecutor.Mapping() {
+                    @Override
+                    public Object map() {
+                        // Result of a replaced SDK instance must not fill caches of the new one
+                        if (module.singleFlight.isInFlight(key)) {
+                            cache.update(historicalExchangeRates);
+                        }
+                        return null;
+                    }
+                });
             }
+        });
+    }
 
-            map.putMap("fiatProperties", fiatProperties);
+    @ReactMethod
+    public void generateMnemonic(int wordLength, Promise promise) {
+        startCall("generateMnemonic", promise);
+
+        if (this.zumokit == null) {
+            rejectPromise(promise, "ZumoKit not initialized.");
+            return;
         }
 
-        if (transaction.getCardProperties() == null) {
-            map.putNull("cardProperties");
-        } else {
-            WritableMap cardProperties = Arguments.createMap();
-
-            cardProperties.putString("cardId", transaction.getCardProperties().getCardId());
-            cardProperties.putString("transactionAmount",
-                    transaction.getCardProperties().getTransactionAmount().toPlainString());
-            cardProperties.putString("transactionCurrency",
-                    transaction.getCardProperties().getTransactionCurrency());
-            cardProperties.putString("billingAmount",
-                    transaction.getCardProperties().getBillingAmount().toPlainString());
-            cardProperties.putString("billingCurrency",
-                    transaction.getCardProperties().getBillingCurrency());
-            cardProperties.putString("exchangeRateValue",
-                    transaction.getCardProperties().getExchangeRateValue().toPlainString());
-
-            if (transaction.getCardProperties().getMcc() == null) {
-                cardProperties.putNull("mcc");
-            } else {
-                cardProperties.putString("mcc", transaction.getCardProperties().getMcc());
-            }
+        try {
+            String mnemonic = this.zumokit.getUtils().generateMnemonic(wordLength);
+            resolvePromise(promise, mnemonic);
+        } catch (Exception e) {
+            rejectPromise(promise, e);
+        }
+    }
 
-            if (transaction.getCardProperties().getMcc() == null) {
-                cardProperties.putNull("mcc");
-            } else {
-                cardProperties.putString("mcc", transaction.getCardProperties().getMcc());
-            }
+    @ReactMethod
+    public void getSingleFlightStats(Promise promise) {
+        promise.resolve(this.singleFlight.getStats());
+    }
 
-            if (transaction.getCardProperties().getMerchantName() == null) {
-                cardProperties.putNull("merchantName");
-            } else {
-                cardProperties.putString("merchantName",
-                        transaction.getCardProperties().getMerchantName());
-            }
+    @ReactMethod
+    public void getMarshallingStats(Promise promise) {
+        promise.resolve(this.marshallingExecutor.getStats());
+    }
 
-            if (transaction.getCardProperties().getMerchantCountry() == null) {
-                cardProperties.putNull("merchantCountry");
-            } else {
-                cardProperties.putString("merchantCountry",
-                        transaction.getCardProperties().getMerchantCountry());
-            }
+    @ReactMethod
+    public void setPayloadAccounting(boolean enabled) {
+        this.payloadSizes.setEnabled(enabled);
+    }
 
-            map.putMap("cardProperties", cardProperties);
-        }
+    @ReactMethod
+    public void getPayloadStats(Promise promise) {
+        promise.resolve(this.payloadSizes.getStats());
+    }
 
-        if (transaction.getCustodyOrder() == null) {
-            map.putNull("custodyOrder");
-        } else {
-            WritableMap custodyOrder = Arguments.createMap();
+    @ReactMethod
+    public void resetPayloadStats() {
+        this.payloadSizes.reset();
+    }
 
-            custodyOrder.putString("id", transaction.getCustodyOrder().getId());
-            custodyOrder.putString("type", transaction.getCustodyOrder().getType());
-            custodyOrder.putString("status", transaction.getCustodyOrder().getStatus());
+    @ReactMethod
+    public void setTracing(boolean enabled, int capacity) {
+        this.traceRecorder.configure(enabled, capacity);
+    }
 
-            if (transaction.getCustodyOrder().getAmount() == null) {
-                custodyOrder.putNull("amount");
-            } else {
-                custodyOrder.putString("amount",
-                        transaction.getCustodyOrder().getAmount().toPlainString());
-            }
+    @ReactMethod
+    public void getTraceStats(Promise promise) {
+        promise.resolve(this.traceRecorder.getStats());
+    }
 
-            custodyOrder.putBoolean("feeInAmount", transaction.getCustodyOrder().getFeeInAmount());
+    @ReactMethod
+    public void clearTrace() {
+        this.traceRecorder.clear();
+    }
 
-            if (transaction.getCustodyOrder().getEstimatedFees() == null) {
-                custodyOrder.putNull("estimatedFees");
-            } else {
-                custodyOrder.putString("estimatedFees",
-                        transaction.getCustodyOrder().getEstimatedFees().toPlainString());
-            }
+    @ReactMethod
+    public void dumpTrace(Promise promise) {
+        try {
+            File file = this.traceRecorder.dump(this.reactContext.getCacheDir());
+            promise.resolve(file.getAbsolutePath());
+        } catch (IOException e) {
+            rejectPromise(promise, e.getMessage());
+        }
+    }
 
-            if (transaction.getCustodyOrder().getFees() == null) {
-                custodyOrder.putNull("fees");
-            } else {
-                custodyOrder.putString("fees",
-                        transaction.getCustodyOrder().getFees().toPlainString());
-            }
+    @ReactMethod
+    public void getMetrics(Promise promise) {
+        promise.resolve(this.methodMetrics.getSnapshot());
+    }
 
-            if (transaction.getCustodyOrder().getFromAddresses() == null) {
-                custodyOrder.putNull("fromAddresses");
-            } else {
-                WritableArray fromAddresses = Arguments.createArray();
+    @ReactMethod
+    public void resetMetrics() {
+        this.methodMetrics.reset();
+    }
 
-                for (String address : transaction.getCustodyOrder().getFromAddresses()) {
-                    fromAddresses.pushString(address);
-                }
+    @ReactMethod
+    public void setMetricsInterval(int intervalMs) {
+        this.methodMetrics.setInterval(intervalMs);
+    }
 
-                custodyOrder.putArray("fromAddresses", fromAddresses);
-            }
+    @ReactMethod
+    public void isValidAddress(String currencyCode, String address, String network, Promise promise) {
+        startCall("isValidAddress", promise);
+
+        try {
+            Boolean valid = this.zumokit.getUtils().isValidAddress(currencyCode, address, network);
+            resolvePromise(promise, valid);
+        } catch (Exception e) {
+            rejectPromise(promise, e);
+        }
+    }
+
+    // - Helpers
 
-            if (transaction.getCustodyOrder().getFromAccountId() == null) {
-                custodyOrder.putNull("fromAccountId");
-            } else {
-                custodyOrder.putString("fromAccountId",
-                        transaction.getCustodyOrder().getFromAccountId());
+    static MappedModelCache<Account> createAccountCache(int maxSize) {
+        return new MappedModelCache<Account>(maxSize) {
+            @Override
+            String idOf(Account account) {
+                return account.getId();
             }
 
-            if (transaction.getCustodyOrder().getFromUserId() == null) {
-                custodyOrder.putNull("fromUserId");
-            } else {
-                custodyOrder.putString("fromUserId", transaction.getCustodyOrder().getFromUserId());
+            @Override
+            long fingerprintOf(Account account) {
+                return ModelFingerprint.revisionOf(account);
             }
 
-            if (transaction.getCustodyOrder().getFromUserIntegratorId() == null) {
-                custodyOrder.putNull("fromUserIntegratorId");
-            } else {
-                custodyOrder.putString("fromUserIntegratorId",
-                        transaction.getCustodyOrder().getFromUserIntegratorId());
+            @Override
+            void write(PayloadSink sink, Account account) {
+                ModelMapper.writeAccount(sink, account);
             }
 
-            if (transaction.getCustodyOrder().getToAddress() == null) {
-                custodyOrder.putNull("toAddress");
-            } else {
-                custodyOrder.putString("toAddress", transaction.getCustodyOrder().getToAddress());
+            @Override
+            WritablePayloadSink createSink() {
+                return new WritablePayloadSink();
             }
+        };
+    }
 
-            if (transaction.getCustodyOrder().getToAccountId() == null) {
-                custodyOrder.putNull("toAccountId");
-            } else {
-                custodyOrder.putString("toAccountId", transaction.getCustodyOrder().getToAccountId());
+    static MappedModelCache<Transaction> createTransactionCache(int maxSize) {
+        return new MappedModelCache<Transaction>(maxSize) {
+            @Override
+            String idOf(Transaction transaction) {
+                return transaction.getId();
             }
 
-            if (transaction.getCustodyOrder().getToUserId() == null) {
-                custodyOrder.putNull("toUserId");
-            } else {
-                custodyOrder.putString("toUserId", transaction.getCustodyOrder().getToUserId());
+            @Override
+            long fingerprintOf(Transaction transaction) {
+                return ModelFingerprint.revisionOf(transaction);
             }
 
-            if (transaction.getCustodyOrder().getToUserIntegratorId() == null) {
-                custodyOrder.putNull("toUserIntegratorId");
-            } else {
-                custodyOrder.putString("toUserIntegratorId",
-                        transaction.getCustodyOrder().getToUserIntegratorId());
+            @Override
+            void write(PayloadSink sink, Transaction transaction) {
+                ModelMapper.writeTransaction(sink, transaction);
             }
 
-            custodyOrder.putInt("createdAt", transaction.getCustodyOrder().getCreatedAt());
-            custodyOrder.putInt("updatedAt", transaction.getCustodyOrder().getUpdatedAt());
+            @Override
+            WritablePayloadSink createSink() {
+                return new WritablePayloadSink();
+            }
+        };
+    }
 
-            map.putMap("custodyOrder", custodyOrder);
-        }
+    public static WritableMap mapError(Exception e) {
+        WritableMap userInfo = Arguments.createMap();
+        WritableMap map = Arguments.createMap();
 
-        if (transaction.getExchange() == null) {
-            map.putNull("exchange");
+        if (e instanceof ZumoKitException) {
+            ZumoKitException error = (ZumoKitException) e;
+            userInfo.putString("type", error.getErrorType());
+            map.putString("code", error.getErrorCode());
         } else {
-            map.putMap("exchange", mapExchange(transaction.getExchange()));
+            userInfo.putString("type", ZumoKitErrorType.INVALID_REQUEST_ERROR);
+            map.putString("code", ZumoKitErrorCode.UNKNOWN_ERROR);
         }
 
+        map.putString("message", e.getMessage());
+        map.putMap("userInfo", userInfo);
+
         return map;
     }
 
-    public static WritableMap mapTransactionFeeRate(TransactionFeeRate rate) {
-       WritableMap mappedRates = Arguments.createMap();
-
-       mappedRates.putString("slow", rate.getSlow().toPlainString());
-       mappedRates.putString("average", rate.getAverage().toPlainString());
-       mappedRates.putString("fast", rate.getFast().toPlainString());
-       mappedRates.putDouble("slowTime", rate.getSlowTime());
-       mappedRates.putDouble("averageTime", rate.getAverageTime());
-       mappedRates.putDouble("fastTime", rate.getFastTime());
-       mappedRates.putString("source", rate.getSource());
+    public static HashMap<String, String> toHashMap(ReadableMap readableMap) {
+        HashMap<String, String> result = new HashMap<String, String>();
 
-       return mappedRates;
-    }
+        if (readableMap == null) {
+            return result;
+        }
 
-    public static WritableMap mapTransactionFeeRates(HashMap<String, TransactionFeeRate> feeRates) {
-        WritableMap map = Arguments.createMap();
+        ReadableMapKeySetIterator iterator = readableMap.keySetIterator();
 
-        for (HashMap.Entry<String, TransactionFeeRate> entry : feeRates.entrySet()) {
-            String currency = entry.getKey();
-            TransactionFeeRate feeRate = entry.getValue();
+        if (!iterator.hasNextKey()) {
+            return result;
+        }
 
-            map.putMap(currency, mapTransactionFeeRate(feeRate));
+        while (iterator.hasNextKey()) {
+            String key = iterator.nextKey();
+            result.put(key, readableMap.getString(key));
         }
 
-        return map;
+        return result;
     }
 
-    public static WritableMap mapComposedExchange(ComposedExchange exchange) {
-        WritableMap map = Arguments.createMap();
+    public static ArrayList<String> toStringList(ReadableArray readableArray) {
+        if (readableArray == null) {
+            return null;
+        }
 
-        map.putMap("debitAccount", RNZumoKitModule.mapAccount(exchange.getDebitAccount()));
-        map.putMap("creditAccount", RNZumoKitModule.mapAccount(exchange.getCreditAccount()));
-        map.putMap("quote", RNZumoKitModule.mapQuote(exchange.getQuote()));
+        ArrayList<String> result = new ArrayList<>(readableArray.size());
+        for (int i = 0; i < readableArray.size(); i++) {
+            result.add(readableArray.getString(i));
+        }
 
-        return map;
+        return result;
     }
 
-    public static WritableMap mapExchange(Exchange exchange) {
-        WritableMap map = Arguments.createMap();
-
-        map.putString("id", exchange.getId());
-        map.putString("status", exchange.getStatus());
-        map.putString("pair", exchange.getPair());
-        map.putString("side", exchange.getSide());
-        map.putString("price", exchange.getPrice().toPlainString());
-        map.putString("amount", exchange.getAmount().toPlainString());
-        map.putString("debitAccountId", exchange.getDebitAccountId());
-        map.putString("creditAccountId", exchange.getCreditAccountId());
-
-        if (exchange.getDebitTransactionId() == null) {
-            map.putNull("debitTransactionId");
-        } else {
-            map.putString("debitTransactionId", exchange.getDebitTransactionId());
-        }
+    public static WritableMap mapAccountFiatProperties(AccountFiatProperties accountFiatProperties) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeAccountFiatProperties(sink, accountFiatProperties);
+        return sink.getMap();
+    }
 
-        if (exchange.getCreditTransactionId() == null) {
-            map.putNull("creditTransactionId");
-        } else {
-            map.putString("creditTransactionId", exchange.getCreditTransactionId());
-        }
+    public static WritableMap mapCard(Card card) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeCard(sink, card);
+        return sink.getMap();
+    }
 
-        map.putMap("quote", RNZumoKitModule.mapQuote(exchange.getQuote()));
+    public static WritableMap mapAccount(Account account) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeAccount(sink, account);
+        return sink.getMap();
+    }
 
-        WritableMap rates = Arguments.createMap();
-        for (HashMap.Entry<String, HashMap<String, BigDecimal>> outerEntry :
-                exchange.getRates().entrySet()) {
-            String fromCurrency = outerEntry.getKey();
-            WritableMap innerMap = Arguments.createMap();
+    public static WritableArray mapAccounts(ArrayList<Account> accounts) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeAccounts(sink, accounts);
+        return sink.getArray();
+    }
 
-            for (HashMap.Entry<String, BigDecimal> innerEntry :
-                    outerEntry.getValue().entrySet()) {
-                String toCurrency = innerEntry.getKey();
-                String rate = innerEntry.getValue().toPlainString();
-                innerMap.putString(toCurrency, rate);
-            }
+    public static WritableMap mapComposedTransaction(ComposedTransaction transaction) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeComposedTransaction(sink, transaction);
+        return sink.getMap();
+    }
 
-            rates.putMap(fromCurrency, innerMap);
-        }
-        map.putMap("rates", rates);
+    public static WritableArray mapTransactionAmounts(ArrayList<TransactionAmount> transactionAmounts) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeTransactionAmounts(sink, transactionAmounts);
+        return sink.getArray();
+    }
 
-        if (exchange.getNonce() == null) {
-            map.putNull("nonce");
-        } else {
-            map.putString("nonce", exchange.getNonce());
-        }
+    public static WritableArray mapInternalTransactions(ArrayList<InternalTransaction> internalTransactions) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeInternalTransactions(sink, internalTransactions);
+        return sink.getArray();
+    }
 
-        map.putString("createdAt", exchange.getCreatedAt());
-        map.putString("updatedAt", exchange.getUpdatedAt());
+    public static WritableArray mapTransactions(ArrayList<Transaction> transactions) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeTransactions(sink, transactions);
+        return sink.getArray();
+    }
 
-        return map;
+    public static WritableMap mapTransactionAmount(TransactionAmount transactionAmount) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeTransactionAmount(sink, transactionAmount);
+        return sink.getMap();
     }
 
-    public static WritableArray mapExchanges(ArrayList<Exchange> exchanges) {
-        WritableArray response = Arguments.createArray();
+    public static WritableMap mapInternalTransaction(InternalTransaction internalTransaction) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeInternalTransaction(sink, internalTransaction);
+        return sink.getMap();
+    }
 
-        for (Exchange exchange : exchanges) {
-            WritableMap map = RNZumoKitModule.mapExchange(exchange);
-            response.pushMap(map);
-        }
+    public static WritableMap mapTransaction(Transaction transaction) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeTransaction(sink, transaction);
+        return sink.getMap();
+    }
 
-        return response;
+    public static WritableMap mapTransactionFeeRate(TransactionFeeRate rate) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeTransactionFeeRate(sink, rate);
+        return sink.getMap();
     }
 
-    public static WritableMap mapExchangeRate(ExchangeRate rate) {
-        WritableMap mappedRate = Arguments.createMap();
+    public static WritableMap mapTransactionFeeRates(HashMap<String, TransactionFeeRate> feeRates) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeTransactionFeeRates(sink, feeRates);
+        return sink.getMap();
+    }
 
-        mappedRate.putString("id", rate.getId());
-        mappedRate.putString("fromCurrency", rate.getFromCurrency());
-        mappedRate.putString("toCurrency", rate.getToCurrency());
-        mappedRate.putString("value", rate.getValue().toPlainString());
-        mappedRate.putInt("timestamp", rate.getTimestamp());
+    public static WritableMap mapComposedExchange(ComposedExchange exchange) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeComposedExchange(sink, exchange);
+        return sink.getMap();
+    }
 
-        return mappedRate;
+    public static WritableMap mapExchange(Exchange exchange) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeExchange(sink, exchange);
+        return sink.getMap();
     }
 
-    public static WritableMap mapQuote(Quote quote) {
-        WritableMap mappedQuote = Arguments.createMap();
+    public static WritableArray mapExchanges(ArrayList<Exchange> exchanges) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeExchanges(sink, exchanges);
+        return sink.getArray();
+    }
 
-        mappedQuote.putString("id", quote.getId());
-        mappedQuote.putInt("ttl", quote.getTtl());
-        mappedQuote.putString("createdAt", quote.getCreatedAt());
-        mappedQuote.putString("expiresAt", quote.getExpiresAt());
-        mappedQuote.putString("debitCurrency", quote.getDebitCurrency());
-        mappedQuote.putString("creditCurrency", quote.getCreditCurrency());
-        mappedQuote.putString("price", quote.getPrice().toPlainString());
-        mappedQuote.putString("feeRate", quote.getFeeRate().toPlainString());
-        mappedQuote.putString("debitAmount", quote.getDebitAmount().toPlainString());
-        mappedQuote.putString("feeAmount", quote.getFeeAmount().toPlainString());
-        mappedQuote.putString("creditAmount", quote.getCreditAmount().toPlainString());
+    public static WritableMap mapExchangeRate(ExchangeRate rate) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeExchangeRate(sink, rate);
+        return sink.getMap();
+    }
 
-        return mappedQuote;
+    public static WritableMap mapQuote(Quote quote) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeQuote(sink, quote);
+        return sink.getMap();
     }
 
     public static WritableMap mapExchangeRates(
             HashMap<String, HashMap<String, ExchangeRate>> exchangeRates
     ) {
-        WritableMap outerMap = Arguments.createMap();
-
-        for (HashMap.Entry<String, HashMap<String, ExchangeRate>> outerEntry :
-                exchangeRates.entrySet()) {
-            String fromCurrency = outerEntry.getKey();
-            WritableMap innerMap = Arguments.createMap();
-
-            for (HashMap.Entry<String, ExchangeRate> innerEntry :
-                    outerEntry.getValue().entrySet()) {
-                String toCurrency = innerEntry.getKey();
-                WritableMap rate = RNZumoKitModule.mapExchangeRate(innerEntry.getValue());
-                innerMap.putMap(toCurrency, rate);
-            }
-
-            outerMap.putMap(fromCurrency, innerMap);
-        }
-
-        return outerMap;
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeExchangeRates(sink, exchangeRates);
+        return sink.getMap();
     }
 
-
     public static WritableMap mapHistoricalExchangeRates(HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> historicalExchangeRates) {
-        WritableMap outerOuterMap = Arguments.createMap();
-
-        for (HashMap.Entry<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> outerOuterEntry : historicalExchangeRates.entrySet()) {
-
-            String timeInterval = outerOuterEntry.getKey();
-            WritableMap outerMap = Arguments.createMap();
-
-            for (HashMap.Entry<String, HashMap<String, ArrayList<ExchangeRate>>> outerEntry : outerOuterEntry.getValue().entrySet()) {
-
-                String fromCurrency = outerEntry.getKey();
-                WritableMap innerMap = Arguments.createMap();
-
-                for (HashMap.Entry<String, ArrayList<ExchangeRate>> innerEntry : outerEntry.getValue().entrySet()) {
-
-                    String toCurrency = innerEntry.getKey();
-
-                    WritableArray array = Arguments.createArray();
-
-                    for (ExchangeRate rate : innerEntry.getValue()) {
-                        WritableMap map = RNZumoKitModule.mapExchangeRate(rate);
-                        array.pushMap(map);
-                    }
-
-                    innerMap.putArray(toCurrency, array);
-                }
-
-                outerMap.putMap(fromCurrency, innerMap);
-            }
-
-            outerOuterMap.putMap(timeInterval, outerMap);
-        }
-
-        return outerOuterMap;
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeHistoricalExchangeRates(sink, historicalExchangeRates);
+        return sink.getMap();
     }
 
-  public static WritableMap mapAccountDataSnapshot(AccountDataSnapshot snapshot) {
-      WritableMap map = Arguments.createMap();
-
-      WritableMap account = RNZumoKitModule.mapAccount(snapshot.getAccount());
-      map.putMap("account", account);
-
-      WritableArray transactions = RNZumoKitModule.mapTransactions(snapshot.getTransactions());
-      map.putArray("transactions", transactions);
-
-      return map;
-  }
-
-
-  public static WritableArray mapAccountData(ArrayList<AccountDataSnapshot> snapshots) {
-      WritableArray res = Arguments.createArray();
+    public static WritableMap mapHistoricalExchangeRateSeries(HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> historicalExchangeRates) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeHistoricalExchangeRateSeries(sink, historicalExchangeRates);
+        return sink.getMap();
+    }
 
-      for (AccountDataSnapshot snapshot : snapshots) {
-        res.pushMap(mapAccountDataSnapshot(snapshot));
-      }
+    public static WritableMap mapAccountDataSnapshot(AccountDataSnapshot snapshot) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeAccountDataSnapshot(sink, snapshot);
+        return sink.getMap();
+    }
 
-      return res;
+    public static WritableArray mapAccountData(ArrayList<AccountDataSnapshot> snapshots) {
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeAccountData(sink, snapshots);
+        return sink.getArray();
     }
 
     public static WritableMap mapKbaQuestion(KbaQuestion question) {
-        WritableMap mappedQuestion = Arguments.createMap();
-
-        mappedQuestion.putString("type", question.getType());
-        mappedQuestion.putString("question", question.getQuestion());
-
-        return mappedQuestion;
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeKbaQuestion(sink, question);
+        return sink.getMap();
     }
 
     public static WritableMap mapAuthenticationConfig(AuthenticationConfig config) {
-        WritableArray knowledgeBase = Arguments.createArray();
-
-        for (KbaQuestion question : config.getKnowledgeBase()) {
-            knowledgeBase.pushMap(mapKbaQuestion(question));
-        }
-
-        WritableMap mappedConfig = Arguments.createMap();
-
-        mappedConfig.putArray("knowledgeBase", knowledgeBase);
-
-        return mappedConfig;
+        WritablePayloadSink sink = new WritablePayloadSink();
+        ModelMapper.writeAuthenticationConfig(sink, config);
+        return sink.getMap();
     }
 
     public static Account unboxAccount(ReadableMap map) {
@@ -2026,6 +2617,16 @@ public class RNZumoKitModule extends ReactContextBaseJavaModule {
         return res;
     }
 
+    @Override
+    public void onCatalystInstanceDestroy() {
+        this.marshallingExecutor.shutdown();
+        this.accountDataCoalescer.shutdown();
+        this.logBuffer.shutdown();
+        this.methodMetrics.shutdown();
+        this.quoteSubscriptions.shutdown();
+        this.accountDataStore.shutdown();
+    }
+
     @Override
     public Map<String, Object> getConstants() {
         final Map<String, Object> constants = new HashMap<>();
@@ -0,0 +1,203 @@
+package com.zumokit.reactnative;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Passes payload on to another sink and records it at the same time. Recording
+ * is immutable and can be replayed into any number of sinks later, without
+ * reading the models again.
+ * <p>
+ * Decimals are passed on and recorded as the plain strings sent to JS, so that
+ * replaying them does not format them again.
+ */
+public class RecordingPayloadSink implements PayloadSink {
+
+    private static final byte BEGIN_MAP = 1;
+    private static final byte END_MAP = 2;
+    private static final byte BEGIN_ARRAY = 3;
+    private static final byte END_ARRAY = 4;
+    private static final byte KEY = 5;
+    private static final byte NULL = 6;
+    private static final byte STRING = 7;
+    private static final byte INT = 8;
+    private static final byte DOUBLE = 9;
+    private static final byte TRUE = 10;
+    private static final byte FALSE = 11;
+
+    /**
+     * Recorded payload. Holds only immutable values, so it can be shared between
+     * threads.
+     */
+    public static final class Recording {
+        private final byte[] ops;
+        private final Object[] values;
+
+        private Recording(byte[] ops, Object[] values) {
+            this.ops = ops;
+            this.values = values;
+        }
+
+        public void replay(PayloadSink sink) {
+            int value = 0;
+            for (byte op : ops) {
+                switch (op) {
+                    case BEGIN_MAP:
+                        sink.beginMap();
+                        break;
+                    case END_MAP:
+                        sink.endMap();
+                        break;
+                    case BEGIN_ARRAY:
+                        sink.beginArray();
+                        break;
+                    case END_ARRAY:
+                        sink.endArray();
+                        break;
+                    case KEY:
+                        sink.key((String) values[value++]);
+                        break;
+                    case NULL:
+                        sink.nullValue();
+                        break;
+                    case STRING:
+                        sink.value((String) values[value++]);
+                        break;
+                    case INT:
+                        sink.value((int) (Integer) values[value++]);
+                        break;
+                    case DOUBLE:
+                        sink.value((double) (Double) values[value++]);
+                        break;
+                    case TRUE:
+                        sink.value(true);
+                        break;
+                    case FALSE:
+                        sink.value(false);
+                        break;
+                }
+            }
+        }
+    }
+
+    private final PayloadSink delegate;
+
+    private byte[] ops = new byte[64];
+
+    private Object[] values = new Object[32];
+
+    private int opCount = 0;
+
+    private int valueCount = 0;
+
+    public RecordingPayloadSink(PayloadSink delegate) {
+        this.delegate = delegate;
+    }
+
+    public Recording getRecording() {
+        return new Recording(
+                Arrays.copyOf(ops, opCount),
+                Arrays.copyOf(values, valueCount)
+        );
+    }
+
+    @Override
+    public PayloadSink beginMap() {
+        record(BEGIN_MAP);
+        delegate.beginMap();
+        return this;
+    }
+
+    @Override
+    public PayloadSink endMap() {
+        record(END_MAP);
+        delegate.endMap();
+        return this;
+    }
+
+    @Override
+    public PayloadSink beginArray() {
+        record(BEGIN_ARRAY);
+        delegate.beginArray();
+        return this;
+    }
+
+    @Override
+    public PayloadSink endArray() {
+        record(END_ARRAY);
+        delegate.endArray();
+        return this;
+    }
+
+    @Override
+    public PayloadSink key(String name) {
+        record(KEY, name);
+        delegate.key(name);
+        return this;
+    }
+
+    @Override
+    public PayloadSink nullValue() {
+        record(NULL);
+        delegate.nullValue();
+        return this;
+    }
+
+    @Override
+    public PayloadSink value(String value) {
+        if (value == null) {
+            return nullValue();
+        }
+
+        record(STRING, value);
+        delegate.value(value);
+        return this;
+    }
+
+    @Override
+    public PayloadSink value(BigDecimal value) {
+        return value(value == null ? null : value.toPlainString());
+    }
+
+    @Override
+    public PayloadSink value(Integer value) {
+        return value == null ? nullValue() : value(value.intValue());
+    }
+
+    @Override
+    public PayloadSink value(int value) {
+        record(INT, value);
+        delegate.value(value);
+        return this;
+    }
+
+    @Override
+    public PayloadSink value(double value) {
+        record(DOUBLE, value);
+        delegate.value(value);
+        return this;
+    }
+
+    @Override
+    public PayloadSink value(boolean value) {
+        record(value ? TRUE : FALSE);
+        delegate.value(value);
+        return this;
+    }
+
+    private void record(byte op) {
+        if (opCount == ops.length) {
+            ops = Arrays.copyOf(ops, ops.length * 2);
+        }
+        ops[opCount++] = op;
+    }
+
+    private void record(byte op, Object value) {
+        record(op);
+
+        if (valueCount == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[valueCount++] = value;
+    }
+}
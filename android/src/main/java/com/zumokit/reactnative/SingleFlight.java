@@ -0,0 +1,199 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+
+/**
+ * Lets concurrent identical requests share one in-flight SDK request. First
+ * caller of a key starts the request, later callers wait for its result, and
+ * every waiter is handed the same shared result once it is ready.
+ * <p>
+ * Shared result is handed out as is. Waiters that pass it over the bridge have to
+ * make their own copy, since writable maps are consumed.
+ * <p>
+ * Keys of user requests are scoped to a session by {@link #keyOf}.
+ * {@link #endSession} starts a new session, so that callers of a new user never
+ * join a request of the previous one, and late results of the previous session
+ * reach no one. Requests that do not depend on the user, keyed by
+ * {@link #globalKeyOf}, are left running. {@link #reset} ends every request, for
+ * when the SDK instance itself is replaced.
+ */
+final class SingleFlight {
+
+    interface Waiter {
+        /**
+         * @param mappedNanos time spent mapping the shared result, before waiters got it
+         */
+        void resolve(Object result, long mappedNanos);
+
+        void reject(Exception error);
+    }
+
+    /**
+     * Derives result of a single waiter from the shared result.
+     */
+    interface Share {
+        Object resultOf(Object shared);
+    }
+
+    /**
+     * Hands every waiter its own copy of a shared writable map.
+     */
+    static final Share COPY = new Share() {
+        @Override
+        public Object resultOf(Object shared) {
+            if (!(shared instanceof WritableMap)) {
+                return shared;
+            }
+
+            WritableMap copy = Arguments.createMap();
+            copy.merge((WritableMap) shared);
+            return copy;
+        }
+    };
+
+    private final HashMap<String, ArrayList<Waiter>> inFlight = new HashMap<>();
+
+    private final HashMap<String, Long> deduplicated = new HashMap<>();
+
+    private long flights = 0;
+
+    private long instance = 0;
+
+    private long session = 0;
+
+    /**
+     * Returns key of a request of given name in the current session.
+     */
+    public synchronized String keyOf(String name) {
+        return sessionPrefix() + name;
+    }
+
+    /**
+     * Returns key of a request of given name that does not depend on the session.
+     */
+    public synchronized String globalKeyOf(String name) {
+        return instance + "/" + name;
+    }
+
+    /**
+     * Adds waiter to the request of given key.
+     *
+     * @return true if no request of given key is in flight and caller has to start it
+     */
+    public synchronized boolean join(String key, Waiter waiter) {
+        ArrayList<Waiter> waiters = inFlight.get(key);
+        if (waiters != null) {
+            waiters.add(waiter);
+
+            String name = key.substring(key.indexOf('/') + 1);
+            Long count = deduplicated.get(name);
+            deduplicated.put(name, count == null ? 1 : count + 1);
+            return false;
+        }
+
+        waiters = new ArrayList<>();
+        waiters.add(waiter);
+        inFlight.put(key, waiters);
+        flights++;
+        return true;
+    }
+
+    /**
+     * Returns false once request of given key has completed or its session or
+     * instance has ended.
+     */
+    public synchronized boolean isInFlight(String key) {
+        return inFlight.containsKey(key);
+    }
+
+    public void resolve(String key, Object result, long mappedNanos) {
+        for (Waiter waiter : complete(key)) {
+            waiter.resolve(result, mappedNanos);
+        }
+    }
+
+    public void reject(String key, Exception error) {
+        for (Waiter waiter : complete(key)) {
+            waiter.reject(error);
+        }
+    }
+
+    /**
+     * Starts a new session and rejects every waiter of a session request of the
+     * previous one. Global requests are left in flight.
+     */
+    public void endSession() {
+        ArrayList<Waiter> waiters = new ArrayList<>();
+        synchronized (this) {
+            String prefix = sessionPrefix();
+            Iterator<HashMap.Entry<String, ArrayList<Waiter>>> iterator =
+                    inFlight.entrySet().iterator();
+            while (iterator.hasNext()) {
+                HashMap.Entry<String, ArrayList<Waiter>> entry = iterator.next();
+                if (entry.getKey().startsWith(prefix)) {
+                    waiters.addAll(entry.getValue());
+                    iterator.remove();
+                }
+            }
+            session++;
+        }
+
+        rejectAll(waiters, new IllegalStateException("Session ended."));
+    }
+
+    /**
+     * Starts a new instance and session and rejects every waiter.
+     */
+    public void reset() {
+        ArrayList<Waiter> waiters = new ArrayList<>();
+        synchronized (this) {
+            instance++;
+            session++;
+            for (ArrayList<Waiter> keyWaiters : inFlight.values()) {
+                waiters.addAll(keyWaiters);
+            }
+            inFlight.clear();
+        }
+
+        rejectAll(waiters, new IllegalStateException("Session ended."));
+    }
+
+    public synchronized WritableMap getStats() {
+        WritableMap deduplicatedMap = Arguments.createMap();
+        long total = 0;
+        for (HashMap.Entry<String, Long> entry : deduplicated.entrySet()) {
+            deduplicatedMap.putDouble(entry.getKey(), entry.getValue());
+            total += entry.getValue();
+        }
+
+        WritableMap stats = Arguments.createMap();
+
+        stats.putInt("inFlight", inFlight.size());
+        stats.putDouble("flights", flights);
+        stats.putDouble("deduplicated", total);
+        stats.putMap("deduplicatedByKey", deduplicatedMap);
+
+        return stats;
+    }
+
+    private String sessionPrefix() {
+        return instance + "." + session + "/";
+    }
+
+    private static void rejectAll(ArrayList<Waiter> waiters, Exception error) {
+        for (Waiter waiter : waiters) {
+            waiter.reject(error);
+        }
+    }
+
+    // Later callers start a new request once waiters of the previous one are taken
+    private synchronized ArrayList<Waiter> complete(String key) {
+        ArrayList<Waiter> waiters = inFlight.remove(key);
+        return waiters == null ? new ArrayList<Waiter>() : waiters;
+    }
+}
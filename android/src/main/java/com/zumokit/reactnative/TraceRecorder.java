@@ -0,0 +1,213 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashMap;
+
+/**
+ * Records method calls as async spans in a bounded in-memory buffer and dumps
+ * them as Chrome trace event JSON, viewable in chrome://tracing or Perfetto.
+ * <p>
+ * A span starts when method is invoked and ends when its promise is settled,
+ * SDK callback arrival and end of mapping are marked within the span. Every
+ * event carries the thread it was recorded on. When the buffer is full oldest
+ * events are dropped.
+ */
+final class TraceRecorder {
+
+    private static final class Event {
+        final String name;
+        final String phase;
+        final long timestampUs;
+        final long threadId;
+        final long callId;
+        final String error;
+
+        Event(String name, String phase, long timestampUs, long threadId, long callId, String error) {
+            this.name = name;
+            this.phase = phase;
+            this.timestampUs = timestampUs;
+            this.threadId = threadId;
+            this.callId = callId;
+            this.error = error;
+        }
+    }
+
+    private static final String CATEGORY = "RNZumoKit";
+
+    // Chrome trace viewer groups threads by process, module only ever records one
+    private static final int PROCESS_ID = 1;
+
+    private final long origin = System.nanoTime();
+
+    private final HashMap<Long, String> threadNames = new HashMap<>();
+
+    private Event[] events;
+
+    private int head = 0;
+
+    private int size = 0;
+
+    private long dropped = 0;
+
+    private volatile boolean enabled = false;
+
+    TraceRecorder(int capacity) {
+        this.events = new Event[Math.max(1, capacity)];
+    }
+
+    /**
+     * Enables or disables recording. Recorded events are dropped when capacity changes.
+     */
+    public synchronized void configure(boolean enabled, int capacity) {
+        if (capacity != events.length) {
+            events = new Event[Math.max(1, capacity)];
+            head = 0;
+            size = 0;
+        }
+
+        this.enabled = enabled;
+    }
+
+    public void begin(MethodMetrics.Call call) {
+        record(call, call == null ? null : call.getMethod(), "b", null);
+    }
+
+    public void mark(MethodMetrics.Call call, String name) {
+        record(call, name, "n", null);
+    }
+
+    /**
+     * Ends span of given call.
+     *
+     * @param error error code if promise was rejected, null otherwise
+     */
+    public void end(MethodMetrics.Call call, String error) {
+        record(call, call == null ? null : call.getMethod(), "e", error);
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < events.length; i++) {
+            events[i] = null;
+        }
+
+        threadNames.clear();
+        head = 0;
+        size = 0;
+        dropped = 0;
+    }
+
+    public synchronized WritableMap getStats() {
+        WritableMap stats = Arguments.createMap();
+
+        stats.putBoolean("enabled", enabled);
+        stats.putInt("recorded", size);
+        stats.putInt("capacity", events.length);
+        stats.putDouble("dropped", dropped);
+
+        return stats;
+    }
+
+    /**
+     * Writes recorded events to a new trace file in given directory.
+     *
+     * @return written trace file
+     */
+    public File dump(File directory) throws IOException {
+        Event[] recorded;
+        HashMap<Long, String> names;
+
+        synchronized (this) {
+            recorded = new Event[size];
+            for (int i = 0; i < size; i++) {
+                recorded[i] = events[(head + i) % events.length];
+            }
+            names = new HashMap<>(threadNames);
+        }
+
+        File file = new File(directory, "zumokit-trace-" + System.currentTimeMillis() + ".json");
+
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), "UTF-8"))) {
+            JsonPayloadSink sink = new JsonPayloadSink(writer);
+
+            sink.beginMap();
+            sink.key("displayTimeUnit").value("ms");
+            sink.key("traceEvents").beginArray();
+
+            for (HashMap.Entry<Long, String> entry : names.entrySet()) {
+                sink.beginMap()
+                        .key("name").value("thread_name")
+                        .key("ph").value("M")
+                        .key("pid").value(PROCESS_ID)
+                        .key("tid").value(entry.getKey().doubleValue())
+                        .key("args").beginMap()
+                        .key("name").value(entry.getValue())
+                        .endMap()
+                        .endMap();
+            }
+
+            for (Event event : recorded) {
+                sink.beginMap()
+                        .key("name").value(event.name)
+                        .key("cat").value(CATEGORY)
+                        .key("ph").value(event.phase)
+                        .key("ts").value((double) event.timestampUs)
+                        .key("pid").value(PROCESS_ID)
+                        .key("tid").value((double) event.threadId)
+                        .key("id").value(Long.toString(event.callId));
+
+                if (event.error != null) {
+                    sink.key("args").beginMap()
+                            .key("error").value(event.error)
+                            .endMap();
+                }
+
+                sink.endMap();
+            }
+
+            sink.endArray();
+            sink.endMap();
+        } catch (IllegalStateException e) {
+            // Sink wraps write failures
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+
+        return file;
+    }
+
+    private void record(MethodMetrics.Call call, String name, String phase, String error) {
+        if (!enabled || call == null) {
+            return;
+        }
+
+        long timestampUs = (System.nanoTime() - origin) / 1000;
+        Thread thread = Thread.currentThread();
+
+        synchronized (this) {
+            if (!threadNames.containsKey(thread.getId())) {
+                threadNames.put(thread.getId(), thread.getName());
+            }
+
+            Event event = new Event(name, phase, timestampUs, thread.getId(), call.getId(), error);
+            if (size == events.length) {
+                events[head] = event;
+                head = (head + 1) % events.length;
+                dropped++;
+            } else {
+                events[(head + size) % events.length] = event;
+                size++;
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trading pairs parsed once from the SDK catalog and indexed by currency pair and
+ * by currency, kept until time to live expires.
+ * <p>
+ * Pairs are converted field by field, so lookups return exactly what the SDK
+ * catalog holds. Writable maps are consumed when handed out, callers always
+ * receive a copy. Catalog is served parsed, JS never parses it again.
+ */
+final class TradingPairCatalog {
+
+    static final long DEFAULT_TTL_MS = 5 * 60 * 1000;
+
+    private static final String FROM_CURRENCY_KEY = "currencyFrom";
+
+    private static final String TO_CURRENCY_KEY = "currencyTo";
+
+    private boolean fetched = false;
+
+    private ArrayList<WritableMap> pairs = new ArrayList<>();
+
+    private HashMap<String, WritableMap> byPair = new HashMap<>();
+
+    private HashMap<String, ArrayList<WritableMap>> byCurrency = new HashMap<>();
+
+    private long fetchedAt = 0;
+
+    private long ttlMs = DEFAULT_TTL_MS;
+
+    private long hits = 0;
+
+    private long misses = 0;
+
+    /**
+     * Returns true if catalog was fetched and has not expired yet.
+     */
+    public synchronized boolean isFresh() {
+        return fetched && System.nanoTime() - fetchedAt < TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    /**
+     * Counts lookup served from the catalog as a cache hit, or one that had to wait
+     * for a fetch as a miss.
+     */
+    public synchronized void recordLookup(boolean hit) {
+        if (hit) {
+            hits++;
+        } else {
+            misses++;
+        }
+    }
+
+    /**
+     * Parses and indexes catalog fetched from the SDK.
+     *
+     * @throws IllegalArgumentException if catalog is not an array of trading pairs
+     */
+    public synchronized void update(String json) {
+        ArrayList<WritableMap> nextPairs = new ArrayList<>();
+        HashMap<String, WritableMap> nextByPair = new HashMap<>();
+        HashMap<String, ArrayList<WritableMap>> nextByCurrency = new HashMap<>();
+
+        try {
+            JSONArray pairs = new JSONArray(json);
+            for (int i = 0; i < pairs.length(); i++) {
+                JSONObject pair = pairs.optJSONObject(i);
+                if (pair == null) {
+                    throw new IllegalArgumentException("Invalid trading pair.");
+                }
+
+                // Pairs that cannot be indexed mean catalog format has changed
+                if (!pair.has(FROM_CURRENCY_KEY) || !pair.has(TO_CURRENCY_KEY)) {
+                    throw new IllegalArgumentException("Trading pair without currencies.");
+                }
+
+                String fromCurrency = pair.getString(FROM_CURRENCY_KEY);
+                String toCurrency = pair.getString(TO_CURRENCY_KEY);
+                WritableMap mapped = map(pair);
+
+                nextPairs.add(mapped);
+                nextByPair.put(pairKey(fromCurrency, toCurrency), mapped);
+                index(nextByCurrency, fromCurrency, mapped);
+                if (!toCurrency.equals(fromCurrency)) {
+                    index(nextByCurrency, toCurrency, mapped);
+                }
+            }
+        } catch (JSONException e) {
+            throw new IllegalArgumentException("Invalid trading pairs.", e);
+        }
+
+        this.fetched = true;
+        this.pairs = nextPairs;
+        this.byPair = nextByPair;
+        this.byCurrency = nextByCurrency;
+        this.fetchedAt = System.nanoTime();
+    }
+
+    /**
+     * Returns copies of all trading pairs, in catalog order.
+     */
+    public synchronized WritableArray getPairs() {
+        WritableArray array = Arguments.createArray();
+        for (WritableMap pair : pairs) {
+            array.pushMap(copy(pair));
+        }
+        return array;
+    }
+
+    /**
+     * Returns copy of trading pair, or null if currencies are not traded.
+     */
+    public synchronized WritableMap getPair(String fromCurrency, String toCurrency) {
+        WritableMap pair = byPair.get(pairKey(fromCurrency, toCurrency));
+        return pair == null ? null : copy(pair);
+    }
+
+    /**
+     * Returns copies of trading pairs that currency is either side of.
+     */
+    public synchronized WritableArray getPairsFor(String currency) {
+        WritableArray array = Arguments.createArray();
+
+        ArrayList<WritableMap> pairs = byCurrency.get(currency);
+        if (pairs != null) {
+            for (WritableMap pair : pairs) {
+                array.pushMap(copy(pair));
+            }
+        }
+
+        return array;
+    }
+
+    public synchronized void setTtl(long ttlMs) {
+        this.ttlMs = Math.max(0, ttlMs);
+    }
+
+    /**
+     * Marks catalog as expired, it is kept until next fetch replaces it.
+     */
+    public synchronized void invalidate() {
+        fetchedAt = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    public synchronized void clear() {
+        fetched = false;
+        pairs = new ArrayList<>();
+        byPair = new HashMap<>();
+        byCurrency = new HashMap<>();
+    }
+
+    public synchronized WritableMap getStats() {
+        WritableMap stats = Arguments.createMap();
+
+        stats.putInt("pairs", pairs.size());
+        stats.putInt("currencies", byCurrency.size());
+        stats.putDouble("ttlMs", ttlMs);
+        stats.putDouble("hits", hits);
+        stats.putDouble("misses", misses);
+
+        return stats;
+    }
+
+    private static void index(
+            HashMap<String, ArrayList<WritableMap>> byCurrency,
+            String currency,
+            WritableMap pair
+    ) {
+        ArrayList<WritableMap> pairs = byCurrency.get(currency);
+        if (pairs == null) {
+            pairs = new ArrayList<>();
+            byCurrency.put(currency, pairs);
+        }
+        pairs.add(pair);
+    }
+
+    private static String pairKey(String fromCurrency, String toCurrency) {
+        return fromCurrency + ":" + toCurrency;
+    }
+
+    private static WritableMap map(JSONObject object) {
+        WritableMap map = Arguments.createMap();
+
+        Iterator<String> keys = object.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            Object value = object.opt(key);
+
+            if (value instanceof JSONObject) {
+                map.putMap(key, map((JSONObject) value));
+            } else if (value instanceof JSONArray) {
+                map.putArray(key, map((JSONArray) value));
+            } else if (value instanceof Boolean) {
+                map.putBoolean(key, (Boolean) value);
+            } else if (value instanceof Number) {
+                map.putDouble(key, ((Number) value).doubleValue());
+            } else if (value instanceof String) {
+                map.putString(key, (String) value);
+            } else {
+                map.putNull(key);
+            }
+        }
+
+        return map;
+    }
+
+    private static WritableArray map(JSONArray array) {
+        WritableArray mapped = Arguments.createArray();
+
+        for (int i = 0; i < array.length(); i++) {
+            Object value = array.opt(i);
+
+            if (value instanceof JSONObject) {
+                mapped.pushMap(map((JSONObject) value));
+            } else if (value instanceof JSONArray) {
+                mapped.pushArray(map((JSONArray) value));
+            } else if (value instanceof Boolean) {
+                mapped.pushBoolean((Boolean) value);
+            } else if (value instanceof Number) {
+                mapped.pushDouble(((Number) value).doubleValue());
+            } else if (value instanceof String) {
+                mapped.pushString((String) value);
+            } else {
+                mapped.pushNull();
+            }
+        }
+
+        return mapped;
+    }
+
+    private static WritableMap copy(WritableMap map) {
+        WritableMap copy = Arguments.createMap();
+        copy.merge(map);
+        return copy;
+    }
+}
@@ -0,0 +1,192 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import money.zumo.zumokit.AccountDataSnapshot;
+import money.zumo.zumokit.CustodyOrder;
+import money.zumo.zumokit.Transaction;
+import money.zumo.zumokit.TransactionCryptoProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+/**
+ * Index of transactions seen in account data snapshots by id, transaction hash,
+ * custody order id and status, so that a single transaction can be looked up
+ * without mapping the rest.
+ * <p>
+ * Index is updated in place, a transaction that appears in more than one
+ * account is indexed once.
+ */
+final class TransactionIndex {
+
+    private final HashMap<String, Transaction> byId = new HashMap<>();
+
+    private final HashMap<String, String> byHash = new HashMap<>();
+
+    private final HashMap<String, String> byCustodyOrderId = new HashMap<>();
+
+    private final HashMap<String, LinkedHashSet<String>> byStatus = new HashMap<>();
+
+    private long lookups = 0;
+
+    private long misses = 0;
+
+    public synchronized void update(ArrayList<AccountDataSnapshot> snapshots) {
+        HashSet<String> ids = new HashSet<>();
+
+        for (AccountDataSnapshot snapshot : snapshots) {
+            for (Transaction transaction : snapshot.getTransactions()) {
+                ids.add(transaction.getId());
+
+                Transaction previous = byId.put(transaction.getId(), transaction);
+                if (previous != null) {
+                    unindex(previous);
+                }
+                index(transaction);
+            }
+        }
+
+        Iterator<Transaction> iterator = byId.values().iterator();
+        while (iterator.hasNext()) {
+            Transaction transaction = iterator.next();
+            if (!ids.contains(transaction.getId())) {
+                iterator.remove();
+                unindex(transaction);
+            }
+        }
+    }
+
+    /**
+     * Returns transaction with given id, or null if transaction is not indexed.
+     */
+    public synchronized Transaction get(String transactionId) {
+        return counted(byId.get(transactionId));
+    }
+
+    /**
+     * Returns crypto transaction with given transaction hash, or null if transaction is not indexed.
+     */
+    public synchronized Transaction findByHash(String txHash) {
+        String id = byHash.get(txHash);
+        return counted(id == null ? null : byId.get(id));
+    }
+
+    /**
+     * Returns custody transaction of given custody order, or null if transaction is not indexed.
+     */
+    public synchronized Transaction findByCustodyOrderId(String custodyOrderId) {
+        String id = byCustodyOrderId.get(custodyOrderId);
+        return counted(id == null ? null : byId.get(id));
+    }
+
+    /**
+     * Returns transactions with given status.
+     */
+    public synchronized ArrayList<Transaction> findByStatus(String status) {
+        lookups++;
+
+        ArrayList<Transaction> transactions = new ArrayList<>();
+
+        LinkedHashSet<String> ids = byStatus.get(status);
+        if (ids != null) {
+            for (String id : ids) {
+                transactions.add(byId.get(id));
+            }
+        }
+
+        return transactions;
+    }
+
+    public synchronized void clear() {
+        byId.clear();
+        byHash.clear();
+        byCustodyOrderId.clear();
+        byStatus.clear();
+    }
+
+    public synchronized WritableMap getStats() {
+        WritableMap statuses = Arguments.createMap();
+        for (HashMap.Entry<String, LinkedHashSet<String>> entry : byStatus.entrySet()) {
+            statuses.putInt(entry.getKey(), entry.getValue().size());
+        }
+
+        WritableMap stats = Arguments.createMap();
+
+        stats.putInt("transactions", byId.size());
+        stats.putInt("hashes", byHash.size());
+        stats.putInt("custodyOrders", byCustodyOrderId.size());
+        stats.putMap("statuses", statuses);
+        stats.putDouble("lookups", lookups);
+        stats.putDouble("misses", misses);
+
+        return stats;
+    }
+
+    private void index(Transaction transaction) {
+        String id = transaction.getId();
+
+        String txHash = txHashOf(transaction);
+        if (txHash != null) {
+            byHash.put(txHash, id);
+        }
+
+        String custodyOrderId = custodyOrderIdOf(transaction);
+        if (custodyOrderId != null) {
+            byCustodyOrderId.put(custodyOrderId, id);
+        }
+
+        LinkedHashSet<String> ids = byStatus.get(transaction.getStatus());
+        if (ids == null) {
+            ids = new LinkedHashSet<>();
+            byStatus.put(transaction.getStatus(), ids);
+        }
+        ids.add(id);
+    }
+
+    // Secondary keys might already belong to another transaction that replaced this one
+    private void unindex(Transaction transaction) {
+        String id = transaction.getId();
+
+        String txHash = txHashOf(transaction);
+        if (txHash != null && id.equals(byHash.get(txHash))) {
+            byHash.remove(txHash);
+        }
+
+        String custodyOrderId = custodyOrderIdOf(transaction);
+        if (custodyOrderId != null && id.equals(byCustodyOrderId.get(custodyOrderId))) {
+            byCustodyOrderId.remove(custodyOrderId);
+        }
+
+        LinkedHashSet<String> ids = byStatus.get(transaction.getStatus());
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                byStatus.remove(transaction.getStatus());
+            }
+        }
+    }
+
+    private Transaction counted(Transaction transaction) {
+        lookups++;
+        if (transaction == null) {
+            misses++;
+        }
+
+        return transaction;
+    }
+
+    private static String txHashOf(Transaction transaction) {
+        TransactionCryptoProperties cryptoProperties = transaction.getCryptoProperties();
+        return cryptoProperties == null ? null : cryptoProperties.getTxHash();
+    }
+
+    private static String custodyOrderIdOf(Transaction transaction) {
+        CustodyOrder custodyOrder = transaction.getCustodyOrder();
+        return custodyOrder == null ? null : custodyOrder.getId();
+    }
+}
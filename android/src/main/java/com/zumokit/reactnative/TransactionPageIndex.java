@@ -0,0 +1,164 @@
+package com.zumokit.reactnative;
+
+import money.zumo.zumokit.AccountDataSnapshot;
+import money.zumo.zumokit.Transaction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per account index of transactions, newest first, used to serve transaction
+ * lists page by page.
+ * <p>
+ * Cursor identifies the last transaction of previous page by its timestamp and
+ * id, so pages stay consistent when new transactions arrive in between calls.
+ * <p>
+ * Only transactions of accounts that changed since previous update are sorted
+ * again, every other account keeps its sorted transactions.
+ */
+final class TransactionPageIndex {
+
+    static final class Page {
+        final List<Transaction> transactions;
+        final String nextCursor;
+
+        Page(List<Transaction> transactions, String nextCursor) {
+            this.transactions = transactions;
+            this.nextCursor = nextCursor;
+        }
+    }
+
+    private static final Comparator<Transaction> NEWEST_FIRST = new Comparator<Transaction>() {
+        @Override
+        public int compare(Transaction a, Transaction b) {
+            return compareKeys(a.getTimestamp(), a.getId(), b.getTimestamp(), b.getId());
+        }
+    };
+
+    private HashMap<String, ArrayList<Transaction>> transactions = new HashMap<>();
+
+    // Accounts indexed ahead of an update, sorted again by the next update whatever changed
+    private HashSet<String> provisional = new HashSet<>();
+
+    /**
+     * Indexes transactions of given snapshots.
+     *
+     * @param changedAccountIds accounts whose transactions changed since previous update
+     */
+    public synchronized void update(
+            ArrayList<AccountDataSnapshot> snapshots,
+            Set<String> changedAccountIds
+    ) {
+        HashMap<String, ArrayList<Transaction>> next = new HashMap<>();
+
+        for (AccountDataSnapshot snapshot : snapshots) {
+            String accountId = snapshot.getAccount().getId();
+            ArrayList<Transaction> sorted = transactions.get(accountId);
+            if (sorted == null
+                    || changedAccountIds.contains(accountId)
+                    || provisional.contains(accountId)) {
+                sorted = sort(snapshot);
+            }
+            next.put(accountId, sorted);
+        }
+
+        transactions = next;
+        provisional = new HashSet<>();
+    }
+
+    /**
+     * Indexes transactions of accounts of given snapshots that are not indexed yet.
+     */
+    public synchronized void indexMissing(ArrayList<AccountDataSnapshot> snapshots) {
+        for (AccountDataSnapshot snapshot : snapshots) {
+            String accountId = snapshot.getAccount().getId();
+            if (!transactions.containsKey(accountId)) {
+                transactions.put(accountId, sort(snapshot));
+                provisional.add(accountId);
+            }
+        }
+    }
+
+    public synchronized boolean contains(String accountId) {
+        return transactions.containsKey(accountId);
+    }
+
+    public synchronized void clear() {
+        transactions = new HashMap<>();
+        provisional = new HashSet<>();
+    }
+
+    /**
+     * Returns up to limit transactions following the cursor.
+     *
+     * @param cursor cursor returned with previous page or null for first page
+     * @throws IllegalArgumentException if cursor is malformed
+     */
+    public synchronized Page page(String accountId, String cursor, int limit) {
+        ArrayList<Transaction> sorted = transactions.get(accountId);
+        if (sorted == null || limit <= 0) {
+            return new Page(Collections.<Transaction>emptyList(), null);
+        }
+
+        int from = cursor == null ? 0 : indexAfter(sorted, cursor);
+        int to = Math.min(sorted.size(), from + limit);
+
+        // Copy, index might be replaced while page is being mapped
+        List<Transaction> page = new ArrayList<>(sorted.subList(from, to));
+        String nextCursor = to < sorted.size() ? cursorOf(sorted.get(to - 1)) : null;
+
+        return new Page(page, nextCursor);
+    }
+
+    private static ArrayList<Transaction> sort(AccountDataSnapshot snapshot) {
+        ArrayList<Transaction> sorted = new ArrayList<>(snapshot.getTransactions());
+        Collections.sort(sorted, NEWEST_FIRST);
+        return sorted;
+    }
+
+    private static int indexAfter(ArrayList<Transaction> sorted, String cursor) {
+        int separator = cursor.indexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+
+        int timestamp;
+        try {
+            timestamp = Integer.parseInt(cursor.substring(0, separator));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        String id = cursor.substring(separator + 1);
+
+        // First transaction ordered strictly after cursor
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Transaction transaction = sorted.get(mid);
+            if (compareKeys(transaction.getTimestamp(), transaction.getId(), timestamp, id) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private static String cursorOf(Transaction transaction) {
+        return transaction.getTimestamp() + ":" + transaction.getId();
+    }
+
+    private static int compareKeys(int timestampA, String idA, int timestampB, String idB) {
+        if (timestampA != timestampB) {
+            return timestampA > timestampB ? -1 : 1;
+        }
+        return idB.compareTo(idA);
+    }
+}
@@ -0,0 +1,238 @@
+package com.zumokit.reactnative;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+
+/**
+ * Base of sinks that build a tree of map and array nodes. Keeps track of the
+ * current container and key, subclasses only create nodes and store values.
+ *
+ * @param <M> map node type
+ * @param <A> array node type
+ */
+public abstract class TreePayloadSink<M, A> implements PayloadSink {
+
+    private final ArrayDeque<Object> containers = new ArrayDeque<>();
+
+    private final ArrayDeque<String> keys = new ArrayDeque<>();
+
+    private String key;
+
+    private Object root;
+
+    protected abstract M createMap();
+
+    protected abstract A createArray();
+
+    protected abstract void putNull(M map, String key);
+
+    protected abstract void putString(M map, String key, String value);
+
+    protected abstract void putInt(M map, String key, int value);
+
+    protected abstract void putDouble(M map, String key, double value);
+
+    protected abstract void putBoolean(M map, String key, boolean value);
+
+    protected abstract void putMap(M map, String key, M value);
+
+    protected abstract void putArray(M map, String key, A value);
+
+    protected abstract void pushNull(A array);
+
+    protected abstract void pushString(A array, String value);
+
+    protected abstract void pushInt(A array, int value);
+
+    protected abstract void pushDouble(A array, double value);
+
+    protected abstract void pushBoolean(A array, boolean value);
+
+    protected abstract void pushMap(A array, M value);
+
+    protected abstract void pushArray(A array, A value);
+
+    protected abstract boolean isMap(Object node);
+
+    /**
+     * Root node, once it is complete.
+     */
+    protected Object getRoot() {
+        if (root == null || !containers.isEmpty()) {
+            throw new IllegalStateException("Payload is not complete.");
+        }
+
+        return root;
+    }
+
+    @Override
+    public PayloadSink beginMap() {
+        open(createMap());
+        return this;
+    }
+
+    @Override
+    public PayloadSink endMap() {
+        close();
+        return this;
+    }
+
+    @Override
+    public PayloadSink beginArray() {
+        open(createArray());
+        return this;
+    }
+
+    @Override
+    public PayloadSink endArray() {
+        close();
+        return this;
+    }
+
+    @Override
+    public PayloadSink key(String name) {
+        if (containers.isEmpty() || !isMap(containers.peek())) {
+            throw new IllegalStateException("Key outside of a map.");
+        }
+
+        key = name;
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public PayloadSink nullValue() {
+        Object container = current();
+        if (isMap(container)) {
+            putNull((M) container, takeKey());
+        } else {
+            pushNull((A) container);
+        }
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public PayloadSink value(String value) {
+        if (value == null) {
+            return nullValue();
+        }
+
+        Object container = current();
+        if (isMap(container)) {
+            putString((M) container, takeKey(), value);
+        } else {
+            pushString((A) container, value);
+        }
+        return this;
+    }
+
+    @Override
+    public PayloadSink value(BigDecimal value) {
+        return value(value == null ? null : value.toPlainString());
+    }
+
+    @Override
+    public PayloadSink value(Integer value) {
+        return value == null ? nullValue() : value(value.intValue());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public PayloadSink value(int value) {
+        Object container = current();
+        if (isMap(container)) {
+            putInt((M) container, takeKey(), value);
+        } else {
+            pushInt((A) container, value);
+        }
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public PayloadSink value(double value) {
+        Object container = current();
+        if (isMap(container)) {
+            putDouble((M) container, takeKey(), value);
+        } else {
+            pushDouble((A) container, value);
+        }
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public PayloadSink value(boolean value) {
+        Object container = current();
+        if (isMap(container)) {
+            putBoolean((M) container, takeKey(), value);
+        } else {
+            pushBoolean((A) container, value);
+        }
+        return this;
+    }
+
+    private void open(Object node) {
+        if (containers.isEmpty()) {
+            if (root != null) {
+                throw new IllegalStateException("Payload already complete.");
+            }
+            root = node;
+        } else {
+            // Remember the key node will be stored under once it is closed
+            keys.push(isMap(containers.peek()) ? takeKey() : "");
+        }
+
+        containers.push(node);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void close() {
+        if (containers.isEmpty()) {
+            throw new IllegalStateException("Nothing to close.");
+        }
+
+        Object node = containers.pop();
+        if (containers.isEmpty()) {
+            return;
+        }
+
+        // Nodes are attached to their parent only once complete, as React Native
+        // maps and arrays are consumed when put into another map or array
+        Object parent = containers.peek();
+        String nodeKey = keys.pop();
+
+        if (isMap(parent)) {
+            if (isMap(node)) {
+                putMap((M) parent, nodeKey, (M) node);
+            } else {
+                putArray((M) parent, nodeKey, (A) node);
+            }
+        } else {
+            if (isMap(node)) {
+                pushMap((A) parent, (M) node);
+            } else {
+                pushArray((A) parent, (A) node);
+            }
+        }
+    }
+
+    private Object current() {
+        if (containers.isEmpty()) {
+            throw new IllegalStateException("Value outside of a map or array.");
+        }
+
+        return containers.peek();
+    }
+
+    private String takeKey() {
+        if (key == null) {
+            throw new IllegalStateException("Map value without a key.");
+        }
+
+        String name = key;
+        key = null;
+        return name;
+    }
+}
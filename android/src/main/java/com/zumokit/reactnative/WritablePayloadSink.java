@@ -0,0 +1,105 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+/**
+ * Builds React Native writable maps and arrays, ready to be emitted to JS or to
+ * resolve a promise with.
+ */
+public class WritablePayloadSink extends TreePayloadSink<WritableMap, WritableArray> {
+
+    public WritableMap getMap() {
+        return (WritableMap) getRoot();
+    }
+
+    public WritableArray getArray() {
+        return (WritableArray) getRoot();
+    }
+
+    @Override
+    protected WritableMap createMap() {
+        return Arguments.createMap();
+    }
+
+    @Override
+    protected WritableArray createArray() {
+        return Arguments.createArray();
+    }
+
+    @Override
+    protected void putNull(WritableMap map, String key) {
+        map.putNull(key);
+    }
+
+    @Override
+    protected void putString(WritableMap map, String key, String value) {
+        map.putString(key, value);
+    }
+
+    @Override
+    protected void putInt(WritableMap map, String key, int value) {
+        map.putInt(key, value);
+    }
+
+    @Override
+    protected void putDouble(WritableMap map, String key, double value) {
+        map.putDouble(key, value);
+    }
+
+    @Override
+    protected void putBoolean(WritableMap map, String key, boolean value) {
+        map.putBoolean(key, value);
+    }
+
+    @Override
+    protected void putMap(WritableMap map, String key, WritableMap value) {
+        map.putMap(key, value);
+    }
+
+    @Override
+    protected void putArray(WritableMap map, String key, WritableArray value) {
+        map.putArray(key, value);
+    }
+
+    @Override
+    protected void pushNull(WritableArray array) {
+        array.pushNull();
+    }
+
+    @Override
+    protected void pushString(WritableArray array, String value) {
+        array.pushString(value);
+    }
+
+    @Override
+    protected void pushInt(WritableArray array, int value) {
+        array.pushInt(value);
+    }
+
+    @Override
+    protected void pushDouble(WritableArray array, double value) {
+        array.pushDouble(value);
+    }
+
+    @Override
+    protected void pushBoolean(WritableArray array, boolean value) {
+        array.pushBoolean(value);
+    }
+
+    @Override
+    protected void pushMap(WritableArray array, WritableMap value) {
+        array.pushMap(value);
+    }
+
+    @Override
+    protected void pushArray(WritableArray array, WritableArray value) {
+        array.pushArray(value);
+    }
+
+    @Override
+    protected boolean isMap(Object node) {
+        return node instanceof WritableMap;
+    }
+}
@@ -0,0 +1,203 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.zumokit.reactnative.TestModels.account;
+import static com.zumokit.reactnative.TestModels.snapshot;
+import static com.zumokit.reactnative.TestModels.snapshots;
+import static com.zumokit.reactnative.TestModels.transaction;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AccountDataDifferTest {
+
+    private AccountDataDiffer differ;
+
+    @Before
+    public void setUp() {
+        differ = new AccountDataDiffer(
+                RNZumoKitModule.createAccountCache(100),
+                RNZumoKitModule.createTransactionCache(100)
+        );
+    }
+
+    @Test
+    public void firstDeltaIsResyncWithCompleteState() {
+        WritableMap delta = differ.diff(snapshots(
+                snapshot(account("account-0", "1"), transaction("transaction-0", "PENDING", "0.1")),
+                snapshot(account("account-1", "2"))
+        ));
+
+        assertEquals(1, delta.getInt("sequence"));
+        assertTrue(delta.getBoolean("resync"));
+        assertEquals(2, delta.getArray("accountIds").size());
+        assertEquals(2, delta.getArray("changes").size());
+
+        ReadableMap change = delta.getArray("changes").getMap(0);
+        assertEquals("account-0", change.getMap("account").getString("id"));
+        assertEquals(1, change.getArray("transactions").size());
+        assertEquals("transaction-0", change.getArray("transactionIds").getString(0));
+    }
+
+    @Test
+    public void unchangedSnapshotsProduceNoDelta() {
+        differ.diff(snapshots(snapshot(account("account-0", "1"))));
+
+        assertNull(differ.diff(snapshots(snapshot(account("account-0", "1")))));
+    }
+
+    @Test
+    public void addedTransactionIsSentAlone() {
+        differ.diff(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-0", "PENDING", "0.1"))));
+
+        WritableMap delta = differ.diff(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-1", "PENDING", "0.2"),
+                transaction("transaction-0", "PENDING", "0.1"))));
+
+        assertFalse(delta.getBoolean("resync"));
+
+        ReadableMap change = single(delta.getArray("changes"));
+        assertTrue(change.isNull("account"));
+        assertEquals(1, change.getArray("transactions").size());
+        assertEquals("transaction-1", change.getArray("transactions").getMap(0).getString("id"));
+        assertEquals(2, change.getArray("transactionIds").size());
+    }
+
+    @Test
+    public void modifiedTransactionIsSentWithoutOrder() {
+        differ.diff(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-0", "PENDING", "0.1"))));
+
+        WritableMap delta = differ.diff(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-0", "CONFIRMED", "0.1"))));
+
+        ReadableMap change = single(delta.getArray("changes"));
+        assertEquals("CONFIRMED", change.getArray("transactions").getMap(0).getString("status"));
+        assertTrue(change.isNull("transactionIds"));
+    }
+
+    @Test
+    public void accountsWithChangedTransactionsAreReported() {
+        differ.diff(snapshots(
+                snapshot(account("account-0", "1"), transaction("transaction-0", "PENDING", "0.1")),
+                snapshot(account("account-1", "1"), transaction("transaction-1", "PENDING", "0.1"))
+        ));
+        assertEquals(2, differ.getTransactionsChanged().size());
+
+        differ.diff(snapshots(
+                snapshot(account("account-0", "2"), transaction("transaction-0", "PENDING", "0.1")),
+                snapshot(account("account-1", "1"), transaction("transaction-1", "CONFIRMED", "0.1"))
+        ));
+
+        assertEquals(1, differ.getTransactionsChanged().size());
+        assertTrue(differ.getTransactionsChanged().contains("account-1"));
+    }
+
+    @Test
+    public void modifiedAccountIsSentWithoutTransactions() {
+        differ.diff(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-0", "PENDING", "0.1"))));
+
+        WritableMap delta = differ.diff(snapshots(snapshot(account("account-0", "1.0"),
+                transaction("transaction-0", "PENDING", "0.1"))));
+
+        ReadableMap change = single(delta.getArray("changes"));
+        assertEquals("1.0", change.getMap("account").getString("balance"));
+        assertEquals(0, change.getArray("transactions").size());
+    }
+
+    @Test
+    public void removedTransactionIsReported() {
+        differ.diff(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-1", "PENDING", "0.2"),
+                transaction("transaction-0", "PENDING", "0.1"))));
+
+        WritableMap delta = differ.diff(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-0", "PENDING", "0.1"))));
+
+        ReadableMap change = single(delta.getArray("changes"));
+        assertEquals("transaction-1", singleString(change.getArray("removedTransactionIds")));
+        assertEquals(1, change.getArray("transactionIds").size());
+    }
+
+    @Test
+    public void addedAndRemovedAccountsAreReported() {
+        differ.diff(snapshots(snapshot(account("account-0", "1"))));
+
+        WritableMap delta = differ.diff(snapshots(snapshot(account("account-1", "2"))));
+
+        assertEquals("account-1", singleString(delta.getArray("accountIds")));
+        assertEquals("account-1", single(delta.getArray("changes")).getMap("account").getString("id"));
+        assertEquals("account-0", singleString(delta.getArray("removedAccountIds")));
+    }
+
+    @Test
+    public void sequenceHasNoGaps() {
+        differ.diff(snapshots(snapshot(account("account-0", "1"))));
+        assertNull(differ.diff(snapshots(snapshot(account("account-0", "1")))));
+
+        WritableMap delta = differ.diff(snapshots(snapshot(account("account-0", "2"))));
+
+        assertEquals(2, delta.getInt("sequence"));
+        assertEquals(3, differ.diff(snapshots(snapshot(account("account-0", "3")))).getInt("sequence"));
+    }
+
+    @Test
+    public void requestedResyncSendsCompleteState() {
+        differ.diff(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-0", "PENDING", "0.1"))));
+
+        differ.requestResync();
+        WritableMap delta = differ.diff(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-0", "PENDING", "0.1"))));
+
+        assertEquals(2, delta.getInt("sequence"));
+        assertTrue(delta.getBoolean("resync"));
+
+        ReadableMap change = single(delta.getArray("changes"));
+        assertFalse(change.isNull("account"));
+        assertEquals(1, change.getArray("transactions").size());
+        assertEquals(0, delta.getArray("removedAccountIds").size());
+    }
+
+    @Test
+    public void resyncRebuildsLastSnapshots() {
+        assertNull(differ.resync());
+
+        differ.diff(snapshots(snapshot(account("account-0", "1"))));
+        WritableMap delta = differ.resync();
+
+        assertTrue(delta.getBoolean("resync"));
+        assertEquals("account-0", singleString(delta.getArray("accountIds")));
+    }
+
+    @Test
+    public void resetRestartsSequence() {
+        differ.diff(snapshots(snapshot(account("account-0", "1"))));
+        differ.diff(snapshots(snapshot(account("account-0", "2"))));
+
+        differ.reset();
+        WritableMap delta = differ.diff(snapshots(snapshot(account("account-0", "2"))));
+
+        assertEquals(1, delta.getInt("sequence"));
+        assertTrue(delta.getBoolean("resync"));
+    }
+
+    private static ReadableMap single(ReadableArray array) {
+        assertEquals(1, array.size());
+        return array.getMap(0);
+    }
+
+    private static String singleString(ReadableArray array) {
+        assertEquals(1, array.size());
+        return array.getString(0);
+    }
+}
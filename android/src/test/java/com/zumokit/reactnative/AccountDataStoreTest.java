@@ -0,0 +1,154 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.WritableMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.zumokit.reactnative.TestModels.account;
+import static com.zumokit.reactnative.TestModels.snapshot;
+import static com.zumokit.reactnative.TestModels.snapshots;
+import static com.zumokit.reactnative.TestModels.transaction;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AccountDataStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+
+    private AccountDataStore store;
+
+    @Before
+    public void setUp() {
+        directory = new File(folder.getRoot(), "account-data");
+        store = new AccountDataStore("Test-Store", directory, 0);
+    }
+
+    @After
+    public void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    public void savedAccountDataIsLoadedOnStoreThread() throws InterruptedException {
+        store.save("user-0", snapshots(snapshot(account("account-0", "1.5"),
+                transaction("transaction-0", "PENDING", "0.1"))));
+
+        String[] threadName = new String[1];
+        WritableMap accountData = load("user-0", threadName);
+
+        assertEquals("Test-Store", threadName[0]);
+        assertEquals(1, accountData.getArray("snapshots").size());
+        assertEquals("1.5", accountData.getArray("snapshots").getMap(0)
+                .getMap("account").getString("balance"));
+        assertEquals(1, (int) store.getStats().getDouble("writes"));
+    }
+
+    @Test
+    public void missingAccountDataLoadsAsNull() throws InterruptedException {
+        assertNull(load("user-0", new String[1]));
+    }
+
+    @Test
+    public void corruptFileIsDiscarded() throws InterruptedException, IOException {
+        store.save("user-0", snapshots(snapshot(account("account-0", "1.5"))));
+        load("user-0", new String[1]);
+
+        File file = directory.listFiles()[0];
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[]{1, 2, 3, 4});
+        }
+
+        assertNull(load("user-0", new String[1]));
+        assertTrue(!file.exists());
+        assertEquals(1, (int) store.getStats().getDouble("discarded"));
+    }
+
+    @Test
+    public void payloadLengthBeyondFileIsDiscarded() throws InterruptedException, IOException {
+        store.save("user-0", snapshots(snapshot(account("account-0", "1.5"))));
+        load("user-0", new String[1]);
+
+        // Payload length follows magic number, format version, save time and checksum
+        File file = directory.listFiles()[0];
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            out.seek(24);
+            out.writeInt(Integer.MAX_VALUE);
+        }
+
+        assertNull(load("user-0", new String[1]));
+        assertTrue(!file.exists());
+        assertEquals(1, (int) store.getStats().getDouble("discarded"));
+    }
+
+    @Test
+    public void fileIsNamedByHashOfUserId() throws InterruptedException {
+        store.save("../user/0", snapshots(snapshot(account("account-0", "1.5"))));
+        load("../user/0", new String[1]);
+
+        String[] names = directory.list();
+        assertEquals(1, names.length);
+        assertTrue(names[0].matches("[0-9a-f]{64}\\.bin"));
+    }
+
+    @Test
+    public void userIdsWithSameSafeCharactersAreKeptApart() throws InterruptedException {
+        store.save("user/0", snapshots(snapshot(account("account-0", "1.5"))));
+        load("user/0", new String[1]);
+        store.save("user_0", snapshots(snapshot(account("account-0", "2.5"))));
+        load("user_0", new String[1]);
+
+        assertEquals("1.5", load("user/0", new String[1]).getArray("snapshots").getMap(0)
+                .getMap("account").getString("balance"));
+        assertEquals("2.5", load("user_0", new String[1]).getArray("snapshots").getMap(0)
+                .getMap("account").getString("balance"));
+    }
+
+    @Test
+    public void deletedAccountDataIsNotLoaded() throws InterruptedException {
+        store.save("user-0", snapshots(snapshot(account("account-0", "1.5"))));
+        load("user-0", new String[1]);
+
+        store.delete("user-0");
+
+        assertNull(load("user-0", new String[1]));
+    }
+
+    @Test
+    public void shutDownStoreLoadsNothing() throws InterruptedException {
+        store.shutdown();
+
+        assertNull(load("user-0", new String[1]));
+    }
+
+    private WritableMap load(String userId, String[] threadName) throws InterruptedException {
+        CountDownLatch loaded = new CountDownLatch(1);
+        WritableMap[] accountData = new WritableMap[1];
+
+        store.load(userId, new AccountDataStore.LoadCallback() {
+            @Override
+            public void loaded(WritableMap map) {
+                threadName[0] = Thread.currentThread().getName();
+                accountData[0] = map;
+                loaded.countDown();
+            }
+        });
+
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+        return accountData[0];
+    }
+}
@@ -0,0 +1,88 @@
+package com.zumokit.reactnative;
+
+import money.zumo.zumokit.Account;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static com.zumokit.reactnative.TestModels.account;
+import static com.zumokit.reactnative.TestModels.snapshot;
+import static com.zumokit.reactnative.TestModels.snapshots;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class AccountIndexTest {
+
+    private AccountIndex index;
+
+    @Before
+    public void setUp() {
+        index = new AccountIndex();
+    }
+
+    @Test
+    public void accountIsFoundByIdAndKey() {
+        Account account = account("account-0", "1");
+        index.update(accounts(account));
+
+        assertSame(account, index.get("account-0"));
+        assertSame(account, index.find(
+                account.getCurrencyCode(),
+                account.getNetwork(),
+                account.getType(),
+                account.getCustodyType()
+        ));
+    }
+
+    @Test
+    public void updateReplacesAccountWithLatestVersion() {
+        index.update(accounts(account("account-0", "1")));
+
+        Account updated = account("account-0", "2");
+        index.updateFromSnapshots(snapshots(snapshot(updated)));
+
+        assertSame(updated, index.get("account-0"));
+        assertSame(updated, index.find(
+                updated.getCurrencyCode(),
+                updated.getNetwork(),
+                updated.getType(),
+                updated.getCustodyType()
+        ));
+    }
+
+    @Test
+    public void removedAccountIsDropped() {
+        Account removed = account("account-0", "1");
+        index.update(accounts(removed));
+
+        index.update(new ArrayList<Account>());
+
+        assertNull(index.get("account-0"));
+        assertNull(index.find(
+                removed.getCurrencyCode(),
+                removed.getNetwork(),
+                removed.getType(),
+                removed.getCustodyType()
+        ));
+    }
+
+    @Test
+    public void lookupsAndMissesAreCounted() {
+        index.update(accounts(account("account-0", "1")));
+
+        index.get("account-0");
+        index.get("account-1");
+
+        assertEquals(2, (int) index.getStats().getDouble("lookups"));
+        assertEquals(1, (int) index.getStats().getDouble("misses"));
+        assertEquals(1, index.getStats().getInt("accounts"));
+    }
+
+    private static ArrayList<Account> accounts(Account... accounts) {
+        return new ArrayList<>(Arrays.asList(accounts));
+    }
+}
@@ -0,0 +1,79 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.WritableMap;
+
+import money.zumo.zumokit.ExchangeRate;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AuxDataDifferTest {
+
+    private AuxDataDiffer differ;
+
+    @Before
+    public void setUp() {
+        differ = new AuxDataDiffer();
+    }
+
+    @Test
+    public void firstDiffIsResync() {
+        WritableMap diff = differ.diff(rates(rate("USD", "1")));
+
+        assertEquals(1, diff.getInt("version"));
+        assertTrue(diff.getBoolean("resync"));
+        assertTrue(diff.getMap("exchangeRates").getMap("BTC").hasKey("USD"));
+    }
+
+    @Test
+    public void unchangedRatesAreNotSentAgain() {
+        differ.diff(rates(rate("USD", "1")));
+
+        WritableMap diff = differ.diff(rates(rate("USD", "1")));
+
+        assertEquals(2, diff.getInt("version"));
+        assertFalse(diff.getBoolean("resync"));
+        assertFalse(diff.getMap("exchangeRates").hasKey("BTC"));
+    }
+
+    @Test
+    public void changedAndRemovedRatesAreSent() {
+        differ.diff(rates(rate("USD", "1"), rate("EUR", "1")));
+
+        WritableMap diff = differ.diff(rates(rate("USD", "2")));
+
+        assertEquals("2", diff.getMap("exchangeRates").getMap("BTC").getMap("USD").getString("value"));
+        assertEquals(1, diff.getArray("removedExchangeRates").size());
+        assertEquals("EUR", diff.getArray("removedExchangeRates").getMap(0).getString("toCurrency"));
+    }
+
+    @Test
+    public void diffCarriesNoFeeRates() {
+        WritableMap diff = differ.diff(rates(rate("USD", "1")));
+
+        assertFalse(diff.hasKey("transactionFeeRates"));
+        assertFalse(diff.hasKey("removedTransactionFeeRates"));
+    }
+
+    private static HashMap<String, HashMap<String, ExchangeRate>> rates(ExchangeRate... rates) {
+        HashMap<String, ExchangeRate> toRates = new HashMap<>();
+        for (ExchangeRate rate : rates) {
+            toRates.put(rate.getToCurrency(), rate);
+        }
+
+        HashMap<String, HashMap<String, ExchangeRate>> fromRates = new HashMap<>();
+        fromRates.put("BTC", toRates);
+        return fromRates;
+    }
+
+    private static ExchangeRate rate(String toCurrency, String value) {
+        return new ExchangeRate("BTC-" + toCurrency, "BTC", toCurrency, new BigDecimal(value), 0);
+    }
+}
@@ -0,0 +1,67 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.ReadableArray;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BinaryPayloadReaderTest {
+
+    @Test
+    public void payloadIsReplayedWithRepeatedKeys() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryPayloadSink sink = new BinaryPayloadSink(out);
+        sink.beginArray();
+        sink.beginMap().key("id").value("account-0").key("nonce").value(3).endMap();
+        sink.beginMap().key("id").value("account-1").key("nonce").nullValue().endMap();
+        sink.endArray();
+        sink.flush();
+
+        WritablePayloadSink replayed = new WritablePayloadSink();
+        new BinaryPayloadReader(out.toByteArray()).read(replayed);
+
+        ReadableArray array = replayed.getArray();
+        assertEquals(2, array.size());
+        assertEquals("account-0", array.getMap(0).getString("id"));
+        assertEquals(3, array.getMap(0).getInt("nonce"));
+        assertEquals("account-1", array.getMap(1).getString("id"));
+        assertTrue(array.getMap(1).isNull("nonce"));
+    }
+
+    @Test
+    public void lengthBeyondPayloadIsRejectedBeforeAllocating() {
+        // String tag followed by zig-zag varint of Integer.MAX_VALUE
+        byte[] payload = new byte[]{
+                BinaryPayloadSink.STRING, (byte) 0xFE, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F
+        };
+
+        assertRejected(payload, "Length exceeds payload.");
+    }
+
+    @Test
+    public void truncatedStringIsRejected() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryPayloadSink sink = new BinaryPayloadSink(out);
+        sink.beginArray().value("transaction-0").endArray();
+        sink.flush();
+
+        byte[] payload = out.toByteArray();
+        assertRejected(Arrays.copyOf(payload, payload.length - 4), "Length exceeds payload.");
+    }
+
+    private static void assertRejected(byte[] payload, String message) {
+        try {
+            new BinaryPayloadReader(payload).read(new WritablePayloadSink());
+            fail();
+        } catch (IOException e) {
+            assertEquals(message, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ComposeBatchTest {
+
+    private WritableArray outcomes;
+
+    private final ComposeBatch.Sink sink = new ComposeBatch.Sink() {
+        @Override
+        public void completed(WritableArray completed) {
+            outcomes = completed;
+        }
+    };
+
+    @Test
+    public void outcomesAreInRequestOrder() {
+        ArrayList<ComposeBatch.Request> requests = new ArrayList<>();
+        ArrayList<Promise> pending = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            requests.add(new ComposeBatch.Request() {
+                @Override
+                public void compose(Promise promise) {
+                    pending.add(promise);
+                }
+            });
+        }
+
+        new ComposeBatch(requests, 3, sink).start();
+        assertEquals(3, pending.size());
+
+        pending.get(2).resolve(result("2"));
+        pending.get(0).resolve(result("0"));
+        pending.get(1).reject("unknown_error", "Failed.", Arguments.createMap());
+
+        assertEquals(3, outcomes.size());
+        assertEquals("0", outcomes.getMap(0).getMap("result").getString("id"));
+        assertEquals("Failed.", outcomes.getMap(1).getMap("error").getString("message"));
+        assertEquals("2", outcomes.getMap(2).getMap("result").getString("id"));
+    }
+
+    @Test
+    public void concurrencyIsBounded() {
+        ArrayList<ComposeBatch.Request> requests = new ArrayList<>();
+        ArrayList<Promise> pending = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            requests.add(new ComposeBatch.Request() {
+                @Override
+                public void compose(Promise promise) {
+                    pending.add(promise);
+                }
+            });
+        }
+
+        new ComposeBatch(requests, 2, sink).start();
+        assertEquals(2, pending.size());
+
+        pending.get(0).resolve(result("0"));
+        assertEquals(3, pending.size());
+    }
+
+    @Test
+    public void synchronouslyFailingRequestsDoNotGrowStack() {
+        ArrayList<ComposeBatch.Request> requests = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            requests.add(new ComposeBatch.Request() {
+                @Override
+                public void compose(Promise promise) {
+                    throw new IllegalArgumentException("Invalid amount.");
+                }
+            });
+        }
+
+        new ComposeBatch(requests, 1, sink).start();
+
+        assertNotNull(outcomes);
+        assertEquals(100000, outcomes.size());
+        assertTrue(outcomes.getMap(99999).hasKey("error"));
+        assertEquals("Invalid amount.", outcomes.getMap(99999).getMap("error").getString("message"));
+    }
+
+    @Test
+    public void requestThrowingAfterSettlingCompletesItsSlotOnce() {
+        ArrayList<ComposeBatch.Request> requests = new ArrayList<>();
+        ArrayList<Promise> pending = new ArrayList<>();
+        requests.add(new ComposeBatch.Request() {
+            @Override
+            public void compose(Promise promise) {
+                promise.resolve(result("0"));
+                throw new IllegalStateException("Failed after resolving.");
+            }
+        });
+        requests.add(new ComposeBatch.Request() {
+            @Override
+            public void compose(Promise promise) {
+                pending.add(promise);
+            }
+        });
+
+        new ComposeBatch(requests, 2, sink).start();
+
+        // Batch is still waiting for the second request
+        assertNull(outcomes);
+
+        pending.get(0).resolve(result("1"));
+        assertEquals(2, outcomes.size());
+        assertEquals("0", outcomes.getMap(0).getMap("result").getString("id"));
+        assertEquals("1", outcomes.getMap(1).getMap("result").getString("id"));
+    }
+
+    @Test
+    public void emptyBatchCompletesRightAway() {
+        new ComposeBatch(new ArrayList<ComposeBatch.Request>(), 2, sink).start();
+
+        assertEquals(0, outcomes.size());
+    }
+
+    private static WritableMap result(String id) {
+        WritableMap result = Arguments.createMap();
+        result.putString("id", id);
+        return result;
+    }
+}
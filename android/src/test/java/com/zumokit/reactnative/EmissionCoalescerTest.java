@@ -0,0 +1,121 @@
+package com.zumokit.reactnative;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EmissionCoalescerTest {
+
+    private final List<String> values = Collections.synchronizedList(new ArrayList<String>());
+
+    private final List<Thread> threads = Collections.synchronizedList(new ArrayList<Thread>());
+
+    private CountDownLatch firstEmission;
+
+    private EmissionCoalescer<String> coalescer;
+
+    @Before
+    public void setUp() {
+        firstEmission = new CountDownLatch(1);
+        coalescer = new EmissionCoalescer<>("EmissionCoalescerTest", 50, 1000,
+                new EmissionCoalescer.Sink<String>() {
+                    @Override
+                    public void emit(String value) {
+                        values.add(value);
+                        threads.add(Thread.currentThread());
+                        firstEmission.countDown();
+                    }
+                });
+    }
+
+    @After
+    public void tearDown() {
+        coalescer.shutdown();
+    }
+
+    @Test
+    public void burstIsEmittedOnceWithLatestValue() throws InterruptedException {
+        coalescer.submit("a");
+        coalescer.submit("b");
+        coalescer.submit("c");
+
+        assertTrue(firstEmission.await(1, TimeUnit.SECONDS));
+        Thread.sleep(100);
+
+        assertEquals(Collections.singletonList("c"), values);
+        assertNotSame(Thread.currentThread(), threads.get(0));
+        assertEquals(3, coalescer.getReceived());
+        assertEquals(1, coalescer.getEmitted());
+    }
+
+    @Test
+    public void zeroWindowEmitsInlineOnSubmittingThread() {
+        coalescer.configure(0, 0);
+
+        coalescer.submit("a");
+        coalescer.submit("b");
+
+        assertEquals(2, values.size());
+        assertEquals("a", values.get(0));
+        assertEquals("b", values.get(1));
+        assertSame(Thread.currentThread(), threads.get(0));
+        assertSame(Thread.currentThread(), threads.get(1));
+        assertEquals(2, coalescer.getEmitted());
+    }
+
+    @Test
+    public void zeroWindowSupersedesPendingValue() throws InterruptedException {
+        coalescer.configure(200, 1000);
+        coalescer.submit("a");
+
+        coalescer.configure(0, 0);
+        coalescer.submit("b");
+        Thread.sleep(300);
+
+        assertEquals(Collections.singletonList("b"), values);
+    }
+
+    @Test
+    public void maxLatencyBoundsContinuousBurst() throws InterruptedException {
+        coalescer.configure(100, 150);
+
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(600);
+        int submitted = 0;
+        while (System.nanoTime() < until) {
+            coalescer.submit("value-" + submitted++);
+            Thread.sleep(20);
+        }
+
+        // Window alone would hold every value until burst ends
+        assertTrue(coalescer.getEmitted() >= 2);
+    }
+
+    @Test
+    public void clearDropsPendingValue() throws InterruptedException {
+        coalescer.submit("a");
+        coalescer.clear();
+
+        assertFalse(firstEmission.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(0, coalescer.getEmitted());
+    }
+
+    @Test
+    public void configureKeepsMaxLatencyAtLeastWindow() {
+        coalescer.configure(300, 100);
+
+        assertEquals(300, coalescer.getWindowMs());
+        assertEquals(300, coalescer.getMaxLatencyMs());
+    }
+}
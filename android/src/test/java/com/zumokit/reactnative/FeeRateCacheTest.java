@@ -0,0 +1,122 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.WritableMap;
+
+import money.zumo.zumokit.TransactionFeeRate;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FeeRateCacheTest {
+
+    private FeeRateCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new FeeRateCache();
+    }
+
+    @Test
+    public void firstUpdateSendsAllRates() {
+        WritableMap event = cache.update(rates("BTC", rate("1", 10, "source")));
+
+        assertEquals(1, event.getInt("version"));
+        assertEquals("1", event.getMap("transactionFeeRates").getMap("BTC").getString("slow"));
+        assertEquals(0, event.getArray("removedCurrencies").size());
+        assertEquals("1", cache.get().getMap("BTC").getString("slow"));
+    }
+
+    @Test
+    public void unchangedRatesSendNoEvent() {
+        cache.update(rates("BTC", rate("1", 10, "source")));
+
+        assertNull(cache.update(rates("BTC", rate("1", 10, "source"))));
+        assertEquals(1, cache.getVersion());
+    }
+
+    @Test
+    public void changedRateIsSentAlone() {
+        cache.update(rates("BTC", rate("1", 10, "source"), "ETH", rate("2", 10, "source")));
+
+        WritableMap event = cache.update(
+                rates("BTC", rate("3", 10, "source"), "ETH", rate("2", 10, "source")));
+
+        assertEquals(2, event.getInt("version"));
+        assertTrue(event.getMap("transactionFeeRates").hasKey("BTC"));
+        assertFalse(event.getMap("transactionFeeRates").hasKey("ETH"));
+        assertEquals("3", cache.get().getMap("BTC").getString("slow"));
+    }
+
+    @Test
+    public void timeOrSourceChangeRefreshesMappedRatesWithoutEvent() {
+        cache.update(rates("BTC", rate("1", 10, "source")));
+
+        assertNull(cache.update(rates("BTC", rate("1", 20, "source"))));
+        assertEquals(20, cache.get().getMap("BTC").getDouble("slowTime"), 0);
+
+        assertNull(cache.update(rates("BTC", rate("1", 20, "other"))));
+        assertEquals("other", cache.get().getMap("BTC").getString("source"));
+
+        assertEquals(1, cache.getVersion());
+    }
+
+    @Test
+    public void removedCurrencyIsReported() {
+        cache.update(rates("BTC", rate("1", 10, "source"), "ETH", rate("2", 10, "source")));
+
+        WritableMap event = cache.update(rates("BTC", rate("1", 10, "source")));
+
+        assertEquals(2, event.getInt("version"));
+        assertEquals(0, event.getMap("transactionFeeRates").toHashMap().size());
+        assertEquals(1, event.getArray("removedCurrencies").size());
+        assertEquals("ETH", event.getArray("removedCurrencies").getString(0));
+        assertFalse(cache.get().hasKey("ETH"));
+    }
+
+    @Test
+    public void clearRestartsVersion() {
+        cache.update(rates("BTC", rate("1", 10, "source")));
+
+        cache.clear();
+
+        assertNull(cache.get());
+        assertEquals(1, cache.update(rates("BTC", rate("1", 10, "source"))).getInt("version"));
+    }
+
+    private static TransactionFeeRate rate(String slow, double slowTime, String source) {
+        return new TransactionFeeRate(
+                new BigDecimal(slow),
+                new BigDecimal("5"),
+                new BigDecimal("10"),
+                slowTime,
+                5,
+                1,
+                source
+        );
+    }
+
+    private static HashMap<String, TransactionFeeRate> rates(String currency, TransactionFeeRate rate) {
+        HashMap<String, TransactionFeeRate> rates = new HashMap<>();
+        rates.put(currency, rate);
+        return rates;
+    }
+
+    private static HashMap<String, TransactionFeeRate> rates(
+            String currency,
+            TransactionFeeRate rate,
+            String otherCurrency,
+            TransactionFeeRate otherRate
+    ) {
+        HashMap<String, TransactionFeeRate> rates = rates(currency, rate);
+        rates.put(otherCurrency, otherRate);
+        return rates;
+    }
+}
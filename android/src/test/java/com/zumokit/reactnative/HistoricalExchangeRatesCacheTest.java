@@ -0,0 +1,158 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import money.zumo.zumokit.ExchangeRate;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HistoricalExchangeRatesCacheTest {
+
+    // Maps each interval to "timestamp=value" pairs of its BTC/USD series
+    private static final class CountingMapper implements HistoricalExchangeRatesCache.Mapper {
+        final ArrayList<String> mapped = new ArrayList<>();
+
+        @Override
+        public WritableMap map(
+                HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> rates
+        ) {
+            WritableMap map = Arguments.createMap();
+            for (String interval : rates.keySet()) {
+                mapped.add(interval);
+
+                ArrayList<ExchangeRate> series = rates.get(interval).get("BTC").get("USD");
+                StringBuilder values = new StringBuilder();
+                for (ExchangeRate rate : series) {
+                    values.append(rate.getTimestamp()).append('=').append(rate.getValue()).append(' ');
+                }
+                map.putString(interval, values.toString().trim());
+            }
+            return map;
+        }
+    }
+
+    private HistoricalExchangeRatesCache cache;
+
+    private CountingMapper mapper;
+
+    @Before
+    public void setUp() {
+        cache = new HistoricalExchangeRatesCache();
+        mapper = new CountingMapper();
+    }
+
+    @Test
+    public void emptyCacheIsNotFresh() {
+        assertFalse(cache.isFresh(null));
+        assertFalse(cache.isFresh(Collections.singletonList("hour")));
+    }
+
+    @Test
+    public void freshIntervalIsServedWhileOtherHasExpired() {
+        cache.setTtl("hour", 0);
+        cache.update(fetched(series(rate(1, "1")), series(rate(1, "1"))));
+
+        assertFalse(cache.isFresh(null));
+        assertFalse(cache.isFresh(Collections.singletonList("hour")));
+        assertTrue(cache.isFresh(Collections.singletonList("day")));
+    }
+
+    @Test
+    public void onlyExpiredIntervalsAreMerged() {
+        cache.setTtl("hour", 0);
+        cache.update(fetched(series(rate(1, "1")), series(rate(1, "1"))));
+
+        cache.update(fetched(series(rate(1, "1"), rate(2, "2")), series(rate(1, "1"), rate(2, "2"))));
+
+        WritableMap map = cache.mapped("test", null, mapper);
+        assertEquals("1=1 2=2", map.getString("hour"));
+        assertEquals("1=1", map.getString("day"));
+        assertEquals(3, (int) cache.getStats().getDouble("appended"));
+    }
+
+    @Test
+    public void overlappingPointsAreReplacedByTimestamp() {
+        cache.setTtl("hour", 0);
+        cache.update(fetched(series(rate(1, "1"), rate(2, "2")), series()));
+
+        cache.update(fetched(series(rate(2, "2.5"), rate(3, "3")), series()));
+
+        WritableMap map = cache.mapped("test", Collections.singletonList("hour"), mapper);
+        assertEquals("2=2.5 3=3", map.getString("hour"));
+        assertEquals(1, (int) cache.getStats().getDouble("replaced"));
+    }
+
+    @Test
+    public void onlyChangedIntervalsAreMappedAgain() {
+        cache.setTtl("hour", 0);
+        cache.update(fetched(series(rate(1, "1")), series(rate(1, "1"))));
+        cache.mapped("test", null, mapper);
+
+        cache.update(fetched(series(rate(1, "1"), rate(2, "2")), series(rate(1, "1"))));
+        cache.mapped("test", null, mapper);
+
+        Collections.sort(mapper.mapped);
+        assertEquals(Arrays.asList("day", "hour", "hour"), mapper.mapped);
+    }
+
+    @Test
+    public void unchangedRefetchKeepsMappedInterval() {
+        cache.setTtl("hour", 0);
+        cache.update(fetched(series(rate(1, "1")), series()));
+        cache.mapped("test", Collections.singletonList("hour"), mapper);
+
+        cache.update(fetched(series(rate(1, "1")), series()));
+        cache.mapped("test", Collections.singletonList("hour"), mapper);
+
+        assertEquals(Collections.singletonList("hour"), mapper.mapped);
+    }
+
+    @Test
+    public void mappedReturnsOnlyRequestedIntervals() {
+        cache.update(fetched(series(rate(1, "1")), series(rate(1, "1"))));
+
+        WritableMap map = cache.mapped("test", Collections.singletonList("day"), mapper);
+
+        assertTrue(map.hasKey("day"));
+        assertFalse(map.hasKey("hour"));
+    }
+
+    private static HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> fetched(
+            ArrayList<ExchangeRate> hour,
+            ArrayList<ExchangeRate> day
+    ) {
+        HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> fetched = new HashMap<>();
+        fetched.put("hour", pair(hour));
+        fetched.put("day", pair(day));
+        return fetched;
+    }
+
+    private static HashMap<String, HashMap<String, ArrayList<ExchangeRate>>> pair(ArrayList<ExchangeRate> series) {
+        HashMap<String, ArrayList<ExchangeRate>> toRates = new HashMap<>();
+        toRates.put("USD", series);
+
+        HashMap<String, HashMap<String, ArrayList<ExchangeRate>>> fromRates = new HashMap<>();
+        fromRates.put("BTC", toRates);
+        return fromRates;
+    }
+
+    private static ArrayList<ExchangeRate> series(ExchangeRate... rates) {
+        return new ArrayList<>(Arrays.asList(rates));
+    }
+
+    private static ExchangeRate rate(int timestamp, String value) {
+        return new ExchangeRate("rate-" + timestamp, "BTC", "USD", new BigDecimal(value), timestamp);
+    }
+}
@@ -0,0 +1,140 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.WritableMap;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class LogBufferTest {
+
+    private static final class Batch {
+        final String entries;
+        final int count;
+        final long dropped;
+
+        Batch(String entries, int count, long dropped) {
+            this.entries = entries;
+            this.count = count;
+            this.dropped = dropped;
+        }
+    }
+
+    private final LinkedBlockingQueue<Batch> batches = new LinkedBlockingQueue<>();
+
+    private LogBuffer buffer;
+
+    @After
+    public void tearDown() {
+        if (buffer != null) {
+            buffer.shutdown();
+        }
+    }
+
+    @Test
+    public void fullBatchIsFlushedAsJsonArray() throws InterruptedException {
+        create(16, 3, 10000);
+
+        buffer.add("{\"message\":\"a\"}");
+        buffer.add("{\"message\":\"b\"}");
+        buffer.add("{\"message\":\"c\"}");
+
+        Batch batch = next();
+        assertEquals("[{\"message\":\"a\"},{\"message\":\"b\"},{\"message\":\"c\"}]", batch.entries);
+        assertEquals(3, batch.count);
+        assertEquals(0, batch.dropped);
+        assertEquals(1, buffer.getStats().getDouble("batches"), 0);
+    }
+
+    @Test
+    public void partialBatchIsFlushedAfterInterval() throws InterruptedException {
+        create(16, 100, 50);
+
+        buffer.add("{\"message\":\"a\"}");
+        buffer.add("{\"message\":\"b\"}");
+
+        Batch batch = next();
+        assertEquals("[{\"message\":\"a\"},{\"message\":\"b\"}]", batch.entries);
+        assertEquals(2, batch.count);
+        assertEquals(0, buffer.getStats().getInt("buffered"));
+    }
+
+    @Test
+    public void fullBufferDropsOldestRecords() throws InterruptedException {
+        create(2, 100, 200);
+
+        buffer.add("{\"message\":\"a\"}");
+        buffer.add("{\"message\":\"b\"}");
+        buffer.add("{\"message\":\"c\"}");
+
+        Batch batch = next();
+        assertEquals("[{\"message\":\"b\"},{\"message\":\"c\"}]", batch.entries);
+        assertEquals(2, batch.count);
+        assertEquals(1, batch.dropped);
+
+        WritableMap stats = buffer.getStats();
+        assertEquals(3, stats.getDouble("received"), 0);
+        assertEquals(1, stats.getDouble("dropped"), 0);
+    }
+
+    @Test
+    public void shrinkingCapacityKeepsNewestRecords() throws InterruptedException {
+        create(4, 100, 10000);
+
+        buffer.add("{\"message\":\"a\"}");
+        buffer.add("{\"message\":\"b\"}");
+        buffer.add("{\"message\":\"c\"}");
+        buffer.add("{\"message\":\"d\"}");
+
+        buffer.configure(2, 1, 10000);
+        assertEquals(2, buffer.getStats().getInt("buffered"));
+        assertEquals(2, buffer.getStats().getDouble("dropped"), 0);
+
+        buffer.add("{\"message\":\"e\"}");
+
+        Batch batch = next();
+        assertEquals("[{\"message\":\"d\"},{\"message\":\"e\"}]", batch.entries);
+        assertEquals(3, batch.dropped);
+    }
+
+    @Test
+    public void clearedRecordsAreNotFlushed() throws InterruptedException {
+        create(16, 100, 50);
+
+        buffer.add("{\"message\":\"a\"}");
+        buffer.clear();
+
+        assertNull(batches.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void recordsAfterShutdownAreIgnored() {
+        create(16, 1, 0);
+        buffer.shutdown();
+
+        buffer.add("{\"message\":\"a\"}");
+
+        assertEquals(0, buffer.getStats().getDouble("received"), 0);
+    }
+
+    private void create(int capacity, int batchSize, long flushIntervalMs) {
+        buffer = new LogBuffer("LogBufferTest", capacity, batchSize, flushIntervalMs, new LogBuffer.Sink() {
+            @Override
+            public void flush(String entries, int count, long dropped) {
+                batches.add(new Batch(entries, count, dropped));
+            }
+        });
+    }
+
+    private Batch next() throws InterruptedException {
+        Batch batch = batches.poll(1, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        return batch;
+    }
+}
@@ -0,0 +1,132 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.WritableMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class MappedModelCacheTest {
+
+    // Models are plain strings of "id:content"
+    private static final class StringCache extends MappedModelCache<String> {
+        int mapped = 0;
+
+        StringCache(int maxSize) {
+            super(maxSize);
+        }
+
+        @Override
+        String idOf(String model) {
+            return model.substring(0, model.indexOf(':'));
+        }
+
+        @Override
+        long fingerprintOf(String model) {
+            return model.hashCode();
+        }
+
+        @Override
+        void write(PayloadSink sink, String model) {
+            mapped++;
+
+            sink.beginMap()
+                    .key("id").value(idOf(model))
+                    .key("content").value(model.substring(model.indexOf(':') + 1))
+                    .endMap();
+        }
+
+        @Override
+        WritablePayloadSink createSink() {
+            return new WritablePayloadSink();
+        }
+    }
+
+    private StringCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new StringCache(2);
+    }
+
+    @Test
+    public void unchangedModelIsMappedOnce() {
+        WritableMap first = cache.get("a:1");
+        WritableMap second = cache.get("a:1");
+
+        assertEquals(1, cache.mapped);
+        assertEquals("1", second.getString("content"));
+        assertNotSame(first, second);
+        assertEquals(1, (int) cache.getStats().getDouble("hits"));
+        assertEquals(1, (int) cache.getStats().getDouble("misses"));
+    }
+
+    @Test
+    public void hitReplaysMappedPayloadIntoNewMap() {
+        WritableMap first = cache.get("a:1");
+        WritableMap second = cache.get("a:1");
+        WritableMap third = cache.get("a:1");
+
+        assertEquals(first, second);
+        assertEquals(second, third);
+        assertNotSame(second, third);
+    }
+
+    @Test
+    public void hitAndMissCostIsReported() {
+        cache.get("a:1");
+        cache.get("a:1");
+
+        WritableMap stats = cache.getStats();
+        assertTrue(stats.getDouble("meanHitUs") >= 0);
+        assertTrue(stats.getDouble("meanMissUs") > 0);
+    }
+
+    @Test
+    public void changedModelIsMappedAgain() {
+        cache.get("a:1");
+        WritableMap changed = cache.get("a:2");
+
+        assertEquals(2, cache.mapped);
+        assertEquals("2", changed.getString("content"));
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvicted() {
+        cache.get("a:1");
+        cache.get("b:1");
+        cache.get("a:1");
+        cache.get("c:1");
+
+        cache.get("a:1");
+        assertEquals(3, cache.mapped);
+
+        cache.get("b:1");
+        assertEquals(4, cache.mapped);
+        assertEquals(2, (int) cache.getStats().getDouble("evictions"));
+    }
+
+    @Test
+    public void zeroSizeCachesNothing() {
+        cache.setMaxSize(0);
+
+        cache.get("a:1");
+        cache.get("a:1");
+
+        assertEquals(2, cache.mapped);
+        assertEquals(0, cache.getStats().getInt("size"));
+    }
+
+    @Test
+    public void clearDropsEntries() {
+        cache.get("a:1");
+
+        cache.clear();
+        cache.get("a:1");
+
+        assertEquals(2, cache.mapped);
+    }
+}
@@ -0,0 +1,91 @@
+package com.zumokit.reactnative;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MarshallingExecutorTest {
+
+    @Test
+    public void taskRunsOnMarshallingThread() throws InterruptedException {
+        MarshallingExecutor executor = new MarshallingExecutor();
+        CountDownLatch done = new CountDownLatch(1);
+        String[] threadName = new String[1];
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                threadName[0] = Thread.currentThread().getName();
+                done.countDown();
+            }
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(threadName[0].startsWith("RNZumoKit-Marshal-"));
+        executor.shutdown();
+    }
+
+    @Test
+    public void saturatedQueueRejectsInsteadOfRunningOnCaller() throws InterruptedException {
+        MarshallingExecutor executor = new MarshallingExecutor();
+        CountDownLatch blocked = new CountDownLatch(1);
+        Runnable blocking = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        Thread caller = Thread.currentThread();
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                assertNotEquals(caller, Thread.currentThread());
+            }
+        };
+
+        try {
+            for (int i = 0; i < 2; i++) {
+                executor.execute(blocking);
+            }
+            for (int i = 0; i < 10000; i++) {
+                executor.execute(task);
+            }
+            fail("Saturated queue should reject");
+        } catch (RejectedExecutionException e) {
+            assertEquals(MarshallingExecutor.SATURATED, e.getMessage());
+        } finally {
+            blocked.countDown();
+            executor.shutdown();
+        }
+
+        assertEquals(1, (int) executor.getStats().getDouble("rejected"));
+    }
+
+    @Test
+    public void shutDownExecutorRejects() {
+        MarshallingExecutor executor = new MarshallingExecutor();
+        executor.shutdown();
+
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                }
+            });
+            fail("Shut down executor should reject");
+        } catch (RejectedExecutionException e) {
+            assertEquals(MarshallingExecutor.SHUT_DOWN, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.PromiseImpl;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class MethodMetricsTest {
+
+    private final MethodMetrics metrics = new MethodMetrics("Test-Metrics", new MethodMetrics.Sink() {
+        @Override
+        public void emit(WritableMap snapshot) {
+        }
+    });
+
+    @After
+    public void tearDown() {
+        metrics.shutdown();
+    }
+
+    @Test
+    public void sharedResultRecordsMarshalTime() {
+        Promise promise = new PromiseImpl(null, null);
+        metrics.start("fetchAuthenticationConfig", promise);
+
+        MethodMetrics.Call call = metrics.succeeded(promise, 0);
+        metrics.marshalled(call, 5000000);
+
+        ReadableMap method = method("fetchAuthenticationConfig");
+        assertEquals(1, (int) method.getDouble("calls"));
+        assertEquals(1, (int) method.getMap("sdk").getDouble("count"));
+        assertEquals(1, (int) method.getMap("marshal").getDouble("count"));
+        assertEquals(5.0, method.getMap("marshal").getDouble("totalMs"), 0.001);
+    }
+
+    @Test
+    public void failedCallCountsError() {
+        Promise promise = new PromiseImpl(null, null);
+        metrics.start("getAccounts", promise);
+
+        metrics.failed(promise);
+
+        assertEquals(1, (int) method("getAccounts").getDouble("errors"));
+        assertEquals(0, metrics.getSnapshot().getInt("inFlight"));
+    }
+
+    @Test
+    public void untrackedPromiseIsIgnored() {
+        assertNull(metrics.succeeded(new PromiseImpl(null, null)));
+    }
+
+    private ReadableMap method(String name) {
+        return metrics.getSnapshot().getMap("methods").getMap(name);
+    }
+}
@@ -0,0 +1,125 @@
+package com.zumokit.reactnative;
+
+import money.zumo.zumokit.InternalTransaction;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static com.zumokit.reactnative.TestModels.account;
+import static com.zumokit.reactnative.TestModels.cryptoProperties;
+import static com.zumokit.reactnative.TestModels.fiatProperties;
+import static com.zumokit.reactnative.TestModels.internalTransaction;
+import static com.zumokit.reactnative.TestModels.transaction;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ModelFingerprintTest {
+
+    @Test
+    public void equalModelsHaveEqualFingerprints() {
+        assertEquals(
+                ModelFingerprint.of(account("account-0", "1.5")),
+                ModelFingerprint.of(account("account-0", "1.5"))
+        );
+        assertEquals(
+                ModelFingerprint.of(transaction("transaction-0", "PENDING", "0.1")),
+                ModelFingerprint.of(transaction("transaction-0", "PENDING", "0.1"))
+        );
+    }
+
+    @Test
+    public void accountFingerprintCoversCryptoProperties() {
+        assertNotEquals(
+                ModelFingerprint.of(account("account-0", "1.5", "m/44'/60'/0'/0/0")),
+                ModelFingerprint.of(account("account-0", "1.5", "m/44'/60'/0'/0/1"))
+        );
+    }
+
+    @Test
+    public void decimalsDifferingOnlyInScaleHaveDifferentFingerprints() {
+        assertNotEquals(
+                ModelFingerprint.of(account("account-0", "1.0")),
+                ModelFingerprint.of(account("account-0", "1.00"))
+        );
+    }
+
+    @Test
+    public void transactionFingerprintCoversStatus() {
+        assertNotEquals(
+                ModelFingerprint.of(transaction("transaction-0", "PENDING", "0.1")),
+                ModelFingerprint.of(transaction("transaction-0", "CONFIRMED", "0.1"))
+        );
+    }
+
+    @Test
+    public void transactionFingerprintCoversInternalTransactions() {
+        assertNotEquals(
+                ModelFingerprint.of(transaction("transaction-0", "PENDING", "0.1", null, null,
+                        internalTransactions(internalTransaction("account-1", "0.1")))),
+                ModelFingerprint.of(transaction("transaction-0", "PENDING", "0.1", null, null,
+                        internalTransactions(internalTransaction("account-1", "0.2"))))
+        );
+    }
+
+    @Test
+    public void transactionFingerprintCoversCryptoProperties() {
+        assertNotEquals(
+                ModelFingerprint.of(transaction("transaction-0", "PENDING", "0.1",
+                        cryptoProperties("0xhash", "0xto"), null, internalTransactions())),
+                ModelFingerprint.of(transaction("transaction-0", "PENDING", "0.1",
+                        cryptoProperties("0xhash", "0xother"), null, internalTransactions()))
+        );
+    }
+
+    @Test
+    public void transactionFingerprintCoversFiatProperties() {
+        assertNotEquals(
+                ModelFingerprint.of(transaction("transaction-0", "PENDING", "0.1",
+                        null, fiatProperties("GB00"), internalTransactions())),
+                ModelFingerprint.of(transaction("transaction-0", "PENDING", "0.1",
+                        null, fiatProperties("GB01"), internalTransactions()))
+        );
+    }
+
+    @Test
+    public void revisionCoversChangingFields() {
+        assertEquals(
+                ModelFingerprint.revisionOf(transaction("transaction-0", "PENDING", "0.1")),
+                ModelFingerprint.revisionOf(transaction("transaction-0", "PENDING", "0.1"))
+        );
+        assertNotEquals(
+                ModelFingerprint.revisionOf(transaction("transaction-0", "PENDING", "0.1")),
+                ModelFingerprint.revisionOf(transaction("transaction-0", "CONFIRMED", "0.1"))
+        );
+        assertNotEquals(
+                ModelFingerprint.revisionOf(transaction("transaction-0", "PENDING", "0.1")),
+                ModelFingerprint.revisionOf(transaction("transaction-0", "PENDING", "0.10"))
+        );
+        assertNotEquals(
+                ModelFingerprint.revisionOf(account("account-0", "1.5")),
+                ModelFingerprint.revisionOf(account("account-0", "1.6"))
+        );
+    }
+
+    @Test
+    public void revisionIgnoresFieldsFixedAtCreation() {
+        assertEquals(
+                ModelFingerprint.revisionOf(account("account-0", "1.5", "m/44'/60'/0'/0/0")),
+                ModelFingerprint.revisionOf(account("account-0", "1.5", "m/44'/60'/0'/0/1"))
+        );
+        assertEquals(
+                ModelFingerprint.revisionOf(transaction("transaction-0", "PENDING", "0.1",
+                        cryptoProperties("0xhash", "0xto"), null, internalTransactions())),
+                ModelFingerprint.revisionOf(transaction("transaction-0", "PENDING", "0.1",
+                        cryptoProperties("0xhash", "0xother"), null, internalTransactions()))
+        );
+    }
+
+    private static ArrayList<InternalTransaction> internalTransactions(
+            InternalTransaction... internalTransactions
+    ) {
+        return new ArrayList<>(Arrays.asList(internalTransactions));
+    }
+}
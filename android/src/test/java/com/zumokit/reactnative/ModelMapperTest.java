@@ -0,0 +1,106 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import money.zumo.zumokit.ExchangeRate;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ModelMapperTest {
+
+    @Test
+    public void historicalSeriesHasHeaderAndParallelColumns() {
+        WritableMap map = RNZumoKitModule.mapHistoricalExchangeRateSeries(historical("hour", "BTC", "USD",
+                rate("rate-0", "BTC", "USD", "40000.5", 1640995200),
+                rate("rate-1", "BTC", "USD", "40100.25", 1640998800),
+                rate("rate-2", "BTC", "USD", "39900", 1641002400)
+        ));
+
+        ReadableMap series = map.getMap("hour").getMap("BTC").getMap("USD");
+        assertEquals("BTC", series.getString("fromCurrency"));
+        assertEquals("USD", series.getString("toCurrency"));
+        assertEquals(3, series.getInt("count"));
+
+        ReadableArray timestamps = series.getArray("timestamps");
+        ReadableArray values = series.getArray("values");
+        assertEquals(3, timestamps.size());
+        assertEquals(3, values.size());
+
+        assertEquals(1640995200, timestamps.getInt(0));
+        assertEquals(1640998800, timestamps.getInt(1));
+        assertEquals(1641002400, timestamps.getInt(2));
+        assertEquals(40000.5, values.getDouble(0), 0);
+        assertEquals(40100.25, values.getDouble(1), 0);
+        assertEquals(39900, values.getDouble(2), 0);
+
+        // Rate ids and per rate currencies are not repeated in columnar form
+        assertFalse(series.hasKey("id"));
+        assertEquals(5, series.toHashMap().size());
+    }
+
+    @Test
+    public void historicalSeriesMatchesRowsOfSameRates() {
+        HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> rates =
+                historical("day", "ETH", "EUR",
+                        rate("rate-0", "ETH", "EUR", "3000.1", 1640995200),
+                        rate("rate-1", "ETH", "EUR", "3010.2", 1641081600)
+                );
+
+        ReadableArray rows = RNZumoKitModule.mapHistoricalExchangeRates(rates)
+                .getMap("day").getMap("ETH").getArray("EUR");
+        ReadableMap series = RNZumoKitModule.mapHistoricalExchangeRateSeries(rates)
+                .getMap("day").getMap("ETH").getMap("EUR");
+
+        assertEquals(rows.size(), series.getInt("count"));
+        for (int i = 0; i < rows.size(); i++) {
+            ReadableMap row = rows.getMap(i);
+            assertEquals(row.getInt("timestamp"), series.getArray("timestamps").getInt(i));
+            assertEquals(
+                    Double.parseDouble(row.getString("value")),
+                    series.getArray("values").getDouble(i),
+                    0
+            );
+        }
+    }
+
+    @Test
+    public void emptyHistoricalSeriesHasEmptyColumns() {
+        ReadableMap series = RNZumoKitModule.mapHistoricalExchangeRateSeries(historical("week", "BTC", "GBP"))
+                .getMap("week").getMap("BTC").getMap("GBP");
+
+        assertEquals(0, series.getInt("count"));
+        assertEquals(0, series.getArray("timestamps").size());
+        assertEquals(0, series.getArray("values").size());
+    }
+
+    private static ExchangeRate rate(String id, String from, String to, String value, int timestamp) {
+        return new ExchangeRate(id, from, to, new BigDecimal(value), timestamp);
+    }
+
+    private static HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> historical(
+            String interval,
+            String fromCurrency,
+            String toCurrency,
+            ExchangeRate... rates
+    ) {
+        HashMap<String, ArrayList<ExchangeRate>> toCurrencies = new HashMap<>();
+        toCurrencies.put(toCurrency, new ArrayList<>(Arrays.asList(rates)));
+
+        HashMap<String, HashMap<String, ArrayList<ExchangeRate>>> fromCurrencies = new HashMap<>();
+        fromCurrencies.put(fromCurrency, toCurrencies);
+
+        HashMap<String, HashMap<String, HashMap<String, ArrayList<ExchangeRate>>>> historical = new HashMap<>();
+        historical.put(interval, fromCurrencies);
+        return historical;
+    }
+}
@@ -0,0 +1,160 @@
+package com.zumokit.reactnative;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NonceAllocatorTest {
+
+    private static final String ACCOUNT_ID = "account-0";
+
+    private NonceAllocator allocator;
+
+    @Before
+    public void setUp() {
+        allocator = new NonceAllocator();
+    }
+
+    @Test
+    public void reservesConsecutiveNoncesFromAccountNonce() {
+        assertEquals(5, allocator.reserve(ACCOUNT_ID, 5));
+        assertEquals(6, allocator.reserve(ACCOUNT_ID, 5));
+        assertEquals(7, allocator.reserve(ACCOUNT_ID, 5));
+    }
+
+    @Test
+    public void accountsAreIndependent() {
+        assertEquals(5, allocator.reserve(ACCOUNT_ID, 5));
+        assertEquals(0, allocator.reserve("account-1", 0));
+        assertEquals(6, allocator.reserve(ACCOUNT_ID, 5));
+    }
+
+    @Test
+    public void releasedNonceIsHandedOutBeforeNewOnes() {
+        allocator.reserve(ACCOUNT_ID, 5);
+        allocator.reserve(ACCOUNT_ID, 5);
+        allocator.reserve(ACCOUNT_ID, 5);
+
+        allocator.release(ACCOUNT_ID, 6);
+
+        assertEquals(6, allocator.reserve(ACCOUNT_ID, 5));
+        assertEquals(8, allocator.reserve(ACCOUNT_ID, 5));
+    }
+
+    @Test
+    public void releasedHighestNonceIsNotKeptAsGap() {
+        allocator.reserve(ACCOUNT_ID, 5);
+        allocator.reserve(ACCOUNT_ID, 5);
+
+        allocator.release(ACCOUNT_ID, 6);
+
+        assertEquals(6, allocator.reserve(ACCOUNT_ID, 5));
+        assertEquals(7, allocator.reserve(ACCOUNT_ID, 5));
+    }
+
+    @Test
+    public void releasingUnreservedNonceIsIgnored() {
+        allocator.reserve(ACCOUNT_ID, 5);
+
+        allocator.release(ACCOUNT_ID, 9);
+        allocator.release("account-1", 5);
+
+        assertEquals(6, allocator.reserve(ACCOUNT_ID, 5));
+    }
+
+    @Test
+    public void reconcileMovesPastUsedNonces() {
+        allocator.reserve(ACCOUNT_ID, 5);
+        allocator.reserve(ACCOUNT_ID, 5);
+
+        allocator.reconcile(ACCOUNT_ID, 7);
+
+        assertEquals(7, allocator.reserve(ACCOUNT_ID, 5));
+    }
+
+    @Test
+    public void reconcileNeverMovesBack() {
+        allocator.reserve(ACCOUNT_ID, 5);
+
+        allocator.reconcile(ACCOUNT_ID, 3);
+
+        assertEquals(6, allocator.reserve(ACCOUNT_ID, 5));
+    }
+
+    @Test
+    public void clearForgetsAccounts() {
+        allocator.reserve(ACCOUNT_ID, 5);
+
+        allocator.clear();
+
+        assertEquals(2, allocator.reserve(ACCOUNT_ID, 2));
+    }
+
+    @Test
+    public void unsubmittedReservationExpires() {
+        allocator = new NonceAllocator(0);
+        allocator.reserve(ACCOUNT_ID, 5);
+
+        assertEquals(5, allocator.reserve(ACCOUNT_ID, 5));
+    }
+
+    @Test
+    public void submittedNonceNeverExpires() {
+        allocator = new NonceAllocator(0);
+        allocator.reserve(ACCOUNT_ID, 5);
+        allocator.submitted(ACCOUNT_ID, 5);
+
+        assertEquals(6, allocator.reserve(ACCOUNT_ID, 5));
+        assertEquals(1, allocator.getState().getMap(ACCOUNT_ID).getArray("reserved").size());
+    }
+
+    @Test
+    public void submittedNonceIsHeldUntilReconciled() {
+        allocator.reserve(ACCOUNT_ID, 5);
+        allocator.submitted(ACCOUNT_ID, 5);
+
+        assertEquals(6, allocator.reserve(ACCOUNT_ID, 5));
+
+        // Submitted transaction might be broadcast, releasing its nonce is ignored
+        allocator.release(ACCOUNT_ID, 5);
+        assertEquals(7, allocator.reserve(ACCOUNT_ID, 5));
+
+        allocator.reconcile(ACCOUNT_ID, 6);
+        assertEquals(2, allocator.getState().getMap(ACCOUNT_ID).getArray("reserved").size());
+        assertEquals(2, allocator.getState().getMap(ACCOUNT_ID).getInt("awaitingSubmission"));
+    }
+
+    @Test
+    public void nonceOfSubmissionFailedBeforeBroadcastIsHandedOutAgain() {
+        allocator.reserve(ACCOUNT_ID, 5);
+        allocator.reserve(ACCOUNT_ID, 5);
+        allocator.submitted(ACCOUNT_ID, 5);
+
+        allocator.submitFailed(ACCOUNT_ID, 5);
+
+        assertEquals(5, allocator.reserve(ACCOUNT_ID, 5));
+    }
+
+    @Test
+    public void expiredNonceIsTakenBackWhenSubmittedLate() {
+        allocator = new NonceAllocator(0);
+        allocator.reserve(ACCOUNT_ID, 5);
+        allocator.reserve(ACCOUNT_ID, 5);
+
+        // Reservation of nonce 5 has expired, nonce is taken back on submission
+        allocator.submitted(ACCOUNT_ID, 5);
+
+        assertEquals(0, allocator.getState().getMap(ACCOUNT_ID).getArray("released").size());
+    }
+
+    @Test
+    public void onlyPreBroadcastErrorsReleaseNonce() {
+        assertTrue(NonceAllocator.isBeforeBroadcast("invalid_request_error"));
+        assertFalse(NonceAllocator.isBeforeBroadcast("api_connection_error"));
+        assertFalse(NonceAllocator.isBeforeBroadcast("api_error"));
+        assertFalse(NonceAllocator.isBeforeBroadcast(null));
+    }
+}
@@ -0,0 +1,91 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PayloadSizesTest {
+
+    private PayloadSizes sizes;
+
+    @Before
+    public void setUp() {
+        sizes = new PayloadSizes();
+    }
+
+    @Test
+    public void measureApproximatesJsonLength() {
+        PayloadSizes.Size size = PayloadSizes.measure(payload());
+
+        // {"a":"xy","n":1,"z":null,"arr":["b",true]} with numbers counted as 8 bytes
+        assertEquals(53, size.bytes);
+        assertEquals(7, size.nodes);
+        assertEquals(2, size.strings);
+    }
+
+    @Test
+    public void nothingIsRecordedUntilEnabled() {
+        sizes.recordEvent("AccountDataChanged", payload());
+        sizes.recordResult("getAccounts", payload());
+
+        ReadableMap stats = sizes.getStats();
+        assertFalse(stats.getBoolean("enabled"));
+        assertEquals(0, stats.getMap("events").toHashMap().size());
+        assertEquals(0, stats.getMap("methods").toHashMap().size());
+    }
+
+    @Test
+    public void sizesAreAggregatedPerEventAndMethod() {
+        sizes.setEnabled(true);
+
+        sizes.recordEvent("AccountDataChanged", payload());
+        sizes.recordEvent("AccountDataChanged", payload());
+        sizes.recordResult("getAccounts", "account");
+
+        ReadableMap stats = sizes.getStats();
+        assertTrue(stats.getBoolean("enabled"));
+
+        ReadableMap event = stats.getMap("events").getMap("AccountDataChanged");
+        assertEquals(2, event.getDouble("count"), 0);
+        assertEquals(106, event.getMap("bytes").getDouble("total"), 0);
+        assertEquals(53, event.getMap("bytes").getDouble("max"), 0);
+        assertEquals(14, event.getMap("nodes").getDouble("total"), 0);
+        assertEquals(4, event.getMap("strings").getDouble("total"), 0);
+
+        ReadableMap method = stats.getMap("methods").getMap("getAccounts");
+        assertEquals(1, method.getDouble("count"), 0);
+        assertEquals(9, method.getMap("bytes").getDouble("total"), 0);
+        assertFalse(stats.getMap("events").hasKey("getAccounts"));
+    }
+
+    @Test
+    public void resetDropsRecordedSizes() {
+        sizes.setEnabled(true);
+        sizes.recordEvent("AccountDataChanged", payload());
+
+        sizes.reset();
+
+        assertEquals(0, sizes.getStats().getMap("events").toHashMap().size());
+    }
+
+    private static WritableMap payload() {
+        WritableArray array = Arguments.createArray();
+        array.pushString("b");
+        array.pushBoolean(true);
+
+        WritableMap map = Arguments.createMap();
+        map.putString("a", "xy");
+        map.putInt("n", 1);
+        map.putNull("z");
+        map.putArray("arr", array);
+        return map;
+    }
+}
@@ -0,0 +1,115 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.WritableMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static com.zumokit.reactnative.TestModels.account;
+import static com.zumokit.reactnative.TestModels.snapshot;
+import static com.zumokit.reactnative.TestModels.snapshots;
+import static com.zumokit.reactnative.TestModels.transaction;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PendingTransactionTrackerTest {
+
+    private PendingTransactionTracker tracker;
+
+    @Before
+    public void setUp() {
+        tracker = new PendingTransactionTracker();
+    }
+
+    @Test
+    public void pendingToFinalTransitionIsReportedOnce() {
+        tracker.watch("transaction-0", "PENDING");
+
+        assertTrue(tracker.update(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-0", "PENDING", "0.1")
+        ))).isEmpty());
+
+        ArrayList<WritableMap> events = tracker.update(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-0", "CONFIRMED", "0.1")
+        )));
+
+        assertEquals(1, events.size());
+        assertEquals("transaction-0", events.get(0).getString("id"));
+        assertEquals("PENDING", events.get(0).getString("oldStatus"));
+        assertEquals("CONFIRMED", events.get(0).getString("newStatus"));
+        assertEquals(1640995800, events.get(0).getInt("confirmedAt"));
+
+        // Final status ends watch
+        assertEquals(0, tracker.getStats().getInt("watched"));
+        assertTrue(tracker.update(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-0", "FAILED", "0.1")
+        ))).isEmpty());
+    }
+
+    @Test
+    public void unknownStatusIsReportedAsNullAndKeptWatchedUntilFinal() {
+        tracker.watch("transaction-0", null);
+
+        ArrayList<WritableMap> events = tracker.update(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-0", "PENDING", "0.1")
+        )));
+
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).isNull("oldStatus"));
+        assertEquals("PENDING", events.get(0).getString("newStatus"));
+        assertTrue(events.get(0).isNull("confirmedAt"));
+        assertEquals(1, tracker.getStats().getInt("watched"));
+
+        events = tracker.update(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-0", "REJECTED", "0.1")
+        )));
+
+        assertEquals("PENDING", events.get(0).getString("oldStatus"));
+        assertEquals("REJECTED", events.get(0).getString("newStatus"));
+        assertEquals(0, tracker.getStats().getInt("watched"));
+    }
+
+    @Test
+    public void finalStatusIsNotWatched() {
+        tracker.watch("transaction-0", "CONFIRMED");
+        tracker.watch("transaction-1", "CANCELLED");
+
+        assertEquals(0, tracker.getStats().getInt("watched"));
+    }
+
+    @Test
+    public void oldestWatchIsDroppedWhenFull() {
+        tracker.configure(2, PendingTransactionTracker.DEFAULT_TTL_MS);
+
+        tracker.watch("transaction-0", "PENDING");
+        tracker.watch("transaction-1", "PENDING");
+        tracker.watch("transaction-2", "PENDING");
+
+        ArrayList<WritableMap> events = tracker.update(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-0", "CONFIRMED", "0.1"),
+                transaction("transaction-1", "CONFIRMED", "0.1"),
+                transaction("transaction-2", "CONFIRMED", "0.1")
+        )));
+
+        assertEquals(2, events.size());
+        assertEquals("transaction-1", events.get(0).getString("id"));
+        assertEquals("transaction-2", events.get(1).getString("id"));
+
+        WritableMap stats = tracker.getStats();
+        assertEquals(1, stats.getDouble("dropped"), 0);
+        assertEquals(2, stats.getDouble("changes"), 0);
+    }
+
+    @Test
+    public void expiredWatchIsNotReported() {
+        tracker.configure(PendingTransactionTracker.DEFAULT_MAX_WATCHED, 0);
+        tracker.watch("transaction-0", "PENDING");
+
+        assertTrue(tracker.update(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-0", "CONFIRMED", "0.1")
+        ))).isEmpty());
+        assertEquals(1, tracker.getStats().getDouble("expired"), 0);
+    }
+}
@@ -0,0 +1,149 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.WritableMap;
+
+import money.zumo.zumokit.ComposeExchangeCallback;
+import money.zumo.zumokit.ComposedExchange;
+import money.zumo.zumokit.Quote;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.zumokit.reactnative.TestModels.account;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class QuoteSubscriptionsTest {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("0.1");
+
+    private static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(Runnable task) {
+            task.run();
+        }
+    };
+
+    private final LinkedBlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+    private final AtomicInteger composes = new AtomicInteger();
+
+    private QuoteSubscriptions subscriptions;
+
+    @After
+    public void tearDown() {
+        subscriptions.shutdown();
+    }
+
+    @Test
+    public void cachedQuoteIsTakenOnce() throws InterruptedException {
+        subscriptions = new QuoteSubscriptions("Test-Quotes", DIRECT, composing(60), recording());
+        subscriptions.subscribe("account-0", "account-1", AMOUNT, false);
+        assertEquals("refreshed:quote-1", events.poll(5, TimeUnit.SECONDS));
+
+        WritableMap taken = subscriptions.take("account-0", "account-1", AMOUNT, false);
+        assertNotNull(taken);
+        assertEquals("quote-1", taken.getMap("quote").getString("id"));
+        assertNull(subscriptions.take("account-0", "account-1", AMOUNT, false));
+
+        // Next quote is composed right away for the next consumer
+        assertEquals("refreshed:quote-2", events.poll(5, TimeUnit.SECONDS));
+        assertEquals("quote-2", subscriptions.take("account-0", "account-1", AMOUNT, false)
+                .getMap("quote").getString("id"));
+    }
+
+    @Test
+    public void shortLivedQuoteIsHandedOutAndRefreshedHalfWay() throws InterruptedException {
+        subscriptions = new QuoteSubscriptions("Test-Quotes", DIRECT, composing(2), recording());
+        subscriptions.subscribe("account-0", "account-1", AMOUNT, false);
+        assertEquals("refreshed:quote-1", events.poll(5, TimeUnit.SECONDS));
+        long publishedAt = System.nanoTime();
+
+        // Two second quote is refreshed after a second, not every MIN_REFRESH_MS
+        assertEquals("refreshed:quote-2", events.poll(5, TimeUnit.SECONDS));
+        long refreshMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - publishedAt);
+        assertTrue(refreshMs >= 500);
+
+        assertEquals("quote-2", subscriptions.take("account-0", "account-1", AMOUNT, false)
+                .getMap("quote").getString("id"));
+    }
+
+    @Test
+    public void throwingComposeIsReportedAndRetried() throws InterruptedException {
+        subscriptions = new QuoteSubscriptions("Test-Quotes", DIRECT, new QuoteSubscriptions.Composer() {
+            @Override
+            public boolean compose(
+                    String fromAccountId,
+                    String toAccountId,
+                    BigDecimal amount,
+                    boolean sendMax,
+                    ComposeExchangeCallback callback
+            ) {
+                composes.incrementAndGet();
+                throw new IllegalStateException("Compose failed.");
+            }
+        }, recording());
+        subscriptions.subscribe("account-0", "account-1", AMOUNT, false);
+
+        assertEquals("failed:Compose failed.", events.poll(5, TimeUnit.SECONDS));
+        assertEquals(1, (int) subscriptions.getStats().getDouble("failures"));
+        assertEquals(1, subscriptions.getStats().getInt("subscriptions"));
+    }
+
+    @Test
+    public void rejectedMappingIsReportedAsFailure() throws InterruptedException {
+        MarshallingExecutor executor = new MarshallingExecutor();
+        executor.shutdown();
+
+        subscriptions = new QuoteSubscriptions("Test-Quotes", executor, composing(60), recording());
+        subscriptions.subscribe("account-0", "account-1", AMOUNT, false);
+
+        assertEquals("failed:" + MarshallingExecutor.SHUT_DOWN, events.poll(5, TimeUnit.SECONDS));
+        assertNull(subscriptions.take("account-0", "account-1", AMOUNT, false));
+    }
+
+    private QuoteSubscriptions.Composer composing(int ttl) {
+        return new QuoteSubscriptions.Composer() {
+            @Override
+            public boolean compose(
+                    String fromAccountId,
+                    String toAccountId,
+                    BigDecimal amount,
+                    boolean sendMax,
+                    ComposeExchangeCallback callback
+            ) {
+                String id = "quote-" + composes.incrementAndGet();
+                callback.onSuccess(new ComposedExchange(
+                        account(fromAccountId, "1"),
+                        account(toAccountId, "0"),
+                        new Quote(id, ttl, "2022-01-01T00:00:00Z", "2022-01-01T00:01:00Z",
+                                "ETH", "BTC", new BigDecimal("0.05"), new BigDecimal("0.01"),
+                                amount, new BigDecimal("0.001"), new BigDecimal("0.0049"))
+                ));
+                return true;
+            }
+        };
+    }
+
+    private QuoteSubscriptions.Sink recording() {
+        return new QuoteSubscriptions.Sink() {
+            @Override
+            public void refreshed(String subscriptionId, WritableMap composedExchange) {
+                events.add("refreshed:" + composedExchange.getMap("quote").getString("id"));
+            }
+
+            @Override
+            public void failed(String subscriptionId, Exception error) {
+                events.add("failed:" + error.getMessage());
+            }
+        };
+    }
+}
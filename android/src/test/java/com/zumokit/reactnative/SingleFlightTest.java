@@ -0,0 +1,108 @@
+package com.zumokit.reactnative;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SingleFlightTest {
+
+    private static final class RecordingWaiter implements SingleFlight.Waiter {
+        final ArrayList<String> settled = new ArrayList<>();
+
+        @Override
+        public void resolve(Object result, long mappedNanos) {
+            settled.add("resolved:" + result);
+        }
+
+        @Override
+        public void reject(Exception error) {
+            settled.add("rejected:" + error.getMessage());
+        }
+    }
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Test
+    public void concurrentCallersShareOneRequest() {
+        String key = singleFlight.keyOf("fetchTradingPairs");
+        RecordingWaiter first = new RecordingWaiter();
+        RecordingWaiter second = new RecordingWaiter();
+
+        assertTrue(singleFlight.join(key, first));
+        assertFalse(singleFlight.join(key, second));
+
+        singleFlight.resolve(key, "pairs", 0);
+
+        assertEquals("resolved:pairs", first.settled.get(0));
+        assertEquals("resolved:pairs", second.settled.get(0));
+        assertEquals(1, (int) singleFlight.getStats().getMap("deduplicatedByKey")
+                .getDouble("fetchTradingPairs"));
+    }
+
+    @Test
+    public void callerOfNewSessionNeverJoinsPreviousRequest() {
+        String previousKey = singleFlight.keyOf("fetchAuthenticationConfig");
+        RecordingWaiter previous = new RecordingWaiter();
+        assertTrue(singleFlight.join(previousKey, previous));
+
+        singleFlight.endSession();
+
+        String key = singleFlight.keyOf("fetchAuthenticationConfig");
+        RecordingWaiter current = new RecordingWaiter();
+        assertNotEquals(previousKey, key);
+        assertTrue(singleFlight.join(key, current));
+
+        // Late result of previous session reaches no one
+        assertFalse(singleFlight.isInFlight(previousKey));
+        singleFlight.resolve(previousKey, "previous", 0);
+        assertEquals(0, current.settled.size());
+
+        singleFlight.resolve(key, "current", 0);
+        assertEquals("resolved:current", current.settled.get(0));
+    }
+
+    @Test
+    public void endSessionRejectsOnlyWaitersOfSessionRequests() {
+        RecordingWaiter sessionWaiter = new RecordingWaiter();
+        singleFlight.join(singleFlight.keyOf("fetchTradingPairs"), sessionWaiter);
+        String globalKey = singleFlight.globalKeyOf("fetchHistoricalExchangeRates");
+        RecordingWaiter globalWaiter = new RecordingWaiter();
+        singleFlight.join(globalKey, globalWaiter);
+
+        singleFlight.endSession();
+
+        assertEquals("rejected:Session ended.", sessionWaiter.settled.get(0));
+        assertEquals(0, globalWaiter.settled.size());
+
+        // Caller of the new session joins the global request still in flight
+        RecordingWaiter laterWaiter = new RecordingWaiter();
+        assertEquals(globalKey, singleFlight.globalKeyOf("fetchHistoricalExchangeRates"));
+        assertFalse(singleFlight.join(globalKey, laterWaiter));
+
+        singleFlight.resolve(globalKey, "rates", 0);
+        assertEquals("resolved:rates", globalWaiter.settled.get(0));
+        assertEquals("resolved:rates", laterWaiter.settled.get(0));
+    }
+
+    @Test
+    public void resetRejectsEveryWaiter() {
+        RecordingWaiter sessionWaiter = new RecordingWaiter();
+        singleFlight.join(singleFlight.keyOf("fetchTradingPairs"), sessionWaiter);
+        String globalKey = singleFlight.globalKeyOf("fetchHistoricalExchangeRates");
+        RecordingWaiter globalWaiter = new RecordingWaiter();
+        singleFlight.join(globalKey, globalWaiter);
+
+        singleFlight.reset();
+
+        assertEquals("rejected:Session ended.", sessionWaiter.settled.get(0));
+        assertEquals("rejected:Session ended.", globalWaiter.settled.get(0));
+        assertFalse(singleFlight.isInFlight(globalKey));
+        assertNotEquals(globalKey, singleFlight.globalKeyOf("fetchHistoricalExchangeRates"));
+        assertEquals(0, singleFlight.getStats().getInt("inFlight"));
+    }
+}
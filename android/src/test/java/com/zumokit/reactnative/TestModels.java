@@ -0,0 +1,130 @@
+package com.zumokit.reactnative;
+
+import money.zumo.zumokit.Account;
+import money.zumo.zumokit.AccountCryptoProperties;
+import money.zumo.zumokit.AccountDataSnapshot;
+import money.zumo.zumokit.AccountFiatProperties;
+import money.zumo.zumokit.Card;
+import money.zumo.zumokit.InternalTransaction;
+import money.zumo.zumokit.Transaction;
+import money.zumo.zumokit.TransactionAmount;
+import money.zumo.zumokit.TransactionCryptoProperties;
+import money.zumo.zumokit.TransactionFiatProperties;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * SDK models for unit tests, every field not given is fixed.
+ */
+final class TestModels {
+
+    private TestModels() {
+    }
+
+    static Account account(String id, String balance) {
+        return account(id, balance, "m/44'/60'/0'/0/0");
+    }
+
+    static Account account(String id, String balance, String path) {
+        return new Account(
+                id,
+                "CRYPTO",
+                "ETH",
+                "TESTNET",
+                "STANDARD",
+                "NON-CUSTODY",
+                new BigDecimal(balance),
+                new BigDecimal(balance),
+                new BigDecimal(balance),
+                BigDecimal.ZERO,
+                false,
+                new AccountCryptoProperties("0xaddress", null, path, 3),
+                null,
+                new ArrayList<Card>()
+        );
+    }
+
+    static Transaction transaction(String id, String status, String amount) {
+        return transaction(id, status, amount, null, null, new ArrayList<InternalTransaction>());
+    }
+
+    static Transaction transaction(
+            String id,
+            String status,
+            String amount,
+            TransactionCryptoProperties cryptoProperties,
+            TransactionFiatProperties fiatProperties,
+            ArrayList<InternalTransaction> internalTransactions
+    ) {
+        return new Transaction(
+                id,
+                "CRYPTO",
+                "ETH",
+                "OUTGOING",
+                "TESTNET",
+                status,
+                new BigDecimal(amount),
+                new BigDecimal("0.000021"),
+                null,
+                new ArrayList<TransactionAmount>(),
+                new ArrayList<TransactionAmount>(),
+                internalTransactions,
+                null,
+                1640995200,
+                "CONFIRMED".equals(status) ? 1640995800 : null,
+                1640995200,
+                cryptoProperties,
+                fiatProperties,
+                null,
+                null,
+                null
+        );
+    }
+
+    static TransactionCryptoProperties cryptoProperties(String txHash, String toAddress) {
+        return new TransactionCryptoProperties(
+                txHash,
+                3,
+                "0xfrom",
+                toAddress,
+                null,
+                new BigDecimal("0.00000002"),
+                21000,
+                new HashMap<String, Double>(),
+                new HashMap<String, Double>()
+        );
+    }
+
+    static TransactionFiatProperties fiatProperties(String iban) {
+        return new TransactionFiatProperties(
+                new AccountFiatProperties("provider", "12345678", "000000", "BIC", iban, "Customer"),
+                null
+        );
+    }
+
+    static InternalTransaction internalTransaction(String toAccountId, String amount) {
+        return new InternalTransaction(
+                "user-0",
+                "integrator-user-0",
+                "account-0",
+                "0xfrom",
+                "user-1",
+                "integrator-user-1",
+                toAccountId,
+                "0xto",
+                new BigDecimal(amount),
+                new HashMap<String, Double>()
+        );
+    }
+
+    static AccountDataSnapshot snapshot(Account account, Transaction... transactions) {
+        return new AccountDataSnapshot(account, new ArrayList<>(Arrays.asList(transactions)));
+    }
+
+    static ArrayList<AccountDataSnapshot> snapshots(AccountDataSnapshot... snapshots) {
+        return new ArrayList<>(Arrays.asList(snapshots));
+    }
+}
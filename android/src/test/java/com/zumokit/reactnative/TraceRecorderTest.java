@@ -0,0 +1,147 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.PromiseImpl;
+import com.facebook.react.bridge.WritableMap;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TraceRecorderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final MethodMetrics metrics = new MethodMetrics("Test-Metrics", new MethodMetrics.Sink() {
+        @Override
+        public void emit(WritableMap snapshot) {
+        }
+    });
+
+    private final TraceRecorder recorder = new TraceRecorder(16);
+
+    @After
+    public void tearDown() {
+        metrics.shutdown();
+    }
+
+    @Test
+    public void nothingIsRecordedUntilEnabled() {
+        MethodMetrics.Call call = call("getAccounts");
+
+        recorder.begin(call);
+        recorder.end(call, null);
+
+        assertFalse(recorder.getStats().getBoolean("enabled"));
+        assertEquals(0, recorder.getStats().getInt("recorded"));
+    }
+
+    @Test
+    public void spanIsDumpedAsChromeTraceEvents() throws Exception {
+        recorder.configure(true, 16);
+        MethodMetrics.Call call = call("submitTransaction");
+
+        recorder.begin(call);
+        recorder.mark(call, "callback");
+        recorder.end(call, "API_ERROR");
+
+        JSONObject trace = dump();
+        assertEquals("ms", trace.getString("displayTimeUnit"));
+
+        ArrayList<JSONObject> spans = spans(trace.getJSONArray("traceEvents"));
+        assertEquals(3, spans.size());
+
+        assertEquals("submitTransaction", spans.get(0).getString("name"));
+        assertEquals("b", spans.get(0).getString("ph"));
+        assertEquals("callback", spans.get(1).getString("name"));
+        assertEquals("n", spans.get(1).getString("ph"));
+        assertEquals("submitTransaction", spans.get(2).getString("name"));
+        assertEquals("e", spans.get(2).getString("ph"));
+        assertEquals("API_ERROR", spans.get(2).getJSONObject("args").getString("error"));
+
+        for (JSONObject span : spans) {
+            assertEquals("RNZumoKit", span.getString("cat"));
+            assertEquals(Long.toString(call.getId()), span.getString("id"));
+            assertEquals(Thread.currentThread().getId(), span.getLong("tid"));
+        }
+        assertTrue(spans.get(0).getDouble("ts") <= spans.get(2).getDouble("ts"));
+        assertFalse(spans.get(0).has("args"));
+    }
+
+    @Test
+    public void threadIsNamedInMetadata() throws Exception {
+        recorder.configure(true, 16);
+        recorder.begin(call("getAccounts"));
+
+        JSONArray events = dump().getJSONArray("traceEvents");
+        boolean named = false;
+        for (int i = 0; i < events.length(); i++) {
+            JSONObject event = events.getJSONObject(i);
+            if ("M".equals(event.getString("ph"))) {
+                assertEquals(Thread.currentThread().getId(), event.getLong("tid"));
+                assertEquals(Thread.currentThread().getName(), event.getJSONObject("args").getString("name"));
+                named = true;
+            }
+        }
+        assertTrue(named);
+    }
+
+    @Test
+    public void fullBufferDropsOldestEvents() throws Exception {
+        recorder.configure(true, 2);
+
+        recorder.begin(call("first"));
+        recorder.begin(call("second"));
+        recorder.begin(call("third"));
+
+        assertEquals(2, recorder.getStats().getInt("recorded"));
+        assertEquals(1, recorder.getStats().getDouble("dropped"), 0);
+
+        ArrayList<JSONObject> spans = spans(dump().getJSONArray("traceEvents"));
+        assertEquals("second", spans.get(0).getString("name"));
+        assertEquals("third", spans.get(1).getString("name"));
+    }
+
+    @Test
+    public void clearDropsRecordedEvents() {
+        recorder.configure(true, 16);
+        recorder.begin(call("getAccounts"));
+
+        recorder.clear();
+
+        assertEquals(0, recorder.getStats().getInt("recorded"));
+        assertTrue(recorder.getStats().getBoolean("enabled"));
+    }
+
+    private MethodMetrics.Call call(String method) {
+        return metrics.start(method, new PromiseImpl(null, null));
+    }
+
+    private JSONObject dump() throws Exception {
+        File file = recorder.dump(folder.getRoot());
+        return new JSONObject(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
+    // Trace events without thread name metadata
+    private static ArrayList<JSONObject> spans(JSONArray events) {
+        ArrayList<JSONObject> spans = new ArrayList<>();
+        for (int i = 0; i < events.length(); i++) {
+            if (!"M".equals(events.getJSONObject(i).getString("ph"))) {
+                spans.add(events.getJSONObject(i));
+            }
+        }
+        return spans;
+    }
+}
@@ -0,0 +1,96 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.ReadableArray;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TradingPairCatalogTest {
+
+    private TradingPairCatalog catalog;
+
+    @Before
+    public void setUp() {
+        catalog = new TradingPairCatalog();
+    }
+
+    @Test
+    public void sdkCatalogIsIndexedByPairAndCurrency() throws IOException {
+        catalog.update(fixture("trading-pairs.json"));
+
+        assertEquals("10", catalog.getPair("ETH", "BTC").getString("upperLimit"));
+        assertNull(catalog.getPair("BTC", "GBP"));
+
+        ReadableArray ethPairs = catalog.getPairsFor("ETH");
+        assertEquals(3, ethPairs.size());
+        assertEquals(2, catalog.getPairsFor("BTC").size());
+    }
+
+    @Test
+    public void catalogIsServedParsedInOrder() throws IOException {
+        catalog.update(fixture("trading-pairs.json"));
+
+        ReadableArray pairs = catalog.getPairs();
+        assertEquals(3, pairs.size());
+        assertEquals("BTC", pairs.getMap(1).getString("currencyFrom"));
+        assertEquals("ETH", pairs.getMap(1).getString("currencyTo"));
+    }
+
+    @Test
+    public void pairWithoutCurrenciesIsRejected() {
+        try {
+            catalog.update("[{\"from\": \"ETH\", \"to\": \"BTC\"}]");
+            fail("Pair without currencies should be rejected");
+        } catch (IllegalArgumentException e) {
+            assertFalse(catalog.isFresh());
+        }
+    }
+
+    @Test
+    public void freshnessCheckDoesNotCountLookups() throws IOException {
+        catalog.isFresh();
+        catalog.update(fixture("trading-pairs.json"));
+        assertTrue(catalog.isFresh());
+        assertTrue(catalog.isFresh());
+
+        assertEquals(0, (int) catalog.getStats().getDouble("hits"));
+        assertEquals(0, (int) catalog.getStats().getDouble("misses"));
+
+        catalog.recordLookup(true);
+        catalog.recordLookup(false);
+        assertEquals(1, (int) catalog.getStats().getDouble("hits"));
+        assertEquals(1, (int) catalog.getStats().getDouble("misses"));
+    }
+
+    @Test
+    public void invalidatedCatalogIsNotFresh() throws IOException {
+        catalog.update(fixture("trading-pairs.json"));
+
+        catalog.invalidate();
+
+        assertFalse(catalog.isFresh());
+        assertEquals(3, catalog.getPairs().size());
+    }
+
+    private static String fixture(String name) throws IOException {
+        InputStream input = TradingPairCatalogTest.class.getClassLoader().getResourceAsStream(name);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+        input.close();
+        return output.toString("UTF-8");
+    }
+}
@@ -0,0 +1,163 @@
+package com.zumokit.reactnative;
+
+import com.facebook.react.bridge.ReadableMap;
+
+import money.zumo.zumokit.CustodyOrder;
+import money.zumo.zumokit.InternalTransaction;
+import money.zumo.zumokit.Transaction;
+import money.zumo.zumokit.TransactionAmount;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+import static com.zumokit.reactnative.TestModels.account;
+import static com.zumokit.reactnative.TestModels.cryptoProperties;
+import static com.zumokit.reactnative.TestModels.snapshot;
+import static com.zumokit.reactnative.TestModels.snapshots;
+import static com.zumokit.reactnative.TestModels.transaction;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TransactionIndexTest {
+
+    private TransactionIndex index;
+
+    @Before
+    public void setUp() {
+        index = new TransactionIndex();
+    }
+
+    @Test
+    public void transactionIsFoundByIdHashAndCustodyOrder() {
+        Transaction crypto = transaction("transaction-0", "PENDING", "0.1",
+                cryptoProperties("0xhash", "0xto"), null, new ArrayList<InternalTransaction>());
+        Transaction custody = custodyTransaction("transaction-1", "PENDING", "custody-order-1");
+
+        index.update(snapshots(snapshot(account("account-0", "1"), crypto, custody)));
+
+        assertSame(crypto, index.get("transaction-0"));
+        assertSame(crypto, index.findByHash("0xhash"));
+        assertSame(custody, index.findByCustodyOrderId("custody-order-1"));
+        assertNull(index.get("transaction-2"));
+        assertNull(index.findByHash("0xother"));
+
+        ReadableMap stats = index.getStats();
+        assertEquals(2, stats.getInt("transactions"));
+        assertEquals(1, stats.getInt("hashes"));
+        assertEquals(1, stats.getInt("custodyOrders"));
+        assertEquals(5, stats.getDouble("lookups"), 0);
+        assertEquals(2, stats.getDouble("misses"), 0);
+    }
+
+    @Test
+    public void statusChangeMovesTransactionBetweenStatuses() {
+        index.update(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-0", "PENDING", "0.1"),
+                transaction("transaction-1", "PENDING", "0.1")
+        )));
+        assertEquals(2, index.findByStatus("PENDING").size());
+
+        Transaction confirmed = transaction("transaction-0", "CONFIRMED", "0.1");
+        index.update(snapshots(snapshot(account("account-0", "1"),
+                confirmed,
+                transaction("transaction-1", "PENDING", "0.1")
+        )));
+
+        ArrayList<Transaction> pending = index.findByStatus("PENDING");
+        assertEquals(1, pending.size());
+        assertEquals("transaction-1", pending.get(0).getId());
+        assertEquals(1, index.findByStatus("CONFIRMED").size());
+        assertSame(confirmed, index.findByStatus("CONFIRMED").get(0));
+        assertEquals(0, index.findByStatus("FAILED").size());
+    }
+
+    @Test
+    public void transactionMissingFromSnapshotsIsRemoved() {
+        index.update(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-0", "PENDING", "0.1",
+                        cryptoProperties("0xhash", "0xto"), null, new ArrayList<InternalTransaction>())
+        )));
+
+        index.update(snapshots(snapshot(account("account-0", "1"))));
+
+        assertNull(index.get("transaction-0"));
+        assertNull(index.findByHash("0xhash"));
+        assertEquals(0, index.findByStatus("PENDING").size());
+        assertEquals(0, index.getStats().getMap("statuses").toHashMap().size());
+    }
+
+    @Test
+    public void transactionInSeveralAccountsIsIndexedOnce() {
+        index.update(snapshots(
+                snapshot(account("account-0", "1"), transaction("transaction-0", "PENDING", "0.1")),
+                snapshot(account("account-1", "1"), transaction("transaction-0", "PENDING", "0.1"))
+        ));
+
+        assertEquals(1, index.findByStatus("PENDING").size());
+        assertEquals(1, index.getStats().getInt("transactions"));
+    }
+
+    @Test
+    public void hashTakenOverByAnotherTransactionIsKept() {
+        index.update(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-0", "PENDING", "0.1",
+                        cryptoProperties("0xhash", "0xto"), null, new ArrayList<InternalTransaction>())
+        )));
+
+        Transaction replacement = transaction("transaction-1", "PENDING", "0.1",
+                cryptoProperties("0xhash", "0xto"), null, new ArrayList<InternalTransaction>());
+        index.update(snapshots(snapshot(account("account-0", "1"), replacement)));
+
+        assertSame(replacement, index.findByHash("0xhash"));
+    }
+
+    private static Transaction custodyTransaction(String id, String status, String custodyOrderId) {
+        CustodyOrder custodyOrder = new CustodyOrder(
+                custodyOrderId,
+                "WITHDRAW",
+                status,
+                new BigDecimal("0.1"),
+                false,
+                null,
+                null,
+                new ArrayList<String>(),
+                "account-0",
+                "user-0",
+                "integrator-user-0",
+                "0xto",
+                null,
+                null,
+                null,
+                1640995200,
+                1640995200
+        );
+
+        return new Transaction(
+                id,
+                "CUSTODY",
+                "ETH",
+                "OUTGOING",
+                "TESTNET",
+                status,
+                new BigDecimal("0.1"),
+                null,
+                null,
+                new ArrayList<TransactionAmount>(),
+                new ArrayList<TransactionAmount>(),
+                new ArrayList<InternalTransaction>(),
+                null,
+                1640995200,
+                null,
+                1640995200,
+                null,
+                null,
+                null,
+                custodyOrder,
+                null
+        );
+    }
+}
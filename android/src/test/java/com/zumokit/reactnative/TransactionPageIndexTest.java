@@ -0,0 +1,121 @@
+package com.zumokit.reactnative;
+
+import money.zumo.zumokit.Transaction;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+
+import static com.zumokit.reactnative.TestModels.account;
+import static com.zumokit.reactnative.TestModels.snapshot;
+import static com.zumokit.reactnative.TestModels.snapshots;
+import static com.zumokit.reactnative.TestModels.transaction;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TransactionPageIndexTest {
+
+    private TransactionPageIndex index;
+
+    @Before
+    public void setUp() {
+        index = new TransactionPageIndex();
+    }
+
+    @Test
+    public void pagesFollowCursorNewestFirst() {
+        index.update(snapshots(snapshot(account("account-0", "1"),
+                transaction("transaction-1", "PENDING", "0.1"),
+                transaction("transaction-3", "PENDING", "0.1"),
+                transaction("transaction-2", "PENDING", "0.1")
+        )), changed("account-0"));
+
+        TransactionPageIndex.Page first = index.page("account-0", null, 2);
+        assertEquals("transaction-3", first.transactions.get(0).getId());
+        assertEquals("transaction-2", first.transactions.get(1).getId());
+
+        TransactionPageIndex.Page second = index.page("account-0", first.nextCursor, 2);
+        assertEquals(1, second.transactions.size());
+        assertEquals("transaction-1", second.transactions.get(0).getId());
+        assertNull(second.nextCursor);
+    }
+
+    @Test
+    public void unchangedAccountKeepsSortedTransactions() {
+        Transaction indexed = transaction("transaction-0", "PENDING", "0.1");
+        index.update(snapshots(snapshot(account("account-0", "1"), indexed)), changed("account-0"));
+
+        index.update(
+                snapshots(snapshot(account("account-0", "1"), transaction("transaction-0", "PENDING", "0.1"))),
+                changed()
+        );
+
+        assertSame(indexed, index.page("account-0", null, 10).transactions.get(0));
+    }
+
+    @Test
+    public void changedAccountIsSortedAgain() {
+        index.update(snapshots(
+                snapshot(account("account-0", "1"), transaction("transaction-0", "PENDING", "0.1")),
+                snapshot(account("account-1", "1"), transaction("transaction-1", "PENDING", "0.1"))
+        ), changed("account-0", "account-1"));
+
+        Transaction confirmed = transaction("transaction-0", "CONFIRMED", "0.1");
+        index.update(snapshots(
+                snapshot(account("account-0", "1"), confirmed, transaction("transaction-2", "PENDING", "0.1")),
+                snapshot(account("account-1", "1"), transaction("transaction-1", "PENDING", "0.1"))
+        ), changed("account-0"));
+
+        TransactionPageIndex.Page page = index.page("account-0", null, 10);
+        assertEquals(2, page.transactions.size());
+        assertEquals("transaction-2", page.transactions.get(0).getId());
+        assertSame(confirmed, page.transactions.get(1));
+    }
+
+    @Test
+    public void removedAccountIsDropped() {
+        index.update(snapshots(
+                snapshot(account("account-0", "1"), transaction("transaction-0", "PENDING", "0.1"))
+        ), changed("account-0"));
+
+        index.update(snapshots(), changed());
+
+        assertFalse(index.contains("account-0"));
+        assertEquals(0, index.page("account-0", null, 10).transactions.size());
+    }
+
+    @Test
+    public void missingAccountIsIndexedAheadOfUpdateAndSortedAgainByIt() {
+        index.indexMissing(snapshots(
+                snapshot(account("account-0", "1"), transaction("transaction-0", "PENDING", "0.1"))
+        ));
+        assertTrue(index.contains("account-0"));
+        assertEquals(1, index.page("account-0", null, 10).transactions.size());
+
+        // Next update replaces provisional transactions even though delta had no changes
+        Transaction latest = transaction("transaction-0", "CONFIRMED", "0.1");
+        index.update(snapshots(snapshot(account("account-0", "1"), latest)), changed());
+
+        assertSame(latest, index.page("account-0", null, 10).transactions.get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void malformedCursorIsRejected() {
+        index.update(snapshots(
+                snapshot(account("account-0", "1"), transaction("transaction-0", "PENDING", "0.1"))
+        ), changed("account-0"));
+
+        index.page("account-0", "cursor", 10);
+    }
+
+    private static HashSet<String> changed(String... accountIds) {
+        HashSet<String> changed = new HashSet<>();
+        Collections.addAll(changed, accountIds);
+        return changed;
+    }
+}
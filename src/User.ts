@@ -17,6 +17,7 @@ import {
   Network,
   AccountType,
   AccountDataSnapshotJSON,
+  TransactionJSON,
   Address,
   CardType,
   CardStatus,
@@ -27,6 +28,7 @@ import {
   TradingPairJSON,
 } from "zumokit/src/interfaces";
 import { Wallet } from "./Wallet";
+import { ZumoKitError } from "./ZumoKitError";
 import { tryCatchProxy } from "./utility/errorProxy";
 
 const {
@@ -40,6 +42,107 @@ interface UserJSON {
   integratorId: string;
   hasWallet: boolean;
   accounts: Array<AccountJSON>;
+  cachedAccountData?: {
+    savedAt: number;
+    snapshots: Array<AccountDataSnapshotJSON>;
+  } | null;
+}
+
+/** Status change of a transaction submitted by this user. */
+export interface TransactionStatusChange {
+  id: string;
+  oldStatus: string | null;
+  newStatus: string;
+  confirmedAt: number | null;
+}
+
+/** @internal */
+interface AccountDataChangeJSON {
+  accountId: string;
+  account: AccountJSON | null;
+  transactions: Array<TransactionJSON>;
+  removedTransactionIds: Array<string>;
+  transactionIds: Array<string> | null;
+}
+
+/** @internal */
+interface AccountDataDeltaJSON {
+  sequence: number;
+  resync: boolean;
+  accountIds: Array<string>;
+  changes: Array<AccountDataChangeJSON>;
+  removedAccountIds: Array<string>;
+}
+
+/** @internal */
+interface AccountDataState {
+  account: AccountJSON;
+  transactions: Record<string, TransactionJSON>;
+  transactionIds: Array<string>;
+  snapshot: AccountDataSnapshot;
+}
+
+/** @internal */
+interface ExchangeQuoteEventJSON {
+  subscriptionId: string;
+  composedExchange: any | null;
+  error: { code: string; message: string; userInfo?: { type: string } } | null;
+}
+
+/** Compose request, see {@link User.composeBatch}. */
+export type ComposeRequest =
+  | {
+      type: "transaction";
+      fromAccountId: string;
+      toAccountId: string;
+      amount: Decimal | null;
+      sendMax?: boolean;
+    }
+  | {
+      type: "custodyWithdrawTransaction";
+      fromAccountId: string;
+      destination: string;
+      amount: Decimal | null;
+      sendMax?: boolean;
+    }
+  | {
+      type: "nominatedTransaction";
+      fromAccountId: string;
+      amount: Decimal | null;
+      sendMax?: boolean;
+    }
+  | {
+      type: "ethTransaction";
+      fromAccountId: string;
+      gasPrice: Decimal;
+      gasLimit: number;
+      destination: string | null;
+      amount: Decimal | null;
+      data?: string | null;
+      nonce?: number | null;
+      sendMax?: boolean;
+    }
+  | {
+      type: "btcTransaction";
+      fromAccountId: string;
+      changeAccountId: string;
+      destination: string;
+      amount: Decimal | null;
+      feeRate: Decimal;
+      sendMax?: boolean;
+    }
+  | {
+      type: "exchange";
+      fromAccountId: string;
+      toAccountId: string;
+      amount: Decimal | null;
+      sendMax?: boolean;
+    };
+
+/** Outcome of a single compose request, either composed transaction or exchange, or an error. */
+export interface ComposeResult {
+  result: ComposedTransaction | ComposedExchange | null;
+  error: ZumoKitError | null;
 }
 
 /**
@@ -63,11 +166,22 @@ export class User {
   // Current user account data snapshots
   private accountDataSnapshots: Array<AccountDataSnapshot> = [];
 
+  // Sequence number of last account data delta applied
+  private accountDataSequence = 0;
+
+  // Account data assembled from deltas received from the native side, keyed by account id
+  private accountDataState: Record<string, AccountDataState> = {};
+
   // Listeners for account data changes
   private accountDataListeners: Array<
     (snapshots: Array<AccountDataSnapshot>) => void
   > = [];
 
+  // Listeners for status changes of submitted transactions
+  private transactionStatusListeners: Array<
+    (change: TransactionStatusChange) => void
+  > = [];
+
   /** User identifier. */
   id: string;
 
@@ -80,6 +194,12 @@ export class User {
   /** User accounts. */
   accounts: Array<Account>;
 
+  /**
+   * Indicator if account data snapshots were persisted by previous session and
+   * live account data has not been received yet. Android only.
+   */
+  accountDataStale = false;
+
   /** @internal */
   constructor(json: UserJSON) {
     this.id = json.id;
@@ -89,23 +209,102 @@ export class User {
       (accountJson: AccountJSON) => new Account(accountJson)
     );
 
+    // Persisted account data is served right away, live account data replaces it once received
+    if (json.cachedAccountData) {
+      this.accountDataSnapshots = json.cachedAccountData.snapshots.map(
+        (snapshot: AccountDataSnapshotJSON) => new AccountDataSnapshot(snapshot)
+      );
+      this.accountDataSnapshotsInitialised = true;
+      this.accountDataStale = true;
+    }
+
     this.emitter.addListener(
       "AccountDataChanged",
-      (snapshots: Array<AccountDataSnapshotJSON>) => {
-        this.accountDataSnapshots = snapshots.map(
-          (snapshot: AccountDataSnapshotJSON) =>
-            new AccountDataSnapshot(snapshot)
-        );
-        this.accounts = this.accountDataSnapshots.map(
-          (snapshot) => snapshot.account
-        );
-        this.accountDataListeners.forEach((listener) =>
-          listener(this.accountDataSnapshots)
-        );
-        this.accountDataSnapshotsInitialised = true;
+      (payload: Array<AccountDataSnapshotJSON> | AccountDataDeltaJSON) => {
+        // Android emits deltas, iOS emits complete snapshots
+        if (Array.isArray(payload)) {
+          this.setAccountDataSnapshots(
+            payload.map(
+              (snapshot: AccountDataSnapshotJSON) =>
+                new AccountDataSnapshot(snapshot)
+            )
+          );
+        } else {
+          this.applyAccountDataDelta(payload);
+        }
       }
     );
     RNZumoKit.addAccountDataListener();
+
+    this.emitter.addListener(
+      "TransactionStatusChanged",
+      (change: TransactionStatusChange) => {
+        this.transactionStatusListeners.forEach((listener) => listener(change));
+      }
+    );
+  }
+
+  private setAccountDataSnapshots(snapshots: Array<AccountDataSnapshot>) {
+    this.accountDataSnapshots = snapshots;
+    this.accountDataStale = false;
+    this.accounts = this.accountDataSnapshots.map(
+      (snapshot) => snapshot.account
+    );
+    this.accountDataListeners.forEach((listener) =>
+      listener(this.accountDataSnapshots)
+    );
+    this.accountDataSnapshotsInitialised = true;
+  }
+
+  private applyAccountDataDelta(delta: AccountDataDeltaJSON) {
+    const state: Record<string, AccountDataState> = delta.resync
+      ? {}
+      : this.accountDataState;
+
+    // A delta can only be applied on top of the previous one,
+    // if one was missed complete account data is requested instead
+    const incomplete =
+      (!delta.resync && delta.sequence !== this.accountDataSequence + 1) ||
+      delta.changes.some((change) => !change.account && !state[change.accountId]);
+
+    if (incomplete) {
+      RNZumoKit.requestAccountDataResync();
+      return;
+    }
+
+    delta.removedAccountIds.forEach((accountId) => {
+      delete state[accountId];
+    });
+
+    delta.changes.forEach((change) => {
+      const previous: AccountDataState | undefined = state[change.accountId];
+      const account = change.account || previous!.account;
+      const transactions = previous ? previous.transactions : {};
+      const transactionIds = change.transactionIds || previous!.transactionIds;
+
+      change.removedTransactionIds.forEach((transactionId) => {
+        delete transactions[transactionId];
+      });
+      change.transactions.forEach((transaction) => {
+        transactions[transaction.id] = transaction;
+      });
+
+      state[change.accountId] = {
+        account,
+        transactions,
+        transactionIds,
+        snapshot: new AccountDataSnapshot({
+          account,
+          transactions: transactionIds.map((transactionId) => transactions[transactionId]),
+        }),
+      };
+    });
+
+    this.accountDataSequence = delta.sequence;
+    this.accountDataState = state;
+    this.setAccountDataSnapshots(
+      delta.accountIds.map((accountId) => state[accountId].snapshot)
+    );
   }
 
   /**
@@ -180,6 +379,40 @@ export class User {
     );
   }
 
+  /**
+   * Get account with given id from native account index, without mapping other accounts.
+   * Android only.
+   *
+   * @param  accountId      account identifier
+   *
+   * @return account or null if user has no account with given id
+   */
+  async getAccountById(accountId: string): Promise<Account | null> {
+    const json = await RNZumoKit.getAccount(accountId);
+    return json ? new Account(json) : null;
+  }
+
+  /**
+   * Find account in specific currency, on specific network, with specific type in native
+   * account index, without mapping other accounts. Android only.
+   *
+   * @param  currencyCode   currency code, e.g. 'BTC', 'ETH' or 'GBP'
+   * @param  network        network type, e.g. 'MAINNET', 'TESTNET' or 'RINKEBY'
+   * @param  type           account type, e.g. 'STANDARD', 'COMPATIBILITY' or 'SEGWIT'
+   * @param  custodyType    custody type, e.g. 'CUSTODY' or 'NON-CUSTODY'
+   *
+   * @return account or null if user has no such account
+   */
+  async findAccount(
+    currencyCode: CurrencyCode,
+    network: Network,
+    type: AccountType,
+    custodyType: CustodyType
+  ): Promise<Account | null> {
+    const json = await RNZumoKit.findAccount(currencyCode, network, type, custodyType);
+    return json ? new Account(json) : null;
+  }
+
   /**
    * Check if user is a registered fiat customer.
    */
@@ -370,6 +603,133 @@ export class User {
     }
   }
 
+  /**
+   * Listen to status changes of transactions and exchanges submitted by this user,
+   * e.g. from 'PENDING' to 'CONFIRMED'. Status of exchange transactions is reported first
+   * with null as previous status. Android only.
+   *
+   * @param listener interface to listen to transaction status changes
+   */
+  addTransactionStatusListener(
+    listener: (change: TransactionStatusChange) => void
+  ) {
+    this.transactionStatusListeners.push(listener);
+  }
+
+  /**
+   * Remove listener to transaction status changes.
+   *
+   * @param listener interface to listen to transaction status changes
+   */
+  removeTransactionStatusListener(
+    listener: (change: TransactionStatusChange) => void
+  ) {
+    let index = this.transactionStatusListeners.indexOf(listener);
+    while (index !== -1) {
+      this.transactionStatusListeners.splice(index, 1);
+      index = this.transactionStatusListeners.indexOf(listener);
+    }
+  }
+
+  /**
+   * Limit number of submitted transactions watched for status changes and how long they
+   * are watched. Oldest transaction stops being watched once limit is reached. Android only.
+   *
+   * @param maxWatched  max number of watched transactions (defaults to 256)
+   * @param ttlMs       time in milliseconds transaction is watched for (defaults to 24 hours)
+   */
+  setTransactionStatusTracking(maxWatched = 256, ttlMs = 24 * 60 * 60 * 1000) {
+    RNZumoKit.setTransactionStatusTracking(maxWatched, ttlMs);
+  }
+
+  /**
+   * Get number of watched transactions and reported status changes. Android only.
+   */
+  async getTransactionStatusTrackingStats(): Promise<{
+    watched: number;
+    maxWatched: number;
+    ttlMs: number;
+    changes: number;
+    dropped: number;
+    expired: number;
+  }> {
+    return RNZumoKit.getTransactionStatusTrackingStats();
+  }
+
+  /**
+   * Get a page of account transactions, newest first. Android only.
+   * <p>
+   * Transactions are served from account data received so far, first page is
+   * requested without a cursor, following pages with cursor returned by previous page.
+   *
+   * @param accountId {@link  Account Account} identifier
+   * @param cursor    cursor returned with previous page or null (defaults to null)
+   * @param limit     max number of transactions in a page (defaults to 30)
+   */
+  async getTransactions(
+    accountId: string,
+    cursor: string | null = null,
+    limit = 30
+  ): Promise<{ transactions: Array<Transaction>; nextCursor: string | null }> {
+    const json = await RNZumoKit.getTransactions(accountId, cursor, limit);
+
+    return {
+      transactions: json.transactions.map(
+        (transactionJson: TransactionJSON) => new Transaction(transactionJson)
+      ),
+      nextCursor: json.nextCursor,
+    };
+  }
+
+  /**
+   * Get transaction with given id from native transaction index, without mapping other
+   * transactions. Transactions are indexed from account data received so far. Android only.
+   *
+   * @param transactionId transaction identifier
+   *
+   * @return transaction or null if transaction was not received
+   */
+  async getTransaction(transactionId: string): Promise<Transaction | null> {
+    const json = await RNZumoKit.getTransaction(transactionId);
+    return json ? new Transaction(json) : null;
+  }
+
+  /**
+   * Find crypto transaction with given transaction hash in native transaction index. Android only.
+   *
+   * @param txHash transaction hash
+   *
+   * @return transaction or null if transaction was not received
+   */
+  async findTransactionByHash(txHash: string): Promise<Transaction | null> {
+    const json = await RNZumoKit.findTransactionByHash(txHash);
+    return json ? new Transaction(json) : null;
+  }
+
+  /**
+   * Find custody transaction of given custody order in native transaction index. Android only.
+   *
+   * @param custodyOrderId custody order identifier
+   *
+   * @return transaction or null if transaction was not received
+   */
+  async findTransactionByCustodyOrderId(
+    custodyOrderId: string
+  ): Promise<Transaction | null> {
+    const json = await RNZumoKit.findTransactionByCustodyOrderId(custodyOrderId);
+    return json ? new Transaction(json) : null;
+  }
+
+  /**
+   * Find transactions with given status in native transaction index. Android only.
+   *
+   * @param status transaction status, e.g. 'PENDING', 'CONFIRMED' or 'FAILED'
+   */
+  async findTransactionsByStatus(status: string): Promise<Array<Transaction>> {
+    const json = await RNZumoKit.findTransactionsByStatus(status);
+    return json.map((transactionJson: TransactionJSON) => new Transaction(transactionJson));
+  }
+
   /**
    * Compose transaction between custody or fiat accounts in Zumo ecosystem.
    * Refer to <a href="https://developers.zumo.money/docs/guides/send-transactions#internal-transaction">Send Transactions</a>
@@ -472,15 +832,68 @@ export class User {
 
   /**
    * Fetch trading pairs that are currently supported.
+   * On Android trading pairs are parsed and cached natively until time to live expires.
+   *
+   * @param forceRefresh  skip native cache and fetch trading pairs (defaults to false)
    */
-  async fetchTradingPairs() {
-    const tradingPairsJSON = JSON.parse(
-      await RNZumoKit.fetchTradingPairs()
-    ) as TradingPairJSON[];
+  async fetchTradingPairs(forceRefresh = false) {
+    if (forceRefresh) this.invalidateTradingPairs();
+    const tradingPairs = await RNZumoKit.fetchTradingPairs();
+
+    // Android resolves parsed trading pairs, iOS resolves stringified JSON
+    const tradingPairsJSON = (typeof tradingPairs === "string"
+      ? JSON.parse(tradingPairs)
+      : tradingPairs) as TradingPairJSON[];
 
     return tradingPairsJSON.map((json) => new TradingPair(json));
   }
 
+  /**
+   * Get trading pair of given currencies from natively cached trading pairs, trading pairs are
+   * fetched first if cache expired. Android only.
+   *
+   * @param fromCurrency  currency code
+   * @param toCurrency    currency code
+   *
+   * @return trading pair or null if currencies are not traded
+   */
+  async getTradingPair(
+    fromCurrency: CurrencyCode,
+    toCurrency: CurrencyCode
+  ): Promise<TradingPair | null> {
+    const json = await RNZumoKit.getTradingPair(fromCurrency, toCurrency);
+    return json ? new TradingPair(json as TradingPairJSON) : null;
+  }
+
+  /**
+   * Get trading pairs that given currency is either side of from natively cached trading pairs,
+   * trading pairs are fetched first if cache expired. Android only.
+   *
+   * @param currency  currency code
+   */
+  async getTradingPairsFor(currency: CurrencyCode): Promise<Array<TradingPair>> {
+    const tradingPairsJSON = (await RNZumoKit.getTradingPairsFor(
+      currency
+    )) as TradingPairJSON[];
+    return tradingPairsJSON.map((json) => new TradingPair(json));
+  }
+
+  /**
+   * Set time to live of natively cached trading pairs. Android only.
+   *
+   * @param ttlMs  time to live in milliseconds (defaults to 300000)
+   */
+  setTradingPairsTtl(ttlMs: number) {
+    RNZumoKit.setTradingPairsTtl(ttlMs);
+  }
+
+  private invalidateTradingPairs() {
+    // Trading pairs are only cached on Android
+    if (RNZumoKit.invalidateTradingPairs) {
+      RNZumoKit.invalidateTradingPairs();
+    }
+  }
+
   /**
    * Compose exchange.
    * Refer to <a href="https://developers.zumo.money/docs/guides/make-exchanges#compose-exchange">Make Exchanges</a>
@@ -507,6 +920,72 @@ export class User {
     return new ComposedExchange(json);
   }
 
+  /**
+   * Keep composed exchange warm. Exchange is composed right away and re-composed shortly
+   * before its quote expires, every refreshed exchange or error is passed to the listener.
+   * While subscribed, {@link composeExchange} calls with the same arguments resolve with
+   * the refreshed exchange without waiting for a new quote. Android only.
+   *
+   * @param debitAccountId      {@link  Account Account} identifier
+   * @param creditAccountId     {@link  Account Account} identifier
+   * @param amount              amount in deposit account currency
+   * @param listener            receives refreshed exchange, or error if refresh failed
+   * @param sendMax             exchange maximum possible funds (defaults to false)
+   *
+   * @return function that releases the subscription
+   */
+  async subscribeExchangeQuote(
+    debitAccountId: string,
+    creditAccountId: string,
+    amount: Decimal | null,
+    listener: (
+      composedExchange: ComposedExchange | null,
+      error: ZumoKitError | null
+    ) => void,
+    sendMax = false
+  ): Promise<() => void> {
+    const subscriptionId: string = await RNZumoKit.subscribeExchangeQuote(
+      debitAccountId,
+      creditAccountId,
+      amount ? amount.toString() : null,
+      sendMax
+    );
+
+    const subscription = this.emitter.addListener(
+      "ExchangeQuoteRefreshed",
+      (event: ExchangeQuoteEventJSON) => {
+        if (event.subscriptionId !== subscriptionId) {
+          return;
+        }
+
+        if (event.error) {
+          listener(null, new ZumoKitError(event.error));
+        } else {
+          listener(new ComposedExchange(event.composedExchange), null);
+        }
+      }
+    );
+
+    return () => {
+      subscription.remove();
+      RNZumoKit.releaseExchangeQuote(subscriptionId);
+    };
+  }
+
+  /**
+   * Get number of subscribed exchanges, quote refreshes and failures, and hits and misses of
+   * {@link composeExchange} calls. Android only.
+   */
+  async getExchangeQuoteStats(): Promise<{
+    subscriptions: number;
+    refreshes: number;
+    failures: number;
+    hits: number;
+    misses: number;
+  }> {
+    return RNZumoKit.getExchangeQuoteStats();
+  }
+
   /**
    * Submit an exchange.
    * Refer to <a href="https://developers.zumo.money/docs/guides/make-exchanges#submit-exchange">Make Exchanges</a>
@@ -519,4 +998,53 @@ export class User {
     const json = await RNZumoKit.submitExchange(composedExchange.json);
     return new Exchange(json);
   }
+
+  /**
+   * Compose many transactions and exchanges at once. Requests are sent to ZumoKit SDK with
+   * bounded parallelism and outcomes are returned in request order, a failed request
+   * does not fail the others. Android only.
+   *
+   * @param requests        compose requests
+   * @param maxConcurrency  max number of requests composed at the same time (defaults to 4)
+   */
+  async composeBatch(
+    requests: Array<ComposeRequest>,
+    maxConcurrency = 4
+  ): Promise<Array<ComposeResult>> {
+    const outcomes = await RNZumoKit.composeBatch(
+      requests.map((request) => {
+        const json: Record<string, any> = {
+          ...request,
+          amount: request.amount ? request.amount.toString() : null,
+          sendMax: !!request.sendMax,
+        };
+        if (request.type === "ethTransaction") {
+          json.gasPrice = request.gasPrice.toString();
+          // RN bridge does not support nullable numbers
+          json.nonce = request.nonce ? request.nonce.toString() : null;
+        }
+        if (request.type === "btcTransaction") {
+          json.feeRate = request.feeRate.toString();
+        }
+        return json;
+      }),
+      maxConcurrency
+    );
+
+    return outcomes.map(
+      (outcome: { result?: any; error?: any }, index: number) => {
+        if (outcome.error) {
+          return { result: null, error: new ZumoKitError(outcome.error) };
+        }
+
+        return {
+          result:
+            requests[index].type === "exchange"
+              ? new ComposedExchange(outcome.result)
+              : new ComposedTransaction(outcome.result),
+          error: null,
+        };
+      }
+    );
+  }
 }
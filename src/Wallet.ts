@@ -89,4 +89,49 @@ export class Wallet {
 
     return new ComposedTransaction(json);
   }
+
+  /**
+   * Enable local allocation of Ethereum transaction nonces. When enabled, {@link composeEthTransaction}
+   * calls without explicit nonce reserve the lowest free nonce of the account, so that several
+   * transactions can be composed and submitted before the first one is confirmed.
+   * Nonces are released when composing or submitting fails. Android only.
+   *
+   * @param enabled  true to enable nonce allocation (defaults to false)
+   */
+  setNonceAllocation(enabled: boolean) {
+    if (RNZumoKit.setNonceAllocation) RNZumoKit.setNonceAllocation(enabled);
+  }
+
+  /**
+   * Release nonce reserved for a composed Ethereum transaction that is not going to be submitted,
+   * so that it is handed out again. Reservations that are never submitted are released after
+   * five minutes otherwise. Android only.
+   *
+   * @param composedTransaction  composed Ethereum transaction
+   */
+  releaseNonce(composedTransaction: ComposedTransaction) {
+    if (!RNZumoKit.releaseNonce || !composedTransaction.nonce) return;
+    RNZumoKit.releaseNonce(
+      composedTransaction.account.id,
+      parseInt(composedTransaction.nonce, 10)
+    );
+  }
+
+  /**
+   * Get next, reserved and released nonces of accounts tracked by nonce allocator, as well as
+   * number of reserved nonces whose transactions are not submitted yet. Android only.
+   */
+  async getNonceAllocatorState(): Promise<
+    Record<
+      string,
+      {
+        next: number;
+        reserved: Array<number>;
+        released: Array<number>;
+        awaitingSubmission: number;
+      }
+    >
+  > {
+    return RNZumoKit.getNonceAllocatorState();
+  }
 }
@@ -23,6 +23,95 @@ const {
   RNZumoKit,
 } = NativeModules;
 
+/** Native mapping cache statistics. */
+export interface MappingCacheStats {
+  size: number;
+  maxSize: number;
+  hits: number;
+  misses: number;
+  evictions: number;
+  /** Mean time of a cache hit, in microseconds. */
+  meanHitUs: number;
+  /** Mean time of a cache miss, including mapping, in microseconds. */
+  meanMissUs: number;
+}
+
+/** Historical exchange rates of a currency pair, as parallel arrays of timestamps and values. */
+export interface ExchangeRateSeries {
+  fromCurrency: CurrencyCode;
+  toCurrency: CurrencyCode;
+  count: number;
+  timestamps: Array<number>;
+  values: Array<number>;
+}
+
+/** Exchange rate series by time interval, from currency and to currency. */
+export type HistoricalExchangeRateSeries = Record<
+  string,
+  Record<string, Record<string, ExchangeRateSeries>>
+>;
+
+/**
+ * Latency histogram of a native method. Bucket i counts calls below i-th upper bound,
+ * percentiles are reported as upper bound of the bucket they fall into.
+ */
+export interface LatencyHistogram {
+  count: number;
+  totalMs: number;
+  maxMs: number;
+  p50Ms: number;
+  p90Ms: number;
+  p99Ms: number;
+  buckets: Array<number>;
+}
+
+/** Call and error counts of a native method, with time spent in SDK and in mapping its result. */
+export interface MethodMetrics {
+  calls: number;
+  errors: number;
+  sdk: LatencyHistogram;
+  marshal: LatencyHistogram;
+}
+
+/** Snapshot of native method metrics. */
+export interface Metrics {
+  timestamp: number;
+  inFlight: number;
+  bucketUpperBoundsMs: Array<number>;
+  methods: Record<string, MethodMetrics>;
+}
+
+/** Total, max and bucketed median and 99th percentile of a payload size measure. */
+export interface PayloadSizeSummary {
+  total: number;
+  max: number;
+  p50: number;
+  p99: number;
+}
+
+/** Estimated sizes of payloads of an event or method result. */
+export interface PayloadSizeStats {
+  count: number;
+  nodes: PayloadSizeSummary;
+  strings: PayloadSizeSummary;
+  bytes: PayloadSizeSummary;
+}
+
+/** @internal */
+interface AuxDataDiffJSON {
+  version: number;
+  resync: boolean;
+  exchangeRates: Record<string, Record<string, ExchangeRateJSON>>;
+  removedExchangeRates: Array<{ fromCurrency: string; toCurrency: string }>;
+}
+
+/** @internal */
+interface FeeRatesChangeJSON {
+  version: number;
+  transactionFeeRates: Record<string, TransactionFeeRateJSON>;
+  removedCurrencies: Array<string>;
+}
+
 /**
  * ZumoKit entry point. Refer to <a href="https://developers.zumo.money/docs/guides/initialize-zumokit">documentation</a> for usage details.
  * */
@@ -34,6 +123,25 @@ class ZumoKit {
   // Listeners for exchange rates and transaction fee rates changes
   private changeListeners: Array<() => void> = [];
 
+  // Listeners for changes in slow, average or fast transaction fee rates
+  private feeRatesListeners: Array<
+    (transactionFeeRates: TransactionFeeRates, changedCurrencies: Array<CurrencyCode>) => void
+  > = [];
+
+  // Exchange rates and transaction fee rates as received from the native side
+  private exchangeRatesJSON: Record<string, Record<string, ExchangeRateJSON>> = {};
+
+  private transactionFeeRatesJSON: Record<string, TransactionFeeRateJSON> = {};
+
+  // Version of the last applied aux data diff
+  private auxDataVersion = 0;
+
+  // Version of the last applied transaction fee rates change
+  private feeRatesVersion = 0;
+
+  // Aux data updates are applied one after another, each on top of the previous one
+  private auxDataQueue: Promise<void> = Promise.resolve();
+
   /** ZumoKit SDK semantic version tag if exists, commit hash otherwise. */
   version: string = RNZumoKit.version;
 
@@ -75,13 +183,48 @@ class ZumoKit {
     }) => void,
     logLevel: LogLevel
   ) {
+    // iOS emits log entries one by one
     this.emitter.addListener("OnLog", (message: string) => {
       listener(JSON.parse(message));
     });
 
+    // Android emits log entries in batches, as a single JSON array
+    this.emitter.addListener("OnLogBatch", (batch: { entries: string }) => {
+      JSON.parse(batch.entries).forEach(listener);
+    });
+
     RNZumoKit.addLogListener(logLevel);
   }
 
+  /**
+   * Configure batching of log entries sent to log handler. Log entries are buffered natively and
+   * sent once batch size is reached or flush interval has passed, oldest entries are dropped when
+   * buffer is full. Android only.
+   *
+   * @param capacity         max number of buffered log entries (defaults to 2048)
+   * @param batchSize        number of log entries that triggers a flush (defaults to 200)
+   * @param flushIntervalMs  max delay of a log entry in milliseconds (defaults to 250)
+   */
+  setLogBatching(capacity: number, batchSize: number, flushIntervalMs: number) {
+    RNZumoKit.setLogBatching(capacity, batchSize, flushIntervalMs);
+  }
+
+  /**
+   * Get number of received, buffered and dropped log entries and number of flushed batches,
+   * along with current batching settings. Android only.
+   */
+  async getLogStats(): Promise<{
+    buffered: number;
+    capacity: number;
+    batchSize: number;
+    flushIntervalMs: number;
+    received: number;
+    dropped: number;
+    batches: number;
+  }> {
+    return RNZumoKit.getLogStats();
+  }
+
   /**
    * Initializes ZumoKit SDK. Should only be called once.
    *
@@ -102,10 +245,21 @@ class ZumoKit {
     exchangeServiceUrl: string,
     custodyServiceUrl: string
   ) {
-    this.emitter.addListener("AuxDataChanged", async () => {
-      await this.updateAuxData();
-      this.changeListeners.forEach((listener) => listener());
-    });
+    this.emitter.addListener("AuxDataChanged", (diff: AuxDataDiffJSON | null) =>
+      this.enqueueAuxDataUpdate(async () => {
+        // iOS does not send a diff
+        if (diff) {
+          await this.applyAuxDataDiff(diff);
+        } else {
+          await this.updateAuxData();
+        }
+        this.changeListeners.forEach((listener) => listener());
+      })
+    );
+
+    this.emitter.addListener("FeeRatesChanged", (change: FeeRatesChangeJSON) =>
+      this.enqueueAuxDataUpdate(() => this.applyFeeRatesChange(change))
+    );
 
     RNZumoKit.init(
       apiKey,
@@ -127,7 +281,7 @@ class ZumoKit {
   async signIn(userTokenSet: TokenSet) {
     const json = await RNZumoKit.signIn(JSON.stringify(userTokenSet));
     this.currentUser = new User(json);
-    await this.updateAuxData();
+    await this.enqueueAuxDataUpdate(() => this.updateAuxData());
     return this.currentUser;
   }
 
@@ -169,14 +323,69 @@ class ZumoKit {
 
   /**
    * Fetch historical exchange rates for supported time intervals.
+   * On Android rates are cached natively until time to live of an interval expires.
+   *
+   * @param forceRefresh  skip native cache and fetch rates (defaults to false)
+   * @param intervals     time intervals to return, e.g. ['hour'], Android only (defaults to all)
    *
    * @return historical exchange rates
    */
-  async fetchHistoricalExchangeRates(): Promise<HistoricalExchangeRates> {
-    const historicalExchangeRatesJSON = (await RNZumoKit.fetchHistoricalExchangeRates()) as HistoricalExchangeRatesJSON;
+  async fetchHistoricalExchangeRates(
+    forceRefresh = false,
+    intervals?: Array<string>
+  ): Promise<HistoricalExchangeRates> {
+    if (forceRefresh) this.invalidateHistoricalExchangeRates();
+    const historicalExchangeRatesJSON = (intervals && RNZumoKit.fetchHistoricalExchangeRateIntervals
+      ? await RNZumoKit.fetchHistoricalExchangeRateIntervals(intervals)
+      : await RNZumoKit.fetchHistoricalExchangeRates()) as HistoricalExchangeRatesJSON;
     return HistoricalExchangeRates(historicalExchangeRatesJSON);
   }
 
+  /**
+   * Fetch historical exchange rates for supported time intervals in columnar form.
+   * Prefer this over {@link fetchHistoricalExchangeRates} when only timestamps and values are needed,
+   * e.g. for charts. Rates are cached natively until time to live of an interval expires.
+   * Android only.
+   *
+   * @param forceRefresh  skip native cache and fetch rates (defaults to false)
+   * @param intervals     time intervals to return, e.g. ['hour'] (defaults to all)
+   *
+   * @return historical exchange rate series
+   */
+  async fetchHistoricalExchangeRateSeries(
+    forceRefresh = false,
+    intervals?: Array<string>
+  ): Promise<HistoricalExchangeRateSeries> {
+    if (forceRefresh) this.invalidateHistoricalExchangeRates();
+    return RNZumoKit.fetchHistoricalExchangeRateSeries(intervals || null);
+  }
+
+  /**
+   * Set time to live of natively cached historical exchange rates of a time interval.
+   * Android only.
+   *
+   * @param interval  time interval, e.g. 'hour' or 'day'
+   * @param ttlMs     time to live in milliseconds (defaults to 60000)
+   */
+  setHistoricalExchangeRatesTtl(interval: string, ttlMs: number) {
+    RNZumoKit.setHistoricalExchangeRatesTtl(interval, ttlMs);
+  }
+
+  /**
+   * Get size, hit and miss counts of native historical exchange rates cache,
+   * along with number of rate points appended or replaced by refreshes. Android only.
+   */
+  async getHistoricalExchangeRatesCacheStats(): Promise<{
+    intervals: number;
+    points: number;
+    hits: number;
+    misses: number;
+    appended: number;
+    replaced: number;
+  }> {
+    return RNZumoKit.getHistoricalExchangeRatesCacheStats();
+  }
+
   /**
    * Listen to changes in current user’s sign in state, exchange rates, exchange settings or transaction fee rates.
    *
@@ -199,6 +408,233 @@ class ZumoKit {
     }
   }
 
+  /**
+   * Listen to changes in slow, average or fast transaction fee rates. Listener receives
+   * all transaction fee rates along with currencies whose rates changed. Android only.
+   *
+   * @param listener interface to listen to changes
+   */
+  addFeeRatesListener(
+    listener: (
+      transactionFeeRates: TransactionFeeRates,
+      changedCurrencies: Array<CurrencyCode>
+    ) => void
+  ) {
+    this.feeRatesListeners.push(listener);
+  }
+
+  /**
+   * Remove transaction fee rates listener.
+   *
+   * @param listener interface to listen to changes
+   */
+  removeFeeRatesListener(
+    listener: (
+      transactionFeeRates: TransactionFeeRates,
+      changedCurrencies: Array<CurrencyCode>
+    ) => void
+  ) {
+    let index = this.feeRatesListeners.indexOf(listener);
+    while (index !== -1) {
+      this.feeRatesListeners.splice(index, 1);
+      index = this.feeRatesListeners.indexOf(listener);
+    }
+  }
+
+  /**
+   * Configure coalescing of account data change bursts. Changes are emitted to account data
+   * listeners once no new change arrived for the length of the window, but no later than max
+   * latency after the first change of the burst. Android only.
+   *
+   * @param windowMs      coalescing window in milliseconds, 0 disables coalescing (defaults to 100)
+   * @param maxLatencyMs  max emission delay in milliseconds (defaults to 500)
+   */
+  setAccountDataCoalescing(windowMs: number, maxLatencyMs: number) {
+    RNZumoKit.setAccountDataCoalescing(windowMs, maxLatencyMs);
+  }
+
+  /**
+   * Get number of account data changes received from ZumoKit SDK and emitted to
+   * account data listeners, along with current coalescing settings. Android only.
+   */
+  async getAccountDataEmissionStats(): Promise<{
+    received: number;
+    emitted: number;
+    windowMs: number;
+    maxLatencyMs: number;
+  }> {
+    return RNZumoKit.getAccountDataEmissionStats();
+  }
+
+  /**
+   * Set max number of mapped accounts and transactions kept for reuse on the native side.
+   * Android only.
+   *
+   * @param maxAccounts      max number of cached accounts (defaults to 500)
+   * @param maxTransactions  max number of cached transactions (defaults to 5000)
+   */
+  setMappingCacheSize(maxAccounts: number, maxTransactions: number) {
+    RNZumoKit.setMappingCacheSize(maxAccounts, maxTransactions);
+  }
+
+  /**
+   * Get size, hit, miss and eviction counts of native account and transaction mapping caches.
+   * Android only.
+   */
+  async getMappingCacheStats(): Promise<
+    Record<'accounts' | 'transactions', MappingCacheStats> & {
+      accountIndex: { accounts: number; lookups: number; misses: number };
+      transactionIndex: {
+        transactions: number;
+        hashes: number;
+        custodyOrders: number;
+        statuses: Record<string, number>;
+        lookups: number;
+        misses: number;
+      };
+    }
+  > {
+    return RNZumoKit.getMappingCacheStats();
+  }
+
+  /**
+   * Get number of SDK requests shared by concurrent identical calls, and number of calls that
+   * waited for a request already in flight instead of starting their own. Android only.
+   */
+  async getSingleFlightStats(): Promise<{
+    inFlight: number;
+    flights: number;
+    deduplicated: number;
+    deduplicatedByKey: Record<string, number>;
+  }> {
+    return RNZumoKit.getSingleFlightStats();
+  }
+
+  /**
+   * Get queue depth, thread and task counts of native executor that maps SDK results.
+   * Android only.
+   */
+  async getMarshallingStats(): Promise<{
+    queueDepth: number;
+    maxQueueDepth: number;
+    queueCapacity: number;
+    activeThreads: number;
+    submitted: number;
+    completed: number;
+    rejected: number;
+  }> {
+    return RNZumoKit.getMarshallingStats();
+  }
+
+  /**
+   * Enable or disable size accounting of native event payloads and method results. Payloads are
+   * walked to estimate their size, so accounting is disabled by default. Android only.
+   *
+   * @param enabled whether payload sizes are recorded
+   */
+  setPayloadAccounting(enabled: boolean) {
+    RNZumoKit.setPayloadAccounting(enabled);
+  }
+
+  /**
+   * Get estimated node, string and byte counts of native payloads per event and per method.
+   * Android only.
+   */
+  async getPayloadStats(): Promise<{
+    enabled: boolean;
+    events: Record<string, PayloadSizeStats>;
+    methods: Record<string, PayloadSizeStats>;
+  }> {
+    return RNZumoKit.getPayloadStats();
+  }
+
+  /**
+   * Reset native payload size statistics. Android only.
+   */
+  resetPayloadStats() {
+    RNZumoKit.resetPayloadStats();
+  }
+
+  /**
+   * Enable or disable recording of native method call traces. Each call is recorded as a span
+   * from invocation to promise settlement, with SDK callback and end of mapping marked within.
+   * Recorded events are dropped when capacity changes. Android only.
+   *
+   * @param enabled   whether calls are traced
+   * @param capacity  max number of recorded events, oldest are dropped first (defaults to 4096)
+   */
+  setTracing(enabled: boolean, capacity: number = 4096) {
+    RNZumoKit.setTracing(enabled, capacity);
+  }
+
+  /**
+   * Get number of recorded and dropped trace events. Android only.
+   */
+  async getTraceStats(): Promise<{
+    enabled: boolean;
+    recorded: number;
+    capacity: number;
+    dropped: number;
+  }> {
+    return RNZumoKit.getTraceStats();
+  }
+
+  /**
+   * Drop recorded trace events. Android only.
+   */
+  clearTrace() {
+    RNZumoKit.clearTrace();
+  }
+
+  /**
+   * Write recorded trace events to a Chrome trace event JSON file in app cache directory.
+   * Android only.
+   *
+   * @return path of written trace file
+   */
+  async dumpTrace(): Promise<string> {
+    return RNZumoKit.dumpTrace();
+  }
+
+  /**
+   * Get call and error counts and latency histograms of native methods. Android only.
+   */
+  async getMetrics(): Promise<Metrics> {
+    return RNZumoKit.getMetrics();
+  }
+
+  /**
+   * Reset native method metrics. Android only.
+   */
+  resetMetrics() {
+    RNZumoKit.resetMetrics();
+  }
+
+  /**
+   * Sets handler for periodic native method metrics snapshots. Android only.
+   *
+   * @param listener    interface to receive metrics snapshots
+   * @param intervalMs  snapshot interval in milliseconds, 0 stops snapshots
+   */
+  onMetrics(listener: (metrics: Metrics) => void, intervalMs: number) {
+    this.emitter.addListener("Metrics", listener);
+    RNZumoKit.setMetricsInterval(intervalMs);
+  }
+
+  private invalidateHistoricalExchangeRates() {
+    // Historical exchange rates are only cached on Android
+    if (RNZumoKit.invalidateHistoricalExchangeRates) {
+      RNZumoKit.invalidateHistoricalExchangeRates();
+    }
+  }
+
+  private enqueueAuxDataUpdate(update: () => Promise<void> | void): Promise<void> {
+    const next = this.auxDataQueue.then(update);
+    // A failed update must not stop the ones queued after it
+    this.auxDataQueue = next.catch(() => undefined);
+    return next;
+  }
+
   private async updateAuxData(): Promise<void> {
     const exchangeRatesJSON = (await RNZumoKit.getExchangeRates()) as Record<
       string,
@@ -209,6 +645,88 @@ class ZumoKit {
       TransactionFeeRateJSON
     >;
 
+    this.setAuxData(exchangeRatesJSON, transactionFeeRatesJSON);
+  }
+
+  private async applyAuxDataDiff(diff: AuxDataDiffJSON): Promise<void> {
+    // A diff can only be applied on top of the previous one,
+    // if one was missed complete aux data is fetched instead
+    if (!diff.resync && diff.version !== this.auxDataVersion + 1) {
+      await this.updateAuxData();
+      this.auxDataVersion = diff.version;
+      return;
+    }
+
+    const exchangeRatesJSON: Record<string, Record<string, ExchangeRateJSON>> = diff.resync
+      ? {}
+      : { ...this.exchangeRatesJSON };
+
+    diff.removedExchangeRates.forEach(({ fromCurrency, toCurrency }) => {
+      if (!exchangeRatesJSON[fromCurrency]) return;
+      exchangeRatesJSON[fromCurrency] = { ...exchangeRatesJSON[fromCurrency] };
+      delete exchangeRatesJSON[fromCurrency][toCurrency];
+      if (Object.keys(exchangeRatesJSON[fromCurrency]).length === 0) {
+        delete exchangeRatesJSON[fromCurrency];
+      }
+    });
+    Object.keys(diff.exchangeRates).forEach((fromCurrency) => {
+      exchangeRatesJSON[fromCurrency] = {
+        ...exchangeRatesJSON[fromCurrency],
+        ...diff.exchangeRates[fromCurrency],
+      };
+    });
+
+    this.auxDataVersion = diff.version;
+    this.setAuxData(exchangeRatesJSON, this.transactionFeeRatesJSON);
+  }
+
+  private async applyFeeRatesChange(change: FeeRatesChangeJSON): Promise<void> {
+    let changedCurrencies: Array<CurrencyCode>;
+
+    // A change can only be applied on top of the previous one,
+    // if one was missed complete fee rates are fetched instead
+    if (change.version !== this.feeRatesVersion + 1) {
+      const previousTransactionFeeRatesJSON = this.transactionFeeRatesJSON;
+      const transactionFeeRatesJSON = (await RNZumoKit.getTransactionFeeRates()) as Record<
+        string,
+        TransactionFeeRateJSON
+      >;
+
+      this.setAuxData(this.exchangeRatesJSON, transactionFeeRatesJSON);
+
+      changedCurrencies = Object.keys({
+        ...previousTransactionFeeRatesJSON,
+        ...transactionFeeRatesJSON,
+      }) as Array<CurrencyCode>;
+    } else {
+      const transactionFeeRatesJSON = {
+        ...this.transactionFeeRatesJSON,
+        ...change.transactionFeeRates,
+      };
+      change.removedCurrencies.forEach((currency) => {
+        delete transactionFeeRatesJSON[currency];
+      });
+
+      this.setAuxData(this.exchangeRatesJSON, transactionFeeRatesJSON);
+
+      changedCurrencies = [
+        ...Object.keys(change.transactionFeeRates),
+        ...change.removedCurrencies,
+      ] as Array<CurrencyCode>;
+    }
+
+    this.feeRatesVersion = change.version;
+    this.feeRatesListeners.forEach((listener) =>
+      listener(this.transactionFeeRates, changedCurrencies)
+    );
+  }
+
+  private setAuxData(
+    exchangeRatesJSON: Record<string, Record<string, ExchangeRateJSON>>,
+    transactionFeeRatesJSON: Record<string, TransactionFeeRateJSON>
+  ) {
+    this.exchangeRatesJSON = exchangeRatesJSON;
+    this.transactionFeeRatesJSON = transactionFeeRatesJSON;
     this.exchangeRates = ExchangeRates(exchangeRatesJSON);
     this.transactionFeeRates = TransactionFeeRates(transactionFeeRatesJSON);
   }